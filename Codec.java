@@ -0,0 +1,95 @@
+/**
+ * @(#)Codec.java
+ *
+ * Writes objects of type T to a binary stream, and reads them back. It is
+ * used by DurableSkipQLinkList for the keys and values of the log records
+ * and snapshots. The codecs for Integer, Long and String keys, and for
+ * byte arrays, such as the keys encoded by a KeyCodec, are given here;
+ * other types need their own.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+
+public interface Codec<T> {
+
+// Postcondition: The value has been written to the stream, such that
+// read returns an equal value from the bytes written.
+//
+	void write(T value, DataOutput out) throws IOException;
+
+// Postcondition: Returns a value read from the stream, as written by
+// write.
+//
+	T read(DataInput in) throws IOException;
+
+// Four bytes, big endian; null is not allowed.
+//
+	Codec<Integer> INT = new Codec<Integer>() {
+		public void write(Integer value, DataOutput out) throws IOException {
+			out.writeInt(value);
+		}
+		public Integer read(DataInput in) throws IOException {
+			return in.readInt();
+		}
+	};
+
+// Eight bytes, big endian; null is not allowed.
+//
+	Codec<Long> LONG = new Codec<Long>() {
+		public void write(Long value, DataOutput out) throws IOException {
+			out.writeLong(value);
+		}
+		public Long read(DataInput in) throws IOException {
+			return in.readLong();
+		}
+	};
+
+// The length of the UTF-8 bytes, followed by the bytes; null is
+// written as the length -1.
+//
+	Codec<String> STRING = new Codec<String>() {
+		public void write(String value, DataOutput out) throws IOException {
+			if (value == null) {
+				out.writeInt(-1);
+				return;
+			}
+			byte[] b = value.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(b.length);
+			out.write(b);
+		}
+		public String read(DataInput in) throws IOException {
+			int n = in.readInt();
+			if (n < 0) return null;
+			byte[] b = new byte[n];
+			in.readFully(b);
+			return new String(b, StandardCharsets.UTF_8);
+		}
+	};
+
+// The length of the array, followed by its bytes; null is written as
+// the length -1.
+//
+	Codec<byte[]> BYTES = new Codec<byte[]>() {
+		public void write(byte[] value, DataOutput out) throws IOException {
+			if (value == null) {
+				out.writeInt(-1);
+				return;
+			}
+			out.writeInt(value.length);
+			out.write(value);
+		}
+		public byte[] read(DataInput in) throws IOException {
+			int n = in.readInt();
+			if (n < 0) return null;
+			byte[] b = new byte[n];
+			in.readFully(b);
+			return b;
+		}
+	};
+}
@@ -0,0 +1,657 @@
+/**
+ * @(#)ConcurrentSkipQLinkList.java
+ *
+ * A generic container class for a lock-free concurrent skip list, where the
+ * elements are entries consisting of two fields: (key, value) pair which are
+ * also generic (K,V). It keeps the semantics of SkipQLinkList: multiple
+ * entries with the same key are allowed, a new entry is inserted before all
+ * existing entries of a similar key, skipSearch finds the oldest entry of a
+ * key, and sameKey lists the entries of a key from the newest to the oldest.
+ *
+ * Each entry is one node with an array of forward links, one per level of
+ * its tower. Every link is an AtomicMarkableReference, and the links are
+ * changed only by compareAndSet. An entry is removed in two steps: it is
+ * first marked as deleted, by setting the mark bit of its own links from
+ * the top level down to level 0 (the mark at level 0 decides which thread
+ * removed it); then it is unlinked from each level by any thread that finds
+ * it marked while searching. Readers never wait for writers.
+ *
+ * There is no shared current pointer. Each thread has its own current
+ * entry, so first(), next(), skipSearch() and the others may be called by
+ * many threads at once, each thread moving only its own current entry.
+ * The iterators are weakly consistent: they never fail because of a
+ * concurrent change, and they may or may not show entries added or removed
+ * after they were created. size() is a counter that is exact only when no
+ * thread is changing the list.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.Iterator;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+
+public class ConcurrentSkipQLinkList<K,V>
+  implements Iterable<ConcurrentSkipQLinkList<K,V>.Entry>
+{
+	private static final int  MAX_H = 32;			// Maximum allowable height
+
+	private static final AtomicReferenceFieldUpdater<ConcurrentSkipQLinkList.Entry,Object>
+		VALUE = AtomicReferenceFieldUpdater.newUpdater(
+					ConcurrentSkipQLinkList.Entry.class, Object.class, "value");
+
+	private final Entry head;				// The header tower, -OO at all levels
+	private final Entry tail;				// The trailer node, +OO at all levels
+	private final ThreadLocal<Entry> current;	// Current entry of each thread
+	private final AtomicInteger height;		// Levels 0 up to height are in use
+	private final AtomicInteger count;		// Number of entries not deleted
+	protected final Comparator<K> c;		// Special comparator
+
+// CONSTRUCTORS:
+//
+// 1.	Default constructor of ConcurrentSkipQLinkList and default key comparator
+//
+	public ConcurrentSkipQLinkList() {
+		this(new KeyComparator<K>());
+	}
+
+// 2.	constructor of a ConcurrentSkipQLinkList with a passed key comparator
+//
+	public ConcurrentSkipQLinkList(Comparator<K> comp) {
+		c = comp;
+		tail = new Entry(null, null, 0);
+		head = new Entry(null, null, MAX_H);
+		for (int i=0; i<MAX_H; ++i)
+			head.next[i] = new AtomicMarkableReference<Entry>(tail, false);
+		current = ThreadLocal.withInitial(() -> head);
+		height = new AtomicInteger(1);
+		count = new AtomicInteger(0);
+	}
+
+//
+// Private HELPER METHODS, used by this skip list class only
+//
+
+// 1.	This function provides the height that a new entry should be
+// inserted at in the list, from coin tosses of probability 1/2 each,
+// that are taken as the bits of one random long. The returned height
+// never exceed the provided maximum, max.
+//
+	private int getRandHeight(int max) {
+		int i = Long.numberOfTrailingZeros(ThreadLocalRandom.current().nextLong());
+		if (i > max) return max;
+		return i;
+	}
+
+// 2.	Compares a key with the key of a node, where the trailer is
+// greater than any key. The header is never passed to this function.
+//
+	private int compare(K key, Entry p) {
+		if (p == tail) return -1;
+		return c.compare(key, p.key);
+	}
+
+// 3.	Descends from the top level to level 0, and fills preds and succs
+// with the last node before, and the first node after the position of
+// the given key at each level, that position being before all nodes of
+// an equal key. If a target node is given, then at each level where it is
+// linked, the nodes of an equal key before it are also passed over, so
+// preds and succs give its own neighbours there. The descent itself always
+// goes down from the last node with a smaller key. Marked nodes met on the
+// way are unlinked; if that fails because of a concurrent change, the
+// descent starts again. Returns preds[0].
+//
+	private Entry find(K key, Entry target, Entry[] preds, Entry[] succs) {
+		boolean[] marked = {false};
+		Entry pred, q, curr, succ;
+		int cmp;
+
+	retry:
+		while (true) {
+			pred = head;
+			for (int i=height.get()-1; i>=0; --i) {
+				q = pred;
+				curr = q.next[i].getReference();
+				while (curr != tail) {
+					succ = curr.next[i].get(marked);
+					while (marked[0]) {
+						if (!q.next[i].compareAndSet(curr, succ, false, false))
+							continue retry;
+						curr = succ;
+						if (curr == tail) break;
+						succ = curr.next[i].get(marked);
+					}
+					if (curr == tail) break;
+					cmp = compare(key, curr);
+					if (cmp > 0) {
+						pred = q = curr;
+						curr = succ;
+					}
+					else if (cmp == 0 && target != null && curr != target) {
+						q = curr;			// Pass over an equal key
+						curr = succ;
+					}
+					else break;
+				}
+				if (target == null || curr == target) {
+					preds[i] = q;
+					succs[i] = curr;
+				}
+				else {
+					preds[i] = pred;
+					succs[i] = pred.next[i].getReference();
+				}
+			}
+			return preds[0];
+		}
+	}
+
+// 4.	Descends from the top level to level 0 without changing any link,
+// and returns the last node not marked as deleted whose key is less than
+// or equal to the given key, or the header if there is no such node.
+//
+	private Entry findFloor(K key) {
+		boolean[] marked = {false};
+		Entry pred = head, curr, succ;
+
+		for (int i=height.get()-1; i>=0; --i) {
+			curr = pred.next[i].getReference();
+			while (curr != tail) {
+				succ = curr.next[i].get(marked);
+				if (!marked[0]) {
+					if (compare(key, curr) < 0) break;
+					pred = curr;
+				}
+				curr = succ;
+			}
+		}
+		return pred;
+	}
+
+// 5.	Returns the first node not marked as deleted after the given
+// node at level 0, or the trailer if there is none. It may be called
+// with a node that is itself deleted.
+//
+	private Entry successor(Entry p) {
+		Entry q = p.next[0].getReference();
+		while (q != tail && q.isDeleted())
+			q = q.next[0].getReference();
+		return q;
+	}
+
+// 6.	Returns the last node not marked as deleted before the given node
+// at level 0, or the header if there is none.
+//
+	private Entry predecessor(Entry p) {
+		Entry[] preds = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		Entry[] succs = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		return find(p.key, p, preds, succs);
+	}
+
+// 7.	Marks the given node as deleted at all its levels, and unlinks it.
+// Returns true if this thread removed it, or false if it had already been
+// removed by another thread.
+//
+	private boolean delete(Entry e) {
+		boolean[] marked = {false};
+		Entry succ;
+
+		// Mark the upper levels, top down, so no new link is made to it
+		for (int i=e.next.length-1; i>=1; --i) {
+			succ = e.next[i].get(marked);
+			while (!marked[0]) {
+				e.next[i].attemptMark(succ, true);
+				succ = e.next[i].get(marked);
+			}
+		}
+
+		// The thread that marks level 0 is the one that removes the node
+		while (true) {
+			succ = e.next[0].get(marked);
+			if (marked[0]) return false;
+			if (e.next[0].compareAndSet(succ, succ, false, true)) {
+				count.decrementAndGet();
+				predecessor(e);		// Unlinks the marked node at all levels
+				return true;
+			}
+		}
+	}
+
+
+//
+// PUBLIC METHODS: implement the SkipList interface
+//
+// Postcondition:
+// If the list is not empty, it puts the current entry of the calling
+// thread at the first entry of the skip list. Otherwise, it does nothing.
+//
+	public void first() {
+		Entry p = successor(head);
+		if (p != tail)
+			current.set(p);
+	}
+
+// Postcondition:
+// If the list is not empty, it puts the current entry of the calling
+// thread at the last entry of the skip list. Otherwise, it does nothing.
+//
+	public void last() {
+		boolean[] marked = {false};
+		Entry pred = head, curr, succ;
+
+		for (int i=height.get()-1; i>=0; --i) {
+			curr = pred.next[i].getReference();
+			while (curr != tail) {
+				succ = curr.next[i].get(marked);
+				if (!marked[0]) pred = curr;
+				curr = succ;
+			}
+		}
+		if (pred != head)
+			current.set(pred);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: The current entry of the calling thread is put at its
+// successor, or at the tail if it was the last entry.
+//
+	public void next() {
+		if (isElement())
+			current.set(successor(current.get()));
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: The current entry of the calling thread is put at its
+// predecessor, or at the head if it was the first entry.
+//
+	public void prior() {
+		if (isElement())
+			current.set(predecessor(current.get()));
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the current entry height if current is valid.
+// Otherwise -1 is returned.
+//
+	public int getEntryHeight() {
+		if (!isElement()) return -1;
+		return current.get().getHeight();
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the current entry of the calling thread if it is
+// valid. Otherwise null is returned. The entry may have been removed by
+// another thread since it was made current.
+//
+	public Entry get() {
+		if (!isElement()) return null;
+		return current.get();
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Atomically sets the value of the current entry of the
+// calling thread to the given new value, and returns the old value.
+// Otherwise null is returned.
+//
+	public V set(V newValue) {
+		if (!isElement()) return null;
+		return current.get().getAndSetValue(newValue);
+	}
+
+// Postcondition:
+// The skip list is searched for the key passed in the parameter. If
+// that key is in the list, the oldest entry with that key is made the
+// current entry of the calling thread. Otherwise, the entry with the
+// max. key less than the one being searched for is made current. If
+// there was no such an entry, then current is no longer valid.
+//
+	public void skipSearch(K key) {
+		current.set(findFloor(key));
+	}
+
+// Postcondition:
+// A New entry with the key and value specified by the passed parameters
+// is created, and linked at all the levels of its randomly chosen height,
+// one level at a time from level 0 up. Multiple entries with the same key
+// are allowed to exist in the list. In such a case the new entry is
+// inserted before all existing entries of a similar key. The new entry
+// becomes the current entry of the calling thread.
+//
+// Returns the new entry.
+//
+	public Entry skipAdd(K key, V value) {
+		Entry[] preds = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		Entry[] succs = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		Entry e, succ;
+		int i, h, top;
+
+		// Randomize new node height, and extend the list if needed
+		h = getRandHeight(MAX_H-2);
+		while ((top = height.get()) <= h && !height.compareAndSet(top, h+1));
+
+		e = new Entry(key, value, h+1);
+		for (i=0; i<=h; ++i)
+			e.next[i] = new AtomicMarkableReference<Entry>(null, false);
+
+		// Link it at level 0; from that moment it is in the list.
+		do {
+			find(key, null, preds, succs);
+			e.next[0].set(succs[0], false);
+		}
+		while (!preds[0].next[0].compareAndSet(succs[0], e, false, false));
+		count.incrementAndGet();
+
+		// Link it at the upper levels, unless it has been removed already
+		for (i=1; i<=h; ++i) {
+			while (true) {
+				succ = e.next[i].getReference();
+				if (!e.next[i].compareAndSet(succ, succs[i], false, false))
+					break;			// Marked by a concurrent removal
+				if (preds[i].next[i].compareAndSet(succs[i], e, false, false))
+					break;
+				find(key, e, preds, succs);
+				if (succs[0] != e) {	// Unlinked by a concurrent removal
+					current.set(e);
+					return e;
+				}
+			}
+		}
+		current.set(e);				// Set current
+		return e;					// Return the new node's entry.
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: The current entry of the calling thread is removed from
+// all levels of the list, unless another thread removed it first. Current
+// is put at the removed entry successor. If that was the tail, then current
+// is no longer valid. Returns true if this call removed the entry.
+//
+	public boolean skipRemove() {
+		Entry e;
+		boolean done;
+
+		if (!isElement()) return false;
+		e = current.get();
+		done = delete(e);
+		current.set(successor(e));
+		return done;
+	}
+
+// Postcondition:
+// The newest entry with the given key is removed from the list, if there
+// is one. Returns the removed entry, or null if there was none.
+//
+	public Entry remove(K key) {
+		Entry[] preds = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		Entry[] succs = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		Entry e;
+
+		while (true) {
+			find(key, null, preds, succs);
+			e = succs[0];
+			if (e == tail || c.compare(key, e.key) != 0) return null;
+			if (delete(e)) return e;
+		}
+	}
+
+// Postcondition:
+// Removes all the entries that are in the list when each of them is
+// reached. Entries added concurrently may or may not be removed.
+//
+	public void clear() {
+		Entry p = successor(head);
+		while (p != tail) {
+			delete(p);
+			p = successor(p);
+		}
+		current.set(head);
+	}
+
+// Postcondition:
+// Returns the current height of the skip list.
+//
+	public int height() {return height.get();}
+
+// Postcondition:
+// Returns the number of entries in the list. The result is exact only
+// when no other thread is changing the list.
+//
+	public int size() {return count.get();}
+
+// Postcondition:
+// Returns true if the skip list has no entries, otherwise it returns false.
+//
+	public boolean isEmpty() {return (successor(head) == tail);}
+
+// Postcondition:
+// If the current entry of the calling thread is at a valid node, it
+// returns true, otherwise it returns false.
+//
+	public boolean isElement() {
+		Entry p = current.get();
+		return ((p != head) && (p != tail));
+	}
+
+// Postcondition:
+// Returns a new ConcurrentSkipQLinkList containing the portion of this
+// list between the specified fromKey, inclusive, and toKey, exclusive.
+//
+	public ConcurrentSkipQLinkList<K,V> subList(K fromKey, K toKey) {
+		ConcurrentSkipQLinkList<K,V> sublist = new ConcurrentSkipQLinkList<K,V>(c);
+		Iterator<Entry> it = successors(fromKey);
+		boolean done = false;
+
+		while (it.hasNext() && !done) {
+			Entry e = it.next();
+			if (c.compare(e.getKey(), toKey) < 0)
+				sublist.skipAdd(e.getKey(), e.getValue());
+			else
+				done = true;
+		}
+		return sublist;
+	}
+
+// Postcondition:
+// Returns an array containing the entries of this list in proper
+// sequence, as seen by a weakly consistent iterator.
+//
+	public Entry[] toArray() {
+		java.util.ArrayList<Entry> list = new java.util.ArrayList<Entry>();
+		for (Entry e : this) list.add(e);
+		return list.toArray((Entry[]) new ConcurrentSkipQLinkList.Entry[list.size()]);
+	}
+
+// ITERATORS: all of them are weakly consistent.
+//
+// 1. Default Iterator:
+// Returns a forward iterator over all entries in the skip list.
+//
+	public Iterator<Entry> iterator() {
+		return new SkipListFIterator(head);
+	}
+
+// 2. Forward Iterator:
+// Returns a forward iterator over all entries in the skip list.
+//
+	public Iterator<Entry> entries() {
+		return new SkipListFIterator(head);
+	}
+
+// 3. Backward Iterator:
+// Returns a backward iterator over all entries in the skip list. Each
+// step back is a descent from the top level.
+//
+	public Iterator<Entry> backIterator() {
+		return new SkipListBIterator(tail);
+	}
+
+// 4. Key Iterator:
+// Returns a forward iterator over all keys in the skip list.
+//
+	public Iterator<K> keys() {
+		final Iterator<Entry> it = new SkipListFIterator(head);
+		return new Iterator<K>() {
+			public boolean hasNext() {return it.hasNext();}
+			public K next() {return it.next().getKey();}
+		};
+	}
+
+// 5. Value Iterator:
+// Returns a forward iterator over all values in the skip list.
+//
+	public Iterator<V> values() {
+		final Iterator<Entry> it = new SkipListFIterator(head);
+		return new Iterator<V>() {
+			public boolean hasNext() {return it.hasNext();}
+			public V next() {return it.next().getValue();}
+		};
+	}
+
+// 6. Forward Partial Iterator:
+// Returns an iterator over all entries in the skip list with keys
+// greater than or equal to the passed key, in non-decreasing order.
+//
+	public Iterator<Entry> successors(K key) {
+		Entry[] preds = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		Entry[] succs = (Entry[]) new ConcurrentSkipQLinkList.Entry[MAX_H];
+		return new SkipListFIterator(find(key, null, preds, succs));
+	}
+
+// 7. Backward Partial Iterator:
+// Returns an iterator over all entries in the skip list with keys less
+// than or equal to k, in non-increasing order.
+//
+	public Iterator<Entry> predecessors(K key) {
+		return new SkipListBIterator(successor(findFloor(key)));
+	}
+
+// 8. Same Key Iterator:
+// Returns an iterator over all entries in the skip list with keys equal
+// to k, in reverse order of their insertion time.
+//
+	public Iterator<Entry> sameKey(final K key) {
+		final Iterator<Entry> it = successors(key);
+		return new Iterator<Entry>() {
+			private Entry nx = advance();
+
+			private Entry advance() {
+				if (!it.hasNext()) return null;
+				Entry e = it.next();
+				return (c.compare(key, e.key) == 0)? e : null;
+			}
+
+			public boolean hasNext() {return (nx != null);}
+
+			public Entry next() {
+				if (nx == null) throw new NoSuchElementException();
+				Entry temp = nx;
+				nx = advance();
+				return temp;
+			}
+		};
+	}
+
+
+// INNER CLASSES:
+//
+// 1. Entry Inner Class:
+//
+// PROVIDES: A generic class for a data entry, which consists of a pair
+//     of objects: a key of generic type K, and a value of generic type
+//     V. The entry is also the node of the skip list, holding one
+//     markable forward link per level of its tower. The key is final;
+//     the value may be changed atomically.
+//
+
+	public class Entry {
+
+		private final K key;
+		private volatile V value;
+		private final AtomicMarkableReference<Entry>[] next;
+
+		private Entry(K initKey, V initValue, int levels) {
+			key = initKey;
+			value = initValue;
+			next = (AtomicMarkableReference<Entry>[]) new AtomicMarkableReference[levels];
+		}
+
+		public void setValue(V newValue) {value = newValue;}
+
+		public V getAndSetValue(V newValue) {
+			return (V) VALUE.getAndSet(this, newValue);
+		}
+
+		public K getKey() {return key;}
+		public V getValue() {return value;}
+
+		// The height of the tower; 0 for an entry at level 0 only
+		public int getHeight() {return next.length-1;}
+
+		// True once the entry has been removed from the list
+		public boolean isDeleted() {return next[0].isMarked();}
+
+		public String toString() {
+			return "["+getKey()+", "+getValue()+"]";
+		}
+	}
+
+// 2. Skip List Iterator Classes:
+// A.	Inner class for the SkipListFIterator:
+// PROVIDES: Weakly consistent iterator objects over the entries of a
+//     ConcurrentSkipQLinkList, going forward from the node after the
+//     one given to the constructor, and skipping deleted entries.
+//
+	private class SkipListFIterator implements Iterator<Entry> {
+		private Entry nx;
+
+		private SkipListFIterator(Entry from) {
+			nx = successor(from);
+		}
+
+		public boolean hasNext() {return (nx != tail);}
+
+		public Entry next() {
+			if (nx == tail) throw new NoSuchElementException();
+			Entry temp = nx;
+			nx = successor(nx);
+			return temp;
+		}
+	}
+
+// B.	Inner class for the SkipListBIterator:
+// PROVIDES: Weakly consistent iterator objects over the entries of a
+//     ConcurrentSkipQLinkList, going backward from the node before the
+//     one given to the constructor, and skipping deleted entries.
+//
+	private class SkipListBIterator implements Iterator<Entry> {
+		private Entry nx;
+
+		private SkipListBIterator(Entry from) {
+			nx = (from == tail)? lastNode() : predecessor(from);
+		}
+
+		private Entry lastNode() {
+			Entry p = head, q;
+			for (int i=height.get()-1; i>=0; --i)
+				while ((q = p.next[i].getReference()) != tail)
+					p = q;
+			while (p != head && p.isDeleted())
+				p = predecessor(p);
+			return p;
+		}
+
+		public boolean hasNext() {return (nx != head);}
+
+		public Entry next() {
+			if (nx == head) throw new NoSuchElementException();
+			Entry temp = nx;
+			nx = predecessor(nx);
+			return temp;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/**
+ * @(#)ConcurrentSkipQLinkListTest.java
+ *
+ * A test program for the ConcurrentSkipQLinkList class. It runs random
+ * operations on the list and on a model, a TreeMap from each key to its
+ * values newest first, and checks that the two agree: first on one thread,
+ * then on several threads at once, each one owning the keys equal to its
+ * number modulo the number of threads, so that the model of each thread
+ * stays exact while the threads share the towers of the list. A last round
+ * has all the threads add and remove the same keys, and checks the number
+ * of entries of each key against the adds and removes that succeeded.
+ *
+ * It prints one line for each round, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class ConcurrentSkipQLinkListTest {
+
+  public static void main(String[] args) throws InterruptedException {
+	singleThread(200000, 1);
+	System.out.println("one thread: ok");
+	for (int threads : new int[] {2, 4, 8}) {
+	  ownKeys(threads, 50000);
+	  System.out.println("own keys, " + threads + " threads: ok");
+	}
+	sharedKeys(4, 50000);
+	System.out.println("shared keys, 4 threads: ok");
+  }
+
+  // Postcondition: n random skipAdd, remove, skipSearch and skipRemove
+  // calls have been checked against the model on this thread.
+  //
+  public static void singleThread(int n, long seed) {
+	ConcurrentSkipQLinkList<Integer,Integer> s =
+		new ConcurrentSkipQLinkList<Integer,Integer>();
+	TreeMap<Integer,Deque<Integer>> model = new TreeMap<Integer,Deque<Integer>>();
+	Random r = new Random(seed);
+
+	for (int i=0; i<n; ++i)
+	  step(s, model, r, 2000, 1, 0, i);
+	checkAll(s, model);
+
+	s.clear();
+	check(s.isEmpty() && (s.size() == 0) && !s.iterator().hasNext(),
+		  "clear");
+  }
+
+  // Postcondition: The given number of threads have each made n random
+  // calls on keys of their own on one shared list, each checking its
+  // model as it goes; the list then holds exactly the union of the models.
+  //
+  public static void ownKeys(final int threads, final int n)
+		throws InterruptedException {
+	final ConcurrentSkipQLinkList<Integer,Integer> s =
+		new ConcurrentSkipQLinkList<Integer,Integer>();
+	final List<TreeMap<Integer,Deque<Integer>>> models =
+		new ArrayList<TreeMap<Integer,Deque<Integer>>>();
+	final ConcurrentLinkedQueue<Throwable> failures =
+		new ConcurrentLinkedQueue<Throwable>();
+
+	for (int t=0; t<threads; ++t)
+	  models.add(new TreeMap<Integer,Deque<Integer>>());
+	SkipListBench.runThreads(threads, new SkipListBench.Worker() {
+	  public void run(int id) {
+		Random r = new Random(id);
+		try {
+		  for (int i=0; i<n; ++i)
+			step(s, models.get(id), r, 1000, threads, id, i);
+		}
+		catch (Throwable ex) {
+		  failures.add(ex);
+		}
+	  }
+	});
+	if (!failures.isEmpty()) throw new IllegalStateException(failures.peek());
+
+	TreeMap<Integer,Deque<Integer>> all = new TreeMap<Integer,Deque<Integer>>();
+	for (TreeMap<Integer,Deque<Integer>> m : models) all.putAll(m);
+	checkAll(s, all);
+  }
+
+  // Postcondition: The given number of threads have each added and
+  // removed n times keys in one small range; the entries of each key left
+  // in the list are the adds less the removes that returned an entry.
+  //
+  public static void sharedKeys(final int threads, final int n)
+		throws InterruptedException {
+	final ConcurrentSkipQLinkList<Integer,Integer> s =
+		new ConcurrentSkipQLinkList<Integer,Integer>();
+	final ConcurrentHashMap<Integer,Integer> net =
+		new ConcurrentHashMap<Integer,Integer>();
+
+	SkipListBench.runThreads(threads, new SkipListBench.Worker() {
+	  public void run(int id) {
+		Random r = new Random(100 + id);
+		for (int i=0; i<n; ++i) {
+		  int k = r.nextInt(500);
+		  if (r.nextInt(3) == 0) {
+			if (s.remove(k) != null) net.merge(k, -1, Integer::sum);
+		  }
+		  else {
+			s.skipAdd(k, id);
+			net.merge(k, 1, Integer::sum);
+		  }
+		}
+	  }
+	});
+
+	List<Integer> expected = new ArrayList<Integer>(), got = new ArrayList<Integer>();
+	for (Map.Entry<Integer,Integer> e : new TreeMap<Integer,Integer>(net).entrySet())
+	  for (int i=0; i<e.getValue(); ++i) expected.add(e.getKey());
+	for (ConcurrentSkipQLinkList<Integer,Integer>.Entry e : s) got.add(e.getKey());
+	check(got.equals(expected), "shared keys: entries");
+	check(s.size() == expected.size(), "shared keys: size");
+  }
+
+  // Postcondition: One random call has been made on the list and on the
+  // model, with a key k in [0, range) such that k % mod == id, and its
+  // result checked. Values are unique, so entries are told apart by them.
+  //
+  public static void step(ConcurrentSkipQLinkList<Integer,Integer> s,
+						  TreeMap<Integer,Deque<Integer>> model, Random r,
+						  int range, int mod, int id, int value) {
+	int k = mod * r.nextInt(range) + id;
+	int op = r.nextInt(10);
+
+	if (op < 5) {
+	  s.skipAdd(k, value);
+	  model.computeIfAbsent(k, x -> new ArrayDeque<Integer>()).addFirst(value);
+	  check(s.get().getValue() == value, "skipAdd: current");
+	}
+	else if (op < 7) {
+	  ConcurrentSkipQLinkList<Integer,Integer>.Entry e = s.remove(k);
+	  Deque<Integer> d = model.get(k);
+	  if (d == null) check(e == null, "remove of a missing key");
+	  else {
+		check((e != null) && (e.getValue().intValue() == d.removeFirst()),
+			  "remove: not the newest entry of " + k);
+		if (d.isEmpty()) model.remove(k);
+	  }
+	}
+	else if (op < 9) {
+	  s.skipSearch(k);
+	  Deque<Integer> d = model.get(k);
+	  if (d != null)
+		check(s.isElement() && (s.get().getValue().intValue() == d.getLast()),
+			  "skipSearch: not the oldest entry of " + k);
+	  else if (s.isElement())
+		check(s.get().getKey() < k, "skipSearch: floor of " + k);
+	}
+	else {
+	  s.skipSearch(k);
+	  Deque<Integer> d = model.get(k);
+	  if (d != null) {
+		check(s.skipRemove(), "skipRemove");
+		d.removeLast();
+		if (d.isEmpty()) model.remove(k);
+	  }
+	}
+
+	Iterator<ConcurrentSkipQLinkList<Integer,Integer>.Entry> it = s.sameKey(k);
+	Deque<Integer> d = model.get(k);
+	if (d != null)
+	  for (Integer v : d)
+		check(it.hasNext() && (it.next().getValue().equals(v)),
+			  "sameKey " + k);
+	check(!it.hasNext(), "sameKey " + k + ": extra entries");
+  }
+
+  // Postcondition: The entries of the list, forward and backward, and its
+  // size, have been checked against the model.
+  //
+  public static void checkAll(ConcurrentSkipQLinkList<Integer,Integer> s,
+							  TreeMap<Integer,Deque<Integer>> model) {
+	List<Integer> expected = new ArrayList<Integer>(), got = new ArrayList<Integer>();
+
+	for (Deque<Integer> d : model.values()) expected.addAll(d);
+	for (ConcurrentSkipQLinkList<Integer,Integer>.Entry e : s)
+	  got.add(e.getValue());
+	check(got.equals(expected), "forward iteration");
+
+	got.clear();
+	Iterator<ConcurrentSkipQLinkList<Integer,Integer>.Entry> it = s.backIterator();
+	while (it.hasNext()) got.add(it.next().getValue());
+	Collections.reverse(got);
+	check(got.equals(expected), "backward iteration");
+	check(s.size() == expected.size(), "size");
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
@@ -0,0 +1,693 @@
+/**
+ * @(#)DoubleSkipList.java
+ *
+ * A container class for a skip list of entries with primitive double keys
+ * and generic values (V). It has the same navigation model as SkipQLinkList
+ * (first, next, prior, last, skipSearch, skipAdd, subList and iterators),
+ * but the keys are stored unboxed in the nodes and compared with the static
+ * Double.compare, so no key is ever boxed or passed through a Comparator.
+ * Double.compare is used rather than the < operator so that the keys keep
+ * the total order of Double.compareTo (NaN last, -0.0 before 0.0), the same
+ * order a SkipQLinkList<Double,V> gives them.
+ *
+ * Each entry is one node with an array of forward links, one per level of
+ * its tower, and a backward link at level 0, as in SkipArrayList. The header
+ * and trailer are sentinel nodes recognised by identity.
+ *
+ * The skip list has three external pointers, as follows:
+ *   head,    points at the header node (the -OO tower of all levels)
+ *   tail,    points at the trailer node (the +OO end of all levels)
+ *   current, points at the current node of the list at level 0.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.Random;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.io.Serializable;
+
+
+public class DoubleSkipList<V>
+  implements Iterable<DoubleSkipList<V>.Entry>, Serializable
+{
+	private static final int  MAX_H = 32;			// Maximum allowable height
+	private static final String PLUS_INF  = "+OO";	// Printed key of the trailer
+	private static final String MINUS_INF = "-OO";	// Printed key of the header
+
+	// The nodes are not serialized as they are; see writeObject.
+	private transient Entry head;	// The header tower, -OO at all levels
+	private transient Entry tail;	// The trailer node, +OO at all levels
+	private transient Entry current;	// Points to current item in level 0
+	private transient int height, count;	// Store height and size of the list
+	private Random r;				// A random number generator object
+
+// CONSTRUCTORS:
+//
+// 1.	Default constructor of an empty DoubleSkipList
+//
+	public DoubleSkipList() {
+		r = new Random();			// Init. random number generator
+
+		head = new Entry(0, null, MAX_H+1);
+		tail = new Entry(0, null, 0);
+		for (int i=0; i<=MAX_H; ++i)
+			head.next[i] = tail;	// All levels are empty
+		tail.prev = head;
+
+		height = 1;					// Levels 0 and 1 exist
+		count = 0;					// Init. the skip list size
+		current = head;				// Init. the current pointer at head
+	}
+
+// 2.	A copy constructor where the skip list is initialized as a copy
+// of the passed source skip list.
+//
+	public DoubleSkipList(DoubleSkipList<V> source) {
+		this();
+		for (Entry ei : source)
+			skipAdd(ei.getKey(), ei.getValue());
+	}
+
+//
+// Private HELPER METHODS, used by this skip list class only
+//
+
+// 1.	This function provides the height that a new entry should be
+// inserted at in the list. The height is calculated usung a number
+// of random coin tosses of probability 1/2 each. The returned height
+// never exceed the provided maximum, max.
+//
+	private int getRandHeight(int max) {
+		int i=0;						// Counter of consecutive heads.
+		while (r.nextInt(2) == 0) i++;	// Toss a coin until tails.
+		if (i > max) return max;		// Limit to max.
+		return i;
+	}
+
+// 2.	Descends from the header to level 0, and returns the last node
+// whose key is less than the given key (strict is true), or less than
+// or equal to the given key (strict is false). If preds is not null,
+// the last node visited at each level is recorded in it.
+//
+	private Entry findPred(double key, boolean strict, Entry[] preds) {
+		Entry p = head, q;
+
+		for (int i=height-1; i>=0; --i) {
+			q = p.next[i];
+			if (strict)
+				while ((q != tail) && (Double.compare(q.key, key) < 0)) {
+					p = q;
+					q = p.next[i];
+				}
+			else
+				while ((q != tail) && (Double.compare(q.key, key) <= 0)) {
+					p = q;
+					q = p.next[i];
+				}
+			if (preds != null) preds[i] = p;
+		}
+		return p;
+	}
+
+
+//
+// PUBLIC METHODS: implement the SkipList interface
+//
+// Postcondition:
+// If the list is not empty, it puts current at the first node
+// at level 0 of the skip list. Otherwise, it does nothing.
+//
+	public void first() {
+		if (count > 0)
+			current = head.next[0];
+	}
+
+// Postcondition:
+// If the list is not empty, it puts current at the last node
+// at level 0 of the skip list. Otherwise, it does nothing.
+//
+	public void last() {
+		if (count > 0)
+			current = tail.prev;
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: If the current node is not the last node at
+// level 0 of the skip list, then current is put at its successor
+// node. Otherwise, current is put at the tail.
+//
+	public void next() {
+		if (isElement())
+			current = current.next[0];
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: If the current node is not the first node at
+// level 0 of the skip list, then current is put at its predecessor
+// node. Otherwise, curren is put at the head.
+//
+	public void prior() {
+		if (isElement())
+			current = current.prev;
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the current entry height if current is valid.
+// Otherwise -1 is returned.
+//
+	public int getEntryHeight() {
+		if (!isElement()) return -1;
+		return current.getHeight();
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the entry at the current node if it is valid.
+// Otherwise null is returned.
+//
+	public Entry get() {
+		if (!isElement()) return null;
+		return current;
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: sets the entry's value at the current node if it is
+// valid to the given new value; returns the old value.
+// Otherwise null is returned.
+//
+	public V set(V newValue) {
+		V old;
+
+		if (!isElement()) return null;
+		old = current.value;
+		current.value = newValue;
+		return old;
+	}
+
+// Postcondition:
+// The skip list is searched for the key passed in the parameter. If
+// that key is in the list, the entry with the oldest node in the list
+// at level 0, that contains that key is made current. Otherwise, the
+// entry of an existing node in the list at level 0, that has the max.
+// key less than the one being searched for is made current. If there
+// was no such an entry, then current is no longer valid.
+//
+	public void skipSearch(double key) {
+		current = findPred(key, false, null);
+	}
+
+// Postcondition:
+// A New entry with the key and value specified by the passed parameters
+// is created, and stored in a single node that is linked in its proper
+// location at all the levels of its tower, whose number is calculated
+// by a randomization algorithm. Multiple entries with the same key are
+// allowed to exist in the list. In such a case the new entry is inserted
+// before all existing entries of a similar key. Current is put at the
+// new node.
+//
+// Returns the new entry.
+//
+	public Entry skipAdd(double key, V value) {
+		Entry[] preds = (Entry[]) new DoubleSkipList.Entry[MAX_H+1];
+		Entry p, e;
+		int i, h;
+
+		// Randomize new node height, and extend the list if needed
+		h = getRandHeight(MAX_H-1);
+		if (h >= height)
+			height = h+1;
+
+		// Find the predecessors at all the levels, the new ones included
+		findPred(key, true, preds);
+
+		// Link the new node after its predecessor at each level
+		e = new Entry(key, value, h+1);
+		for (i=0; i<=h; ++i) {
+			p = preds[i];
+			e.next[i] = p.next[i];
+			p.next[i] = e;
+		}
+		e.prev = preds[0];
+		e.next[0].prev = e;
+
+		count++;					// Update count
+		current = e;				// Set current
+		return e;					// Return the new entry.
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: The current entry is removed from all levels of the
+// list. All empty levels but one, are also removed. Current is put
+// at the removed node successor at the level 0 list. If that was the
+// node at the tail or the list became empty after the removal, then
+// current is no longer valid.
+//
+	public void skipRemove() {
+		Entry[] preds = (Entry[]) new DoubleSkipList.Entry[MAX_H+1];
+		Entry p, e;
+		int i;
+
+		// 1. Check if current is valid.
+		if (!isElement()) return;
+
+		// 2. Find the predecessors of the current node at each of its
+		// levels, stepping over any entries of the same key before it.
+		e = current;
+		findPred(e.key, true, preds);
+		for (i=e.getHeight(); i>=0; --i) {
+			p = preds[i];
+			while (p.next[i] != e)
+				p = p.next[i];
+			p.next[i] = e.next[i];	// Unlink it from this level
+		}
+		e.next[0].prev = e.prev;
+		current = e.next[0];
+
+		// 3. Remove all empty levels but one.
+		while (height > 1 && head.next[height-1] == tail)
+			height--;
+
+		// 4. Finalize, and return.
+		for (i=0; i<e.next.length; ++i) e.next[i] = null;
+		e.prev = null;
+		count--;
+	}
+
+// Postcondition:
+// Clears the list by dereferencing all of its nodes and reducing
+// its levels to 1.
+//
+	public void clear() {
+		Entry p, q;
+
+		p = head.next[0];
+		while (p != tail) {
+			q = p.next[0];
+			for (int i=0; i<p.next.length; ++i) p.next[i] = null;
+			p.prev = null;
+			p = q;
+		}
+		for (int i=0; i<=MAX_H; ++i)
+			head.next[i] = tail;
+		tail.prev = head;
+		current = head;
+		height = 1;
+		count = 0;
+	}
+
+// Postcondition:
+// Returns the current height of the skip list.
+//
+	public int height() {return height;}
+
+// Postcondition:
+// Returns the current number of nodes in the skip list at level 0.
+//
+	public int size() {return count;}
+
+// Postcondition:
+// Returns true if the skip list is empty, otherwise it returns false.
+//
+	public boolean isEmpty() {return (count == 0);}
+
+// Postcondition:
+// If current is at a valid node, it returns true, otherwise it
+// returns false.
+//
+	public boolean isElement() {
+		return ((current != head) && (current != tail));
+	}
+
+// Postcondition:
+// Returns a new DoubleSkipList containing the portion of this list
+// between the specified fromKey, inclusive, and toKey, exclusive.
+//
+	public DoubleSkipList<V> subList(double fromKey, double toKey) {
+		DoubleSkipList<V> sublist = new DoubleSkipList<V>();
+		Entry p = findPred(fromKey, true, null).next[0];
+
+		while ((p != tail) && (Double.compare(p.key, toKey) < 0)) {
+			sublist.skipAdd(p.key, p.value);
+			p = p.next[0];
+		}
+		return sublist;
+	}
+
+// Postcondition:
+// Returns an array containing all of the elements in this list in
+// proper sequence (from first to last element).
+//
+	public Entry[] toArray() {
+		Entry[] listArray = (Entry[]) new DoubleSkipList.Entry[count];
+		int i = 0;
+		for (Entry e : this) {
+			listArray[i] = e;
+			i++;
+		}
+		return listArray;
+	}
+
+// Postcondition:
+// All nodes in the skip list, at all levels are printed to
+// the screen showing the list structure (nodes and links),
+// where the nodes are presented by their keys.
+//
+	public void printStructure() {
+		Entry q;
+		String k, s;
+		int h, max = 5;
+
+		System.out.println();
+		System.out.println("The list height is: " + height + ".");
+		System.out.println("The list size is:   " + count + ".");
+		System.out.print("The list printed below is rotated 90 ");
+		System.out.println("degrees clockwise.");
+
+		for (q=head; q!=null; q=(q==tail? null : q.next[0])) {
+		  if (q == head) k = MINUS_INF;
+		  else if (q == tail) k = PLUS_INF;
+		  else k = Double.toString(q.key);
+		  if (k.length() > max) k = k.substring(0,max);
+		  k = k + " ";
+		  if (q == current) System.out.print(">");
+		  if (q != current) System.out.print(" ");
+		  h = ((q == head) || (q == tail))? height : q.getHeight();
+		  for (int j=0; j<=h; ++j) {
+			System.out.print(k);
+			s = "";
+			if (j < h) {
+			  for (int i=k.length(); i<max+1; ++i) s = s + "-";
+			  System.out.print(s + "-- ");
+			}
+			else {
+			  for (int i=k.length(); i<max+1; ++i) s = s + " ";
+			  System.out.print(s + "   ");
+			}
+		  }
+		  s = "";
+		  for (int i=1; i<max+1; ++i) s = s + " ";
+		  for (int i=h; i<height; ++i)
+			System.out.print(" |  " + s);
+		  System.out.println();
+		  System.out.print(" ");
+		  for (int i=0; i<= height; ++i)
+			if (q != tail) System.out.print(" |  " + s);
+		  System.out.println();
+		}
+	}
+
+// ITERATORS:
+//
+// 1. Default Iterator:
+// Returns a forward iterator over all entries in the skip list.
+//
+	public Iterator<Entry> iterator() {
+		return new SkipListFIterator();
+	}
+
+// 2. Forward Iterator:
+// Returns a forward iterator over all entries in the skip list.
+//
+	public Iterator<Entry> entries() {
+		return new SkipListFIterator();
+	}
+
+// 3. Backward Iterator:
+// Returns a backward iterator over all entries in the skip list.
+//
+	public Iterator<Entry> backIterator() {
+		return new SkipListBIterator();
+	}
+
+// 4. Key Iterator:
+// Returns a forward iterator over all keys in the skip list. The keys
+// are returned unboxed by nextDouble().
+//
+	public PrimitiveIterator.OfDouble keys() {
+		return new SkipListKIterator();
+	}
+
+// 5. Value Iterator:
+// Returns a forward iterator over all values in the skip list.
+//
+	public Iterator<V> values() {
+		return new SkipListVIterator();
+	}
+
+// 6. Forward Partial Iterator:
+// Returns an iterable collection of all entries in the skip list with
+// keys greater than or equal to the passed key, in non-decreasing order.
+//
+	public Iterator<Entry> successors(double key) {
+		return new SkipListFIterator(key);
+	}
+
+// 7. Backward Partial Iterator:
+// Returns an iterable collection of all entries in the skip list with
+// keys less than or equal to k, in non-increasing order.
+//
+	public Iterator<Entry> predecessors(double key) {
+		return new SkipListBIterator(key);
+	}
+
+// 8. Same Key Iterator:
+// Returns an iterable collection of all entries in the skip list with
+// keys equal to k, in reverse order of their insertion time.
+//
+	public Iterator<Entry> sameKey(double key) {
+		return new SkipListSKIterator(key);
+	}
+
+
+// SERIALIZATION:
+//
+// The list is written as its random number generator, then count, then
+// the key, value and tower height of each entry in level 0 order. No
+// node is written, so writing does not recurse through the links, as the
+// default form does, which overflows the stack on a long list.
+//
+	private void writeObject(java.io.ObjectOutputStream out)
+			throws java.io.IOException {
+		out.defaultWriteObject();
+		out.writeInt(count);
+		for (Entry e=head.next[0]; e!=tail; e=e.next[0]) {
+			out.writeDouble(e.key);
+			out.writeObject(e.value);
+			out.writeByte(e.getHeight());
+		}
+	}
+
+// The towers are rebuilt with the heights written, by appending them to
+// every level in one linear pass. Current is not valid.
+//
+	private void readObject(java.io.ObjectInputStream in)
+			throws java.io.IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		head = new Entry(0, null, MAX_H+1);
+		tail = new Entry(0, null, 0);
+		height = 1;					// Levels 0 and 1 exist
+		count = in.readInt();
+		current = head;				// Current is not valid
+
+		Entry[] last = (Entry[]) new DoubleSkipList.Entry[MAX_H+1];
+		double key, prevKey = 0;
+		V value;
+		Entry e;
+		int i, h;
+
+		for (i=0; i<=MAX_H; ++i) last[i] = head;
+		for (int j=0; j<count; ++j) {
+			key = in.readDouble();
+			value = (V) in.readObject();
+			h = in.readByte();
+			if ((h < 0) || (h >= MAX_H))
+				throw new java.io.InvalidObjectException("bad tower height " + h);
+			if ((j > 0) && (Double.compare(prevKey, key) > 0))
+				throw new java.io.InvalidObjectException("keys out of order");
+			e = new Entry(key, value, h+1);
+			e.prev = last[0];
+			for (i=0; i<=h; ++i) {
+				last[i].next[i] = e;	// Append to level i
+				last[i] = e;
+			}
+			if (h >= height) height = h+1;
+			prevKey = key;
+		}
+		for (i=0; i<=MAX_H; ++i) last[i].next[i] = tail;
+		tail.prev = last[0];
+	}
+
+// INNER CLASSES:
+//
+// 1. Entry Inner Class:
+//
+// PROVIDES: A class for a data entry, which consists of a primitive
+//     double key, and a value of generic type V. The entry is also the
+//     node of the skip list: it holds one forward link per level of
+//     its tower, and a backward link at level 0.
+//
+
+	public class Entry implements Serializable {
+
+		private double key;
+		private V value;
+		private Entry[] next;		// Forward links, next[0] at level 0
+		private Entry prev;			// Backward link at level 0
+
+		private Entry(double initKey, V initValue, int levels) {
+			key = initKey;
+			value = initValue;
+			next = (Entry[]) new DoubleSkipList.Entry[levels];
+		}
+
+		public void setValue(V newValue) {value = newValue;}
+
+		public double getKey() {return key;}
+		public V getValue() {return value;}
+
+		// The height of the tower; 0 for an entry at level 0 only
+		public int getHeight() {return next.length-1;}
+
+		public boolean equals(Entry e2) {
+			return (Double.compare(key, e2.getKey()) == 0) &&
+				   ((value==null)?
+					(e2.getValue()==null):(value.equals(e2.getValue())));
+		}
+
+		public String toString() {
+			return "["+getKey()+", "+getValue()+"]";
+		}
+	}
+
+// 2. Skip List Iterator Classes:
+// A.	Inner class for the SkipListSKIterator:
+// PROVIDES: Iterator objects over the entries of the Same Key in a
+//     DoubleSkipList structure, newest first.
+//
+	private class SkipListSKIterator implements Iterator<Entry> {
+		private Entry cr;
+		private double key;
+
+		private SkipListSKIterator(double key) {
+			this.key = key;
+			cr = findPred(key, true, null).next[0];
+		}
+
+		public boolean hasNext() {
+			return (cr != tail) && (Double.compare(cr.key, key) == 0);
+		}
+
+		public Entry next() {
+			Entry temp = cr;
+			cr = cr.next[0];
+			return temp;
+		}
+
+		public void remove() {}
+	}
+
+// B.	Inner class for the SkipListFIterator:
+// PROVIDES: Iterator objects over the entries of a DoubleSkipList
+//     structure. This iterator goes forward starting at the head
+//     of the list by default or starting at the first entry in the
+//     list matching the given key.
+//
+	private class SkipListFIterator implements Iterator<Entry> {
+		private Entry cr;
+
+		private SkipListFIterator() {
+			cr = head.next[0];
+		}
+
+		private SkipListFIterator(double key) {
+			cr = findPred(key, true, null).next[0];
+		}
+
+		public boolean hasNext() {return (cr != tail);}
+
+		public Entry next() {
+			Entry temp = cr;
+			cr = cr.next[0];
+			return temp;
+		}
+
+		public void remove() {}
+	}
+
+// C.	Inner class for the SkipListBIterator:
+// PROVIDES: Iterator objects over the entries of a DoubleSkipList
+//     structure. This iterator goes backward starting at the tail
+//     of the list by default or starting at the last entry in the
+//     list matching the given key.
+//
+	private class SkipListBIterator implements Iterator<Entry> {
+		private Entry cr;
+
+		private SkipListBIterator() {
+			cr = tail.prev;
+		}
+
+		private SkipListBIterator(double key) {
+			cr = findPred(key, false, null);
+		}
+
+		public boolean hasNext() {return (cr != head);}
+
+		public Entry next() {
+			Entry temp = cr;
+			cr = cr.prev;
+			return temp;
+		}
+
+		public void remove() {}
+	}
+
+// D.	Inner class for the SkipListKIterator:
+//
+// PROVIDES: Iterator objects over the unboxed keys of a DoubleSkipList
+//     structure. This iterator goes forward starting at first
+//     key in the list.
+//
+	private class SkipListKIterator implements PrimitiveIterator.OfDouble {
+		private Entry cr;
+
+		private SkipListKIterator() {
+			cr = head.next[0];
+		}
+
+		public boolean hasNext() {return (cr != tail);}
+
+		public double nextDouble() {
+			Entry temp = cr;
+			cr = cr.next[0];
+			return temp.key;
+		}
+
+		public void remove() {}
+	}
+
+// E.	Inner class for the SkipListVIterator:
+//
+// PROVIDES: Iterator objects over the values of a DoubleSkipList
+//     structure. This iterator goes forward starting at the first
+//     value in the list.
+//
+	private class SkipListVIterator implements Iterator<V> {
+		private Entry cr;
+
+		private SkipListVIterator() {
+			cr = head.next[0];
+		}
+
+		public boolean hasNext() {return (cr != tail);}
+
+		public V next() {
+			Entry temp = cr;
+			cr = cr.next[0];
+			return temp.value;
+		}
+
+		public void remove() {}
+	}
+}
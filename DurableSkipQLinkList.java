@@ -0,0 +1,449 @@
+/**
+ * @(#)DurableSkipQLinkList.java
+ *
+ * A SkipQLinkList that survives crashes. Each change (skipAdd, set,
+ * skipRemove and clear) is first written as a record to a write-ahead
+ * log, and then made to the list in memory, so reads go at the speed of
+ * the list itself. The log is kept in a directory, together with the
+ * latest snapshot of the whole list; opening the directory loads the
+ * snapshot and replays the log written after it.
+ *
+ * Records are collected in memory, and written and synced to the log in
+ * groups of batchSize changes (group commit); sync() does it at once. A
+ * batch size of 1 syncs every change. After a crash, the changes of the
+ * last unsynced group may be lost, but the list is never left half done:
+ * each record carries a CRC32, and replay stops at the first record that
+ * is torn or does not match.
+ *
+ * A log record is:
+ *
+ *   int   length of the type and payload
+ *   byte  type: ADD, SET, REMOVE or CLEAR
+ *   ...   payload: the key and value of ADD, the position of current and
+ *         the new value of SET, the position of current for REMOVE
+ *   int   CRC32 of the type and payload
+ *
+ * Every snapshotEvery changes, or when snapshot() is called, the list is
+ * written in level 0 order to a new snapshot file, which replaces the old
+ * one by an atomic rename, and a new log is started. The snapshot records
+ * the number of that log, so the logs before it are deleted and never
+ * replayed again. The directory is synced after the rename and before the
+ * old log is deleted, since SET and REMOVE records name the entry by its
+ * position, and would be wrong if replayed on the old snapshot.
+ *
+ * Reads and navigation are done on list(). The list must not be changed
+ * through list(), or the changes will not be logged.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+
+public class DurableSkipQLinkList<K,V> {
+
+	private static final byte ADD = 1;			// Log record types
+	private static final byte SET = 2;
+	private static final byte REMOVE = 3;
+	private static final byte CLEAR = 4;
+	private static final int SNAPSHOT_MAGIC = 0x534B5153;	// "SKQS"
+	private static final String SNAPSHOT = "snapshot";
+	private static final String LOG = "wal.";
+
+	private SkipQLinkList<K,V> list;		// The list in memory
+	private final Comparator<K> comp;		// Its key comparator
+	private final Codec<K> keyCodec;		// Writes and reads the keys
+	private final Codec<V> valueCodec;		// Writes and reads the values
+	private final File dir;					// Holds the snapshot and logs
+	private final int batchSize;			// Changes per group commit
+	private final int snapshotEvery;		// Changes per snapshot, or 0
+
+	private FileChannel log;				// The log being written
+	private long logNumber;					// Its number
+	private final Buffer record = new Buffer();	// The record being made
+	private final DataOutputStream recordOut = new DataOutputStream(record);
+	private final Buffer pending = new Buffer();	// Records not yet written
+	private final CRC32 crc = new CRC32();
+	private int pendingCount;				// Changes in pending
+	private int sinceSnapshot;				// Changes since the snapshot
+
+// CONSTRUCTORS:
+//
+// 1.	Opens the list kept in the given directory, with the default key
+// comparator, a group commit every 64 changes, and a snapshot every
+// million changes. The directory is created if it does not exist.
+//
+	public DurableSkipQLinkList(String dirName, Codec<K> keyCodec,
+								Codec<V> valueCodec) throws IOException {
+		this(dirName, new KeyComparator<K>(), keyCodec, valueCodec,
+			 64, 1000000);
+	}
+
+// 2.	Opens the list kept in the given directory, which is created if
+// it does not exist. The latest snapshot is loaded, and the logs after
+// it are replayed; a torn record at the end of the last log is cut off.
+// A snapshotEvery of 0 means snapshots are only taken by snapshot().
+//
+	public DurableSkipQLinkList(String dirName, Comparator<K> comp,
+								Codec<K> keyCodec, Codec<V> valueCodec,
+								int batchSize, int snapshotEvery)
+			throws IOException {
+		if (batchSize < 1)
+			throw new IllegalArgumentException("batchSize must be positive");
+		this.comp = comp;
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		this.batchSize = batchSize;
+		this.snapshotEvery = snapshotEvery;
+		dir = new File(dirName);
+		dir.mkdirs();
+
+		logNumber = loadSnapshot();
+		while (new File(dir, LOG + (logNumber+1)).exists()) {
+			replay(logFile(logNumber), false);
+			logNumber++;
+		}
+		long valid = replay(logFile(logNumber), true);
+		log = FileChannel.open(logFile(logNumber).toPath(),
+							   StandardOpenOption.CREATE,
+							   StandardOpenOption.WRITE);
+		log.truncate(valid);
+		log.position(valid);
+		syncDirectory();				// The log, if it was created
+		list.seek(0);					// Current is not valid
+	}
+
+//
+// Private HELPER METHODS
+//
+// 1.	Returns the log file with the given number.
+//
+	private File logFile(long n) {
+		return new File(dir, LOG + n);
+	}
+
+// 2.	Starts a new log record of the given type in record.
+//
+	private void begin(byte type) throws IOException {
+		record.reset();
+		recordOut.writeByte(type);
+	}
+
+// 3.	Ends the record made in record, and adds it to the pending group.
+//
+	private void end() throws IOException {
+		crc.reset();
+		crc.update(record.array(), 0, record.size());
+		DataOutputStream out = new DataOutputStream(pending);
+		out.writeInt(record.size());
+		record.writeTo(out);
+		out.writeInt((int)crc.getValue());
+		pendingCount++;
+		sinceSnapshot++;
+	}
+
+// 4.	Called once the change of the last record has been made to the
+// list: the pending group is written to the log when it is full. It is
+// not done by end(), since a snapshot taken then would miss the change.
+//
+	private void done() throws IOException {
+		if (pendingCount >= batchSize) sync();
+	}
+
+// 5.	Writes the pending records to the log, and syncs it.
+//
+	private void flush() throws IOException {
+		if (pendingCount == 0) return;
+		ByteBuffer b = ByteBuffer.wrap(pending.array(), 0, pending.size());
+		while (b.hasRemaining())
+			log.write(b);
+		log.force(false);
+		pending.reset();
+		pendingCount = 0;
+	}
+
+// 6.	Loads the snapshot into a new list, or makes an empty list if
+// there is no snapshot. Returns the number of the first log written
+// after the snapshot, or 0.
+//
+	private long loadSnapshot() throws IOException {
+		File f = new File(dir, SNAPSHOT);
+		list = new SkipQLinkList<K,V>(comp);
+		if (!f.exists()) return 0;
+
+		CheckedInputStream check = new CheckedInputStream(
+			new BufferedInputStream(new FileInputStream(f)), new CRC32());
+		final DataInputStream in = new DataInputStream(check);
+		try {
+			if (in.readInt() != SNAPSHOT_MAGIC)
+				throw new IOException(f + " is not a snapshot");
+			long n = in.readLong();
+			final int count = in.readInt();
+			final SkipQLinkList<K,V> source = list;
+
+			// The entries are in level 0 order, so the list is built by
+			// one linear pass of fromSorted.
+			list = SkipQLinkList.fromSorted(
+				new Iterator<SkipQLinkList<K,V>.Entry>() {
+					private int i = 0;
+					public boolean hasNext() {return (i < count);}
+					public SkipQLinkList<K,V>.Entry next() {
+						i++;
+						try {
+							K k = keyCodec.read(in);
+							return source.new Entry(k, valueCodec.read(in));
+						}
+						catch (IOException ex) {
+							throw new UncheckedIOException(ex);
+						}
+					}
+				}, comp, false);
+			long sum = check.getChecksum().getValue();
+			if (in.readInt() != (int)sum)
+				throw new IOException(f + " is corrupt");
+			return n;
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+		finally {
+			in.close();
+		}
+	}
+
+// 7.	Applies the records of the given log file to the list, and
+// returns the length of the part of the file holding whole, valid
+// records. A file that does not exist is empty. If last is false, an
+// invalid record is an error; the last log may end with a torn record,
+// left by a crash while it was written.
+//
+	private long replay(File f, boolean last) throws IOException {
+		long valid = 0;
+		if (!f.exists()) return 0;
+
+		DataInputStream in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(f)));
+		try {
+			while (true) {
+				int length;
+				byte[] body;
+				try {
+					length = in.readInt();
+					if ((length < 1) || (length > f.length()))
+						break;
+					body = new byte[length];
+					in.readFully(body);
+					crc.reset();
+					crc.update(body, 0, length);
+					if (in.readInt() != (int)crc.getValue())
+						break;
+				}
+				catch (EOFException ex) {
+					break;
+				}
+				apply(new DataInputStream(new ByteArrayInputStream(body)));
+				valid += 8 + length;
+			}
+		}
+		finally {
+			in.close();
+		}
+		if (!last && (valid != f.length()))
+			throw new IOException(f + " has an invalid record at " + valid);
+		return valid;
+	}
+
+// 8.	Makes the change of one log record to the list.
+//
+	private void apply(DataInputStream in) throws IOException {
+		switch (in.readByte()) {
+		  case ADD:
+			K key = keyCodec.read(in);
+			list.skipAdd(key, valueCodec.read(in));
+			break;
+		  case SET:
+			list.seek(in.readInt());
+			list.set(valueCodec.read(in));
+			break;
+		  case REMOVE:
+			list.seek(in.readInt());
+			list.skipRemove();
+			break;
+		  case CLEAR:
+			list.clear();
+			break;
+		  default:
+			throw new IOException("unknown log record");
+		}
+	}
+
+//
+// PROTECTED METHODS
+//
+// Postcondition:
+// The entries of the directory are synced, so that a rename, delete or
+// new file in it survives a crash, as syncing a file does not sync its
+// directory entry. snapshot() calls it after the rename of the snapshot,
+// before the old log is deleted, and again once the new log is made. On
+// a system where a directory cannot be opened, such as Windows, nothing
+// is done.
+//
+	protected void syncDirectory() throws IOException {
+		FileChannel d;
+
+		try {
+			d = FileChannel.open(dir.toPath(), StandardOpenOption.READ);
+		}
+		catch (IOException ex) {
+			return;
+		}
+		try {
+			d.force(true);
+		}
+		finally {
+			d.close();
+		}
+	}
+
+//
+// PUBLIC METHODS
+//
+// Postcondition:
+// Returns the list in memory, for reading and navigation only.
+//
+	public SkipQLinkList<K,V> list() {return list;}
+
+// Postcondition:
+// The same as skipAdd of the list, after the change has been logged.
+//
+	public SkipQLinkList<K,V>.Entry skipAdd(K key, V value)
+			throws IOException {
+		begin(ADD);
+		keyCodec.write(key, recordOut);
+		valueCodec.write(value, recordOut);
+		end();
+		SkipQLinkList<K,V>.Entry e = list.skipAdd(key, value);
+		done();
+		return e;
+	}
+
+// Postcondition:
+// The same as set of the list, after the change has been logged.
+//
+	public SkipQLinkList<K,V>.Entry set(V newValue) throws IOException {
+		if (!list.isElement()) return null;
+		begin(SET);
+		recordOut.writeInt(list.getPosition());
+		valueCodec.write(newValue, recordOut);
+		end();
+		SkipQLinkList<K,V>.Entry e = list.set(newValue);
+		done();
+		return e;
+	}
+
+// Postcondition:
+// The same as skipRemove of the list, after the change has been logged.
+//
+	public void skipRemove() throws IOException {
+		if (!list.isElement()) return;
+		begin(REMOVE);
+		recordOut.writeInt(list.getPosition());
+		end();
+		list.skipRemove();
+		done();
+	}
+
+// Postcondition:
+// The same as clear of the list, after the change has been logged.
+//
+	public void clear() throws IOException {
+		begin(CLEAR);
+		end();
+		list.clear();
+		done();
+	}
+
+// Postcondition:
+// All the changes made so far are written and synced to the log. A
+// snapshot is taken if snapshotEvery changes were made since the last.
+//
+	public void sync() throws IOException {
+		flush();
+		if ((snapshotEvery > 0) && (sinceSnapshot >= snapshotEvery))
+			snapshot();
+	}
+
+// Postcondition:
+// The whole list is written to a new snapshot, which replaces the old
+// one, and a new, empty log is started; the older logs are deleted.
+// Current is not changed.
+//
+	public void snapshot() throws IOException {
+		File tmp = new File(dir, SNAPSHOT + ".tmp");
+		FileOutputStream file = new FileOutputStream(tmp);
+		CheckedOutputStream check = new CheckedOutputStream(
+			new BufferedOutputStream(file), new CRC32());
+		DataOutputStream out = new DataOutputStream(check);
+
+		flush();
+		try {
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeLong(logNumber + 1);
+			out.writeInt(list.size());
+			for (SkipQLinkList<K,V>.Entry e : list) {
+				keyCodec.write(e.getKey(), out);
+				valueCodec.write(e.getValue(), out);
+			}
+			out.writeInt((int)check.getChecksum().getValue());
+			out.flush();
+			file.getFD().sync();
+		}
+		finally {
+			out.close();
+		}
+		Files.move(tmp.toPath(), new File(dir, SNAPSHOT).toPath(),
+				   StandardCopyOption.REPLACE_EXISTING,
+				   StandardCopyOption.ATOMIC_MOVE);
+		syncDirectory();				// The rename, before the log goes
+
+		log.close();
+		logFile(logNumber).delete();
+		logNumber++;
+		log = FileChannel.open(logFile(logNumber).toPath(),
+							   StandardOpenOption.CREATE,
+							   StandardOpenOption.WRITE,
+							   StandardOpenOption.TRUNCATE_EXISTING);
+		syncDirectory();				// The entry of the new log
+		sinceSnapshot = 0;
+	}
+
+// Postcondition:
+// All the changes are synced, and the log is closed. The list in
+// memory may still be read.
+//
+	public void close() throws IOException {
+		flush();
+		log.close();
+	}
+
+
+// INNER CLASSES:
+//
+// 1. Buffer Inner Class:
+//
+// PROVIDES: A ByteArrayOutputStream whose bytes can be read in place.
+//
+	private static class Buffer extends ByteArrayOutputStream {
+		public byte[] array() {return buf;}
+	}
+}
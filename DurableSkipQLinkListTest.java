@@ -0,0 +1,206 @@
+/**
+ * @(#)DurableSkipQLinkListTest.java
+ *
+ * A test program for the DurableSkipQLinkList class. It makes random
+ * changes (skipAdd, set, skipRemove and clear) with group commits and
+ * automatic snapshots, and checks that reopening the directory gives back
+ * the list that was closed. It then simulates crashes: a group that was
+ * never synced must be lost as a whole, and a torn record at the end of
+ * the log, or a record whose CRC does not match, must end the replay
+ * without harm to the records before it. Last, it checks that a snapshot
+ * syncs the directory after the rename, before the old log is deleted.
+ * The logs and snapshots are made in a new temporary directory, which is
+ * deleted at the end.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class DurableSkipQLinkListTest {
+
+  public static void main(String[] args) throws IOException {
+	File dir = Files.createTempDirectory("durable").toFile();
+	try {
+	  recover(dir, 10000, 1);
+	  System.out.println("recover: ok");
+	  unsynced(dir);
+	  System.out.println("unsynced group and torn record: ok");
+	  badCrc(dir);
+	  System.out.println("bad CRC: ok");
+	  snapshotOrder(dir);
+	  System.out.println("snapshot file order: ok");
+	}
+	finally {
+	  for (File f : dir.listFiles()) f.delete();
+	  dir.delete();
+	}
+  }
+
+  // Postcondition: n random changes have been made with groups of 10 and
+  // a snapshot every 3,000 changes, and the list read back after close()
+  // is the list that was closed.
+  //
+  public static void recover(File dir, int n, long seed) throws IOException {
+	DurableSkipQLinkList<Integer,String> w = open(dir);
+	Random r = new Random(seed);
+
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(1000);
+	  switch (r.nextInt(8)) {
+		case 0: w.list().skipSearch(k);
+				if (w.list().isElement()) w.set("s" + i);
+		  break;
+		case 1: w.list().skipSearch(k);
+				if (w.list().isElement()) w.skipRemove();
+		  break;
+		default: w.skipAdd(k, (i % 5 == 0)? null : "v" + i);
+	  }
+	  if (i == n - 2000) w.clear();
+	}
+	List<String> expected = entries(w.list());
+	w.close();
+
+	w = open(dir);
+	check(entries(w.list()).equals(expected), "the list read back");
+	w.close();
+  }
+
+  // Postcondition: A synced change has been kept, and a change still
+  // waiting for its group has been lost, when the log was left with a torn
+  // record at its end and the list was not closed.
+  //
+  public static void unsynced(File dir) throws IOException {
+	DurableSkipQLinkList<Integer,String> w = open(dir);
+	w.skipAdd(1, "synced");
+	w.sync();
+	List<String> expected = entries(w.list());
+	w.skipAdd(2, "pending");				// Not synced: a group is 10
+	appendToLog(dir, new byte[] {0, 0, 0, 20, 1, 2, 3});
+
+	DurableSkipQLinkList<Integer,String> w2 = open(dir);	// After a crash
+	check(entries(w2.list()).equals(expected), "replay after a torn record");
+	w2.skipAdd(3, "after");
+	w2.close();
+	expected = entries(w2.list());
+
+	w2 = open(dir);
+	check(entries(w2.list()).equals(expected), "changes after the torn record");
+	w2.close();
+  }
+
+  // Postcondition: A synced record whose last byte was changed has been
+  // dropped by the replay, with nothing after it.
+  //
+  public static void badCrc(File dir) throws IOException {
+	DurableSkipQLinkList<Integer,String> w = open(dir);
+	w.snapshot();
+	List<String> expected = entries(w.list());
+	w.skipAdd(4, "corrupt");
+	w.close();
+
+	File log = lastLog(dir);
+	try (RandomAccessFile f = new RandomAccessFile(log, "rw")) {
+	  f.seek(f.length() - 1);
+	  int b = f.read();
+	  f.seek(f.length() - 1);
+	  f.write(b ^ 0xFF);
+	}
+	w = open(dir);
+	check(entries(w.list()).equals(expected), "replay of a bad CRC");
+	w.close();
+  }
+
+  // Postcondition: A snapshot has synced the directory twice: after the
+  // new snapshot took the place of the old one, while the old log was
+  // still there, and after the new log was made, with the old one gone.
+  //
+  public static void snapshotOrder(File dir) throws IOException {
+	Recorder w = new Recorder(dir);
+	w.skipAdd(5, "five");
+	long n = logNumber(lastLog(dir));
+
+	w.syncs = new ArrayList<List<String>>();
+	w.snapshot();
+	check(w.syncs.size() == 2, "syncs of the directory: " + w.syncs.size());
+	List<String> first = w.syncs.get(0), second = w.syncs.get(1);
+	check(first.contains("snapshot") && !first.contains("snapshot.tmp"),
+		  "first sync: the snapshot is not in place");
+	check(first.contains("wal." + n) && !first.contains("wal." + (n + 1)),
+		  "first sync: the old log is gone, or the new one made");
+	check(!second.contains("wal." + n) && second.contains("wal." + (n + 1)),
+		  "second sync: the logs");
+	w.close();
+  }
+
+  // A list that records the files of its directory at each sync of it.
+  //
+  public static class Recorder extends DurableSkipQLinkList<Integer,String> {
+	final File dir;
+	List<List<String>> syncs;			// Null while being opened
+
+	Recorder(File dir) throws IOException {
+	  super(dir.getPath(), new KeyComparator<Integer>(), Codec.INT,
+			Codec.STRING, 10, 0);
+	  this.dir = dir;
+	}
+
+	protected void syncDirectory() throws IOException {
+	  if (syncs != null) syncs.add(Arrays.asList(dir.list()));
+	  super.syncDirectory();
+	}
+  }
+
+  // Postcondition: Returns the list kept in the directory, with groups of
+  // 10 changes and a snapshot every 3,000.
+  //
+  public static DurableSkipQLinkList<Integer,String> open(File dir)
+		throws IOException {
+	return new DurableSkipQLinkList<Integer,String>(dir.getPath(),
+		new KeyComparator<Integer>(), Codec.INT, Codec.STRING, 10, 3000);
+  }
+
+  // Postcondition: Returns the entries of the list as strings, in order.
+  //
+  public static List<String> entries(SkipQLinkList<Integer,String> s) {
+	List<String> l = new ArrayList<String>();
+	for (Object e : s) l.add(e.toString());
+	return l;
+  }
+
+  // Postcondition: Returns the log with the greatest number.
+  //
+  public static File lastLog(File dir) {
+	File last = null;
+	for (File f : dir.listFiles())
+	  if (f.getName().startsWith("wal.") && ((last == null) ||
+		  (logNumber(f) > logNumber(last))))
+		last = f;
+	return last;
+  }
+
+  public static long logNumber(File f) {
+	return Long.parseLong(f.getName().substring(4));
+  }
+
+  // Postcondition: The bytes have been written at the end of the last log.
+  //
+  public static void appendToLog(File dir, byte[] bytes) throws IOException {
+	try (FileOutputStream out = new FileOutputStream(lastLog(dir), true)) {
+	  out.write(bytes);
+	}
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
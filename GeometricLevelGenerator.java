@@ -0,0 +1,121 @@
+/**
+ * @(#)GeometricLevelGenerator.java
+ *
+ * The usual skip list level generator: a tower is promoted to each next
+ * level with probability p, so heights follow a geometric distribution,
+ * and a level holds about p times the nodes of the level below it. A
+ * smaller p gives shorter towers, and so fewer nodes, at the cost of more
+ * steps along each level in a search.
+ *
+ * A whole height is drawn from one random long. When p is 1/2, 1/4, 1/8
+ * and so on (p = 2^-k), the height is the number of trailing zero bits of
+ * the long divided by k; otherwise it is found by inverting the geometric
+ * distribution at a uniform number made from the long. The random numbers
+ * come from a java.util.SplittableRandom, which may be given a seed so
+ * that the same heights are drawn on every run. A generator serialized
+ * with its list gets a new random seed when it is read back.
+ *
+ * Heights are capped at 1 + log base 1/p of (count + 1), the number of
+ * levels a list of count entries needs, so a rare tall tower does not add
+ * levels that no search would use.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.SplittableRandom;
+
+
+public class GeometricLevelGenerator implements LevelGenerator {
+
+	public static final double HALF = 0.5;			// The classic choice
+	public static final double QUARTER = 0.25;		// Fewer, shorter towers
+	public static final double INVERSE_E = 1/Math.E;	// The search optimum
+
+	private final double p;				// The promotion probability
+	private final int shift;			// k when p is 2^-k, otherwise 0
+	private final double logP;			// Math.log(p)
+	private transient SplittableRandom random;	// Reseeded when read
+	private int capCount = -1;			// The count cap was found for
+	private int capLimit;				// The count where cap grows
+	private int cap;					// The greatest height allowed
+
+// CONSTRUCTORS:
+//
+// 1.	A generator with p = 1/2, seeded at random
+//
+	public GeometricLevelGenerator() {
+		this(HALF);
+	}
+
+// 2.	A generator with the given promotion probability, seeded at random
+//
+	public GeometricLevelGenerator(double p) {
+		this(p, new SplittableRandom());
+	}
+
+// 3.	A generator with the given promotion probability and seed, which
+// gives the same heights on every run
+//
+	public GeometricLevelGenerator(double p, long seed) {
+		this(p, new SplittableRandom(seed));
+	}
+
+	private GeometricLevelGenerator(double p, SplittableRandom random) {
+		if (!(p > 0 && p < 1))
+			throw new IllegalArgumentException("p must be between 0 and 1");
+		this.p = p;
+		this.random = random;
+		logP = Math.log(p);
+		int k = (int)Math.round(-Math.log(p) / Math.log(2));
+		shift = (k >= 1 && Math.scalb(1.0, -k) == p)? k : 0;
+	}
+
+// Postcondition: The generator is read back with a new random seed.
+//
+	private void readObject(java.io.ObjectInputStream in)
+			throws java.io.IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		random = new SplittableRandom();
+	}
+
+// Postcondition: Returns a generator with the same promotion probability,
+// whose random numbers come from a SplittableRandom split from this one.
+//
+	public LevelGenerator split() {
+		return new GeometricLevelGenerator(p, random.split());
+	}
+
+// Postcondition: Returns the promotion probability.
+//
+	public double getP() {return p;}
+
+// Postcondition: Returns the height of a new tower, for a list of count
+// entries, drawn from one random long and capped by the list size.
+//
+	public int nextHeight(int count) {
+		long x = random.nextLong();
+		int h;
+
+		if (shift > 0)
+			h = Long.numberOfTrailingZeros(x) / shift;
+		else {
+			double u = 1.0 - (x >>> 11) * 0x1.0p-53;		// In (0, 1]
+			h = (int)(Math.log(u) / logP);
+		}
+		return Math.min(h, cap(count));
+	}
+
+// Postcondition: Returns 1 + log base 1/p of (count + 1), rounded up.
+// It is worked out again only when count passes the point where the
+// result changes.
+//
+	private int cap(int count) {
+		if ((count < capCount) || (count >= capLimit)) {
+			cap = 1 + (int)Math.ceil(Math.log(count + 1.0) / -logP);
+			capLimit = (int)Math.min(Integer.MAX_VALUE,
+									 Math.floor(Math.pow(1/p, cap - 1)));
+			capCount = count;
+		}
+		return cap;
+	}
+}
@@ -0,0 +1,229 @@
+/**
+ * @(#)KeyCodec.java
+ *
+ * Encodes keys of type K as byte arrays whose unsigned lexicographic order
+ * is the order of the keys, and decodes them back. A skip list keyed by the
+ * encoded arrays, with a KeyComparator, compares two keys with one call of
+ * Arrays.compareUnsigned, in place of a chain of compareTo calls on the
+ * fields of a composite key; and the same arrays are what its serialized
+ * form, and a DurableSkipQLinkList with Codec.BYTES, store.
+ *
+ * A composite key is encoded by writing its fields in order to a Writer,
+ * and decoded by reading them back in the same order from a Reader. Each
+ * field is written so that comparing the bytes compares the field first,
+ * and the following fields only when it is equal:
+ *
+ *   int, long  big endian, with the sign bit flipped, so that negative
+ *              numbers come first
+ *   double     the IEEE bits, with the sign bit flipped for positive
+ *              numbers and all bits flipped for negative ones
+ *   String     the UTF-8 bytes, with each 0 byte written as 0 0xFF, and
+ *              ended by 0 1, so a String comes before the longer ones it
+ *              starts; the order is that of the code points, which is
+ *              not the order of String.compareTo for chars from U+E000
+ *              up against supplementary ones, nor that of KeyComparator,
+ *              which ignores case
+ *   byte[]     as a String, without the UTF-8 step
+ *
+ * Any field may be written in descending order, which flips all its bits.
+ * That reverses its order because no encoding of a field is the start of
+ * another encoding of the same type.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+public interface KeyCodec<K> extends Serializable {
+
+// Postcondition: Returns the encoding of the key. For any two keys, the
+// encodings compare by Arrays.compareUnsigned as the keys are ordered.
+//
+	byte[] encode(K key);
+
+// Postcondition: Returns the key whose encoding is the given array.
+//
+	K decode(byte[] bytes);
+
+// Postcondition: Returns a Codec that writes a key as the length of its
+// encoding followed by the encoding, so that DurableSkipQLinkList logs
+// and snapshots hold the encoded keys.
+//
+	default Codec<K> codec() {
+		final KeyCodec<K> keys = this;
+		return new Codec<K>() {
+			public void write(K value, DataOutput out) throws IOException {
+				Codec.BYTES.write(keys.encode(value), out);
+			}
+			public K read(DataInput in) throws IOException {
+				return keys.decode(Codec.BYTES.read(in));
+			}
+		};
+	}
+
+// Ints in ascending order.
+//
+	KeyCodec<Integer> INT = new KeyCodec<Integer>() {
+		public byte[] encode(Integer key) {
+			return new Writer(4).writeInt(key, false).toByteArray();
+		}
+		public Integer decode(byte[] bytes) {
+			return new Reader(bytes).readInt(false);
+		}
+	};
+
+// Longs in ascending order.
+//
+	KeyCodec<Long> LONG = new KeyCodec<Long>() {
+		public byte[] encode(Long key) {
+			return new Writer(8).writeLong(key, false).toByteArray();
+		}
+		public Long decode(byte[] bytes) {
+			return new Reader(bytes).readLong(false);
+		}
+	};
+
+// Strings in ascending order of their code points.
+//
+	KeyCodec<String> STRING = new KeyCodec<String>() {
+		public byte[] encode(String key) {
+			return new Writer(key.length() + 2).writeString(key, false)
+											   .toByteArray();
+		}
+		public String decode(byte[] bytes) {
+			return new Reader(bytes).readString(false);
+		}
+	};
+
+// 1. Writer Class:
+//
+// PROVIDES: A growing byte array that the fields of a key are written to,
+//     each in ascending or descending order, as described above.
+//
+	class Writer {
+		private byte[] buf;				// The bytes written so far
+		private int n;					// Their number
+
+		public Writer() {this(32);}
+
+		public Writer(int capacity) {buf = new byte[Math.max(capacity, 8)];}
+
+		public Writer writeInt(int v, boolean descending) {
+			v ^= Integer.MIN_VALUE;
+			if (descending) v = ~v;
+			room(4);
+			for (int s=24; s>=0; s-=8) buf[n++] = (byte)(v >>> s);
+			return this;
+		}
+
+		public Writer writeLong(long v, boolean descending) {
+			v ^= Long.MIN_VALUE;
+			if (descending) v = ~v;
+			room(8);
+			for (int s=56; s>=0; s-=8) buf[n++] = (byte)(v >>> s);
+			return this;
+		}
+
+		public Writer writeDouble(double v, boolean descending) {
+			long b = Double.doubleToLongBits(v);
+			b = (b < 0)? ~b : (b ^ Long.MIN_VALUE);
+			return writeLong(b ^ Long.MIN_VALUE, descending);
+		}
+
+		public Writer writeString(String s, boolean descending) {
+			return writeBytes(s.getBytes(StandardCharsets.UTF_8), descending);
+		}
+
+		public Writer writeBytes(byte[] b, boolean descending) {
+			int flip = descending? 0xFF : 0;
+
+			room(2 * b.length + 2);
+			for (byte x : b) {
+				if (x == 0) {
+					buf[n++] = (byte) flip;				// 0 is written 0 0xFF
+					buf[n++] = (byte)(0xFF ^ flip);
+				}
+				else
+					buf[n++] = (byte)(x ^ flip);
+			}
+			buf[n++] = (byte) flip;						// The end, 0 1
+			buf[n++] = (byte)(1 ^ flip);
+			return this;
+		}
+
+		// Returns a copy of the bytes written.
+		public byte[] toByteArray() {return Arrays.copyOf(buf, n);}
+
+		// Empties the writer, so it may be used for another key.
+		public Writer reset() {
+			n = 0;
+			return this;
+		}
+
+		private void room(int more) {
+			if (n + more > buf.length)
+				buf = Arrays.copyOf(buf, Math.max(2 * buf.length, n + more));
+		}
+	}
+
+// 2. Reader Class:
+//
+// PROVIDES: Reads the fields of a key back from its encoding, in the
+//     order and with the directions they were written in.
+//
+	class Reader {
+		private final byte[] buf;		// The encoding
+		private int pos;				// The next byte to read
+
+		public Reader(byte[] bytes) {buf = bytes;}
+
+		public int readInt(boolean descending) {
+			int v = 0;
+			for (int i=0; i<4; ++i) v = (v << 8) | (buf[pos++] & 0xFF);
+			if (descending) v = ~v;
+			return v ^ Integer.MIN_VALUE;
+		}
+
+		public long readLong(boolean descending) {
+			long v = 0;
+			for (int i=0; i<8; ++i) v = (v << 8) | (buf[pos++] & 0xFF);
+			if (descending) v = ~v;
+			return v ^ Long.MIN_VALUE;
+		}
+
+		public double readDouble(boolean descending) {
+			long b = readLong(descending) ^ Long.MIN_VALUE;
+			b = (b < 0)? (b ^ Long.MIN_VALUE) : ~b;
+			return Double.longBitsToDouble(b);
+		}
+
+		public String readString(boolean descending) {
+			return new String(readBytes(descending), StandardCharsets.UTF_8);
+		}
+
+		public byte[] readBytes(boolean descending) {
+			int flip = descending? 0xFF : 0;
+			byte[] out = new byte[16];
+			int k = 0, x;
+
+			while (true) {
+				x = (buf[pos++] ^ flip) & 0xFF;
+				if (x == 0) {
+					if (((buf[pos++] ^ flip) & 0xFF) == 1) break;	// The end
+				}											// Else an escaped 0
+				if (k == out.length) out = Arrays.copyOf(out, 2 * k);
+				out[k++] = (byte) x;
+			}
+			return Arrays.copyOf(out, k);
+		}
+
+		// Returns true if all the bytes have been read.
+		public boolean atEnd() {return pos == buf.length;}
+	}
+}
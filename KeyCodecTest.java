@@ -0,0 +1,261 @@
+/**
+ * @(#)KeyCodecTest.java
+ *
+ * A test program for KeyCodec. For random pairs of keys of each kind, it
+ * checks that the encodings compare by Arrays.compareUnsigned as the keys
+ * themselves compare, and that decoding an encoding gives back the key:
+ * ints and longs (with negative values and the extremes), Strings with
+ * embedded zeros and chars outside ASCII, and composite keys of a String,
+ * an int in descending order, a long and a double. It then checks the
+ * Codec of a KeyCodec, Codec.BYTES, and the serialized form of a list
+ * keyed by encoded byte arrays.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.io.*;
+import java.util.*;
+
+public class KeyCodecTest {
+
+  static Random r = new Random(24);
+
+  public static void main(String[] args)
+		throws IOException, ClassNotFoundException {
+	ints(100000);
+	System.out.println("ints: ok");
+	longs(100000);
+	System.out.println("longs: ok");
+	strings(100000);
+	System.out.println("strings: ok");
+	composites(100000);
+	System.out.println("composite keys: ok");
+	codecs(1000);
+	System.out.println("codec() and Codec.BYTES: ok");
+	serialization(20000);
+	System.out.println("serialized byte[] keys: ok");
+  }
+
+  // Postcondition: n random pairs of ints, from a small range around 0
+  // and from the whole range, with the extremes, have been checked.
+  //
+  public static void ints(int n) {
+	int[] edges = {0, -1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+
+	for (int i=0; i<n; ++i) {
+	  int a = (i < 25)? edges[i / 5] : nextInt();
+	  int b = (i < 25)? edges[i % 5] : nextInt();
+	  byte[] ea = KeyCodec.INT.encode(a), eb = KeyCodec.INT.encode(b);
+	  check(sign(Arrays.compareUnsigned(ea, eb)) == sign(Integer.compare(a, b)),
+			"order of " + a + " and " + b);
+	  check(KeyCodec.INT.decode(ea) == a, "decode of " + a);
+	}
+  }
+
+  // Postcondition: n random pairs of longs have been checked, as ints.
+  //
+  public static void longs(int n) {
+	long[] edges = {0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE};
+
+	for (int i=0; i<n; ++i) {
+	  long a = (i < 25)? edges[i / 5] : nextLong();
+	  long b = (i < 25)? edges[i % 5] : nextLong();
+	  byte[] ea = KeyCodec.LONG.encode(a), eb = KeyCodec.LONG.encode(b);
+	  check(sign(Arrays.compareUnsigned(ea, eb)) == sign(Long.compare(a, b)),
+			"order of " + a + " and " + b);
+	  check(KeyCodec.LONG.decode(ea) == a, "decode of " + a);
+	}
+  }
+
+  // Postcondition: n random pairs of Strings, made of a few chars with 0
+  // among them, so that one often starts the other, have been checked
+  // against the order of their code points.
+  //
+  public static void strings(int n) {
+	for (int i=0; i<n; ++i) {
+	  String a = nextString(), b = (r.nextInt(4) == 0)? a + nextString() :
+		  nextString();
+	  byte[] ea = KeyCodec.STRING.encode(a), eb = KeyCodec.STRING.encode(b);
+	  check(sign(Arrays.compareUnsigned(ea, eb)) == sign(codePoints(a, b)),
+			"order of " + show(a) + " and " + show(b));
+	  check(KeyCodec.STRING.decode(ea).equals(a), "decode of " + show(a));
+	}
+  }
+
+  // Postcondition: n random pairs of composite keys have been checked:
+  // a String, an int in descending order, a long and a double, written to
+  // a Writer and read back from a Reader. The fields are drawn from few
+  // values, so that the later fields are often compared.
+  //
+  public static void composites(int n) {
+	double[] doubles = {0.0, -0.0, 1.5, -1.5, Double.MIN_VALUE,
+						Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+						Double.NaN, -Double.MAX_VALUE};
+	KeyCodec.Writer w = new KeyCodec.Writer();
+
+	for (int i=0; i<n; ++i) {
+	  Object[] a = {(r.nextInt(3) == 0)? "" : "k\0" + r.nextInt(3),
+					r.nextInt(5) - 2, (long) r.nextInt(3) - 1,
+					doubles[r.nextInt(doubles.length)]};
+	  Object[] b = {(r.nextInt(3) == 0)? "" : "k\0" + r.nextInt(3),
+					r.nextInt(5) - 2, (long) r.nextInt(3) - 1,
+					doubles[r.nextInt(doubles.length)]};
+	  byte[] ea = write(w, a), eb = write(w, b);
+	  check(sign(Arrays.compareUnsigned(ea, eb)) == sign(compareFields(a, b)),
+			"order of " + Arrays.toString(a) + " and " + Arrays.toString(b));
+
+	  KeyCodec.Reader in = new KeyCodec.Reader(ea);
+	  Object[] back = {in.readString(false), in.readInt(true),
+					   in.readLong(false), in.readDouble(false)};
+	  check(in.atEnd() && (compareFields(a, back) == 0),
+			"decode of " + Arrays.toString(a));
+	}
+  }
+
+  // Postcondition: n random Strings have been written by the Codec of
+  // KeyCodec.STRING, and n random byte arrays, and null, by Codec.BYTES,
+  // and read back the same.
+  //
+  public static void codecs(int n) throws IOException {
+	Codec<String> strings = KeyCodec.STRING.codec();
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream out = new DataOutputStream(bytes);
+	List<String> keys = new ArrayList<String>();
+	List<byte[]> arrays = new ArrayList<byte[]>();
+
+	for (int i=0; i<n; ++i) {
+	  keys.add(nextString());
+	  strings.write(keys.get(i), out);
+	  byte[] b = new byte[r.nextInt(20)];
+	  r.nextBytes(b);
+	  arrays.add((i == 0)? null : b);
+	  Codec.BYTES.write(arrays.get(i), out);
+	}
+
+	DataInputStream in = new DataInputStream(
+		new ByteArrayInputStream(bytes.toByteArray()));
+	for (int i=0; i<n; ++i) {
+	  check(strings.read(in).equals(keys.get(i)), "codec() of a String");
+	  check(Arrays.equals(Codec.BYTES.read(in), arrays.get(i)),
+			"Codec.BYTES");
+	}
+	check(in.read() == -1, "bytes left over");
+  }
+
+  // Postcondition: A list keyed by the encodings of n random longs, with
+  // a KeyComparator, has been serialized and read back, and has the same
+  // keys, in the order of the longs, and the same values.
+  //
+  @SuppressWarnings("unchecked")
+  public static void serialization(int n)
+		throws IOException, ClassNotFoundException {
+	SkipQLinkList<byte[],Long> s =
+		new SkipQLinkList<byte[],Long>(new KeyComparator<byte[]>());
+	TreeMap<Long,Long> model = new TreeMap<Long,Long>();
+
+	for (int i=0; i<n; ++i) {
+	  long k = nextLong();
+	  if (model.containsKey(k)) continue;
+	  s.skipAdd(KeyCodec.LONG.encode(k), (long) i);
+	  model.put(k, (long) i);
+	}
+
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+	  out.writeObject(s);
+	}
+	try (ObjectInputStream in = new ObjectInputStream(
+		   new ByteArrayInputStream(bytes.toByteArray()))) {
+	  s = (SkipQLinkList<byte[],Long>) in.readObject();
+	}
+
+	check(s.size() == model.size(), "size");
+	Iterator<Map.Entry<Long,Long>> it = model.entrySet().iterator();
+	for (SkipQLinkList<byte[],Long>.Entry e : s) {
+	  Map.Entry<Long,Long> m = it.next();
+	  check((KeyCodec.LONG.decode(e.getKey()) == m.getKey().longValue())
+			&& e.getValue().equals(m.getValue()), "entry " + m);
+	}
+	long k = model.firstKey();
+	check(s.get(KeyCodec.LONG.encode(k)).getValue().equals(model.get(k)),
+		  "get of a key read back");
+  }
+
+  // Postcondition: Returns the encoding of the composite key, written
+  // with the writer, which is emptied first.
+  //
+  public static byte[] write(KeyCodec.Writer w, Object[] key) {
+	return w.reset().writeString((String) key[0], false)
+			.writeInt((Integer) key[1], true)
+			.writeLong((Long) key[2], false)
+			.writeDouble((Double) key[3], false).toByteArray();
+  }
+
+  // Postcondition: Returns the order of two composite keys: by the code
+  // points of the String, then by the int descending, the long, and the
+  // double as Double.compare orders them.
+  //
+  public static int compareFields(Object[] a, Object[] b) {
+	int c = codePoints((String) a[0], (String) b[0]);
+	if (c == 0) c = Integer.compare((Integer) b[1], (Integer) a[1]);
+	if (c == 0) c = Long.compare((Long) a[2], (Long) b[2]);
+	if (c == 0) c = Double.compare((Double) a[3], (Double) b[3]);
+	return c;
+  }
+
+  // Postcondition: Returns the order of the two Strings by their code
+  // points.
+  //
+  public static int codePoints(String a, String b) {
+	return Arrays.compare(a.codePoints().toArray(), b.codePoints().toArray());
+  }
+
+  // Postcondition: Returns a String of 0 to 5 chars: 0, 1, 'a', 'b', a
+  // char outside ASCII, one just before the surrogates, or a
+  // supplementary char.
+  //
+  public static String nextString() {
+	String[] chars = {"\0", "\1", "a", "b", "\u00e9", "\ud7ff",
+					  new String(Character.toChars(0x1F600))};
+	StringBuilder sb = new StringBuilder();
+	for (int i=r.nextInt(6); i>0; --i)
+	  sb.append(chars[r.nextInt(chars.length)]);
+	return sb.toString();
+  }
+
+  // Postcondition: Returns a random int, from a small range around 0 half
+  // of the time.
+  //
+  public static int nextInt() {
+	return r.nextBoolean()? r.nextInt(21) - 10 : r.nextInt();
+  }
+
+  // Postcondition: Returns a random long, as nextInt does.
+  //
+  public static long nextLong() {
+	return r.nextBoolean()? r.nextInt(21) - 10 : r.nextLong();
+  }
+
+  // Postcondition: Returns the String with its chars below 32 shown as
+  // escapes.
+  //
+  public static String show(String s) {
+	StringBuilder sb = new StringBuilder("\"");
+	for (char ch : s.toCharArray())
+	  sb.append((ch < 32)? "\\" + (int) ch : String.valueOf(ch));
+	return sb.append('"').toString();
+  }
+
+  public static int sign(int c) {return Integer.signum(c);}
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
@@ -1,32 +1,79 @@
-/**
- * @(#)KeyComparator.java
- *
- * PROVIDES: Special comparator objects for generic keys in doubly
- *     linked skip lists, with special key, -OO and +OO. It implements
- *     the java.util.Comparator interface and the compare method, and
- *     assumes that keys other than the special keys -OO and +OO are
- *     comparable through overloading the compareTo method of the
- *     Comparable interface.
- *
- * @author Dr. Abdulghani M. Al-Qasimi
- * @version 1.00 2013/10/27
- */
-
-import java.util.Comparator;
-import java.io.Serializable;
-
-	public class KeyComparator<K> implements Comparator<K>, Serializable {
-
-	private static final String PLUS_INF  = "+OO";
-	private static final String MINUS_INF = "-OO";
-
-	public int compare(K a, K b) throws ClassCastException {
-		if (a.toString() == MINUS_INF) return -1;
-		if (b.toString() == MINUS_INF) return +1;
-		if (a.toString() == PLUS_INF) return +1;
-		if (b.toString() == PLUS_INF) return -1;
-		if (a instanceof String && b instanceof String)
-			return ((String)a).compareToIgnoreCase((String)b);
-		return ((Comparable<K>) a).compareTo(b);
-	}
-}
\ No newline at end of file
+/**
+ * @(#)KeyComparator.java
+ *
+ * PROVIDES: Special comparator objects for generic keys in doubly
+ *     linked skip lists. It implements the java.util.Comparator
+ *     interface and the compare method, and assumes that the keys
+ *     are comparable through overloading the compareTo method of the
+ *     Comparable interface. String keys are compared ignoring case, and
+ *     byte array keys, such as those made by a KeyCodec, as unsigned
+ *     bytes in lexicographic order.
+ *
+ *     The skip lists recognise their special keys, -OO and +OO, by
+ *     the identity of the header and trailer nodes, so this comparator
+ *     is only called with real keys.
+ *
+ * @author Dr. Abdulghani M. Al-Qasimi
+ * @version 2.00 2026/10/18
+ */
+
+import java.util.Comparator;
+import java.io.Serializable;
+
+	public class KeyComparator<K> implements Comparator<K>, Serializable {
+
+	public int compare(K a, K b) throws ClassCastException {
+		if (a instanceof String && b instanceof String)
+			return ((String)a).compareToIgnoreCase((String)b);
+		if (a instanceof byte[] && b instanceof byte[])
+			return java.util.Arrays.compareUnsigned((byte[])a, (byte[])b);
+		return ((Comparable<K>) a).compareTo(b);
+	}
+
+	// Returns a hash code of the key that agrees with compare: String
+	// keys that differ only in case have the same hash code. Each code
+	// point is folded as compareToIgnoreCase folds it, without a new
+	// String.
+	public int hash(K key) {
+		if (key instanceof byte[]) return java.util.Arrays.hashCode((byte[])key);
+		if (!(key instanceof String)) return key.hashCode();
+		String s = (String) key;
+		int h = 0, cp;
+		for (int i=0; i<s.length(); i+=Character.charCount(cp)) {
+			cp = s.codePointAt(i);
+			h = 31*h + Character.toLowerCase(Character.toUpperCase(cp));
+		}
+		return h;
+	}
+
+	// Returns the folded form of s, in which every char is replaced as
+	// compareToIgnoreCase folds it, so that two folded Strings compare
+	// by compareTo as the Strings do by compareToIgnoreCase. s itself is
+	// returned if no char changes. Returns null if s has a surrogate
+	// char, since compareToIgnoreCase folds those by code point, and
+	// compareTo would not order them the same way.
+	public static String fold(String s) {
+		char[] a = null;
+		char ch, f;
+
+		for (int i=0; i<s.length(); ++i) {
+			ch = s.charAt(i);
+			if (Character.isSurrogate(ch)) return null;
+			f = Character.toLowerCase(Character.toUpperCase(ch));
+			if ((f != ch) && (a == null)) a = s.toCharArray();
+			if (a != null) a[i] = f;
+		}
+		return (a == null)? s : new String(a);
+	}
+
+	// Returns the first four chars of a folded String packed in a long,
+	// the first one in the high bits, and 0 for each char past its end.
+	// When the prefixes of two folded Strings differ, they compare as
+	// unsigned longs as the Strings do.
+	public static long prefix(String folded) {
+		long p = 0;
+		for (int i=0; i<4; ++i)
+			p = (p << 16) | ((i < folded.length())? folded.charAt(i) : 0);
+		return p;
+	}
+}
@@ -0,0 +1,51 @@
+/**
+ * @(#)LevelGenerator.java
+ *
+ * A strategy for the height of the tower of a new entry in a skip list.
+ * SkipQLinkList asks it for a height on every insert, and passes the
+ * number of entries already in the list, so that a generator may limit
+ * the heights to what the size of the list calls for.
+ *
+ * A generator belongs to one list at a time; it need not be thread-safe.
+ * A list that makes another list from itself (a copy, a subList, or the
+ * upper part of a split) gives it a generator of its own, made by split().
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+
+public interface LevelGenerator extends Serializable {
+
+// Postcondition: Returns the height of the tower of a new entry, for a
+// list of count entries. A height of 0 means level 0 only.
+//
+	int nextHeight(int count);
+
+// Postcondition: Returns a new generator with the same settings, whose
+// state is its own, for use by another list. This one copies the
+// generator by serializing it and reading it back; a generator that
+// draws random numbers should override it, so that the copy draws from
+// a stream of its own rather than repeat the same heights.
+//
+	default LevelGenerator split() {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(this);
+			}
+			return (LevelGenerator) new ObjectInputStream(
+				new ByteArrayInputStream(bytes.toByteArray())).readObject();
+		}
+		catch (IOException | ClassNotFoundException ex) {
+			throw new IllegalStateException(
+				"LevelGenerator: cannot copy " + getClass().getName(), ex);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * @(#)MappedLongSkipList.java
+ *
+ * An OffHeapLongSkipList whose buffer is a memory-mapped file, so the list
+ * is persistent. Opening a file that already holds a list maps it and uses
+ * it as it is: there is no rebuild, whatever the number of entries. Every
+ * change is made in place in the mapped region; force() writes the changed
+ * pages to the file, and close() does it before unmapping.
+ *
+ * The file holds exactly the buffer of OffHeapLongSkipList: the header with
+ * the list state, the header tower, and the records. When the list needs
+ * more room, the mapping is made larger, which extends the file; the file
+ * is limited to 2 GB. The old mapping is unmapped as soon as the larger
+ * one replaces it, and close() unmaps the last one, by the release()
+ * of OffHeapLongSkipList, so no mapping is left to the garbage collector
+ * and the file may be reopened, or deleted, as soon as it is closed.
+ *
+ * A change is several writes to the mapped region, and the pages of the
+ * region may reach the file in any order, so a crash after a change that
+ * was not forced may leave the file torn. The changes are made in place,
+ * so the state at the last force() is not kept either. The header has a
+ * dirty flag for this: the first change after the file was opened or
+ * forced sets it, and forces it to the file before the change is made;
+ * force() and close() write the changes, and then clear it. A file whose
+ * flag is set was not closed or forced after its last change, and opening
+ * it throws IllegalArgumentException.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+
+public class MappedLongSkipList extends OffHeapLongSkipList {
+
+	private static final int INITIAL_SIZE = 1 << 20;	// Size of a new file
+
+	private final FileChannel channel;	// The file holding the list
+
+// CONSTRUCTORS:
+//
+// 1.	Opens the named file, creating it if it does not exist. A new or
+// empty file is made to hold an empty list; otherwise the file must hold
+// a list written by this class, or IllegalArgumentException is thrown.
+//
+	public MappedLongSkipList(String fileName) throws IOException {
+		this(FileChannel.open(Paths.get(fileName), StandardOpenOption.READ,
+							  StandardOpenOption.WRITE,
+							  StandardOpenOption.CREATE));
+	}
+
+	private MappedLongSkipList(FileChannel ch) throws IOException {
+		this(ch, isNew(ch));
+	}
+
+	private MappedLongSkipList(FileChannel ch, boolean fresh)
+			throws IOException {
+		this(ch, open(ch, fresh), fresh);
+	}
+
+	private MappedLongSkipList(FileChannel ch, MappedByteBuffer b,
+							   boolean fresh) {
+		super(b, fresh);				// Checked by open, so it cannot fail
+		channel = ch;
+	}
+
+//
+// Private HELPER METHODS
+//
+// These close the file before they throw an exception, since the
+// constructor that called them has no way to do it.
+//
+// 1.	Returns true if the file is empty.
+//
+	private static boolean isNew(FileChannel ch) throws IOException {
+		try {
+			return ch.size() == 0;
+		}
+		catch (IOException ex) {
+			ch.close();
+			throw ex;
+		}
+	}
+
+// 2.	Maps the file: a new one is extended to INITIAL_SIZE, and one that
+// is not new must hold a list whose dirty flag is clear, or
+// IllegalArgumentException is thrown (see OffHeapLongSkipList.checkHeader).
+//
+	private static MappedByteBuffer open(FileChannel ch, boolean fresh)
+			throws IOException {
+		MappedByteBuffer b = null;
+
+		try {
+			b = map(ch, fresh? INITIAL_SIZE : ch.size());
+			if (!fresh) checkHeader(b);
+			return b;
+		}
+		catch (IOException | RuntimeException ex) {
+			if (b != null) release(b);
+			ch.close();
+			throw ex;
+		}
+	}
+
+// 3.	Maps the first size bytes of the file for reading and writing.
+// The file is extended if it is shorter than that.
+//
+	private static MappedByteBuffer map(FileChannel ch, long size)
+			throws IOException {
+		if (size > Integer.MAX_VALUE)
+			throw new IllegalArgumentException(
+				"MappedLongSkipList: the file is larger than 2 GB");
+		return ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+	}
+
+//
+// PROTECTED METHODS, overriding those of OffHeapLongSkipList
+//
+// Postcondition:
+// Returns a larger mapping of the same file, of at least the given
+// capacity. The records are already in the file, so nothing is copied.
+//
+	protected ByteBuffer grow(int minCapacity) {
+		long cap = Math.max(2L * buf.capacity(), minCapacity);
+		try {
+			return map(channel, Math.min(cap, Integer.MAX_VALUE));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+// Postcondition:
+// The dirty flag, just set by the first change since the file was
+// opened or forced, is written to the file before the change is made.
+// Nothing else has changed since, so there is little to write.
+//
+	protected void dirtied() {
+		((MappedByteBuffer) buf).force();
+	}
+
+//
+// PUBLIC METHODS
+//
+// Postcondition:
+// All the changes made to the list so far are written to the file, and
+// then the dirty flag is cleared, and written too.
+//
+	public void force() {
+		checkOpen();
+		((MappedByteBuffer) buf).force();
+		if (isDirty()) {
+			markClean();
+			((MappedByteBuffer) buf).force();
+		}
+	}
+
+// Postcondition:
+// All the changes are written to the file, the file is unmapped and
+// closed, and the list cannot be used any more. It may be opened again
+// later.
+//
+	public void close() {
+		if (buf == null) return;
+		force();
+		super.close();
+		try {
+			channel.close();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
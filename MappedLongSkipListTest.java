@@ -0,0 +1,226 @@
+/**
+ * @(#)MappedLongSkipListTest.java
+ *
+ * A test program for the MappedLongSkipList class. It builds a list in a
+ * new file with random adds and removes, made on a LongSkipList as well,
+ * closes it, and checks that reopening the file gives the same entries,
+ * that changes made after reopening are kept by the next close, and that
+ * every mapping of the file is gone once it is closed. It also checks
+ * that a file that does not hold a list is refused, and so is a copy of a
+ * file taken after a change that was not forced, as a crash would leave
+ * it, and that a file refused is not left open. The files are made in the
+ * temporary directory, and deleted at the end.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.io.*;
+import java.lang.management.*;
+import java.util.*;
+
+public class MappedLongSkipListTest {
+
+  public static void main(String[] args) throws IOException {
+	File f = File.createTempFile("skiplist", ".skl");
+	f.delete();							// A new list, not an empty file
+	try {
+	  reopen(f, 100000, 1);
+	  System.out.println("reopen: ok");
+	  unmapped(f);
+	  System.out.println("unmapped on close: ok");
+	  notAList();
+	  System.out.println("not a list: ok");
+	  dirty(f);
+	  System.out.println("dirty flag: ok");
+	  noLeaks(f);
+	  System.out.println("no file left open: ok");
+	}
+	finally {
+	  f.delete();
+	}
+  }
+
+  // Postcondition: n random adds, with a remove after every 7th, have
+  // been made on a new list in the file and on a LongSkipList; the file,
+  // closed and reopened twice, has given back the same entries each time.
+  //
+  public static void reopen(File f, int n, long seed) throws IOException {
+	MappedLongSkipList m = new MappedLongSkipList(f.getPath());
+	LongSkipList<Long> l = new LongSkipList<Long>();
+	Random r = new Random(seed);
+
+	for (int i=0; i<n; ++i) {
+	  long k = r.nextInt(n / 2);
+	  m.skipAdd(k, i);
+	  l.skipAdd(k, (long) i);
+	  if (i % 7 == 0) {
+		m.skipSearch(k);
+		m.skipRemove();
+		l.skipSearch(k);
+		l.skipRemove();
+	  }
+	}
+	m.close();
+
+	m = new MappedLongSkipList(f.getPath());
+	same(m, l);
+	m.skipAdd(-5, 1);
+	l.skipAdd(-5, 1L);
+	m.force();
+	m.close();
+
+	m = new MappedLongSkipList(f.getPath());
+	same(m, l);
+	m.first();
+	check(m.getKey() == -5, "the add made after reopening");
+	m.close();
+  }
+
+  // Postcondition: The file has been opened and grown, and once it was
+  // closed, no mapping was left in use.
+  //
+  public static void unmapped(File f) throws IOException {
+	BufferPoolMXBean mapped = null;
+	for (BufferPoolMXBean b :
+		 ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class))
+	  if (b.getName().equals("mapped")) mapped = b;
+
+	long base = mapped.getMemoryUsed();
+	MappedLongSkipList m = new MappedLongSkipList(f.getPath());
+	for (int i=0; i<200000; ++i) m.skipAdd(1000000 + i, i);
+	check(mapped.getCount() == 1, "old mappings are kept after growing");
+	m.close();
+	check(mapped.getMemoryUsed() == base, "the file is still mapped");
+	try {
+	  m.size();
+	  check(false, "size() of a closed list");
+	}
+	catch (IllegalStateException ex) {}
+  }
+
+  // Postcondition: A file of zeros has been refused with
+  // IllegalArgumentException.
+  //
+  public static void notAList() throws IOException {
+	File g = File.createTempFile("notalist", ".skl");
+	try {
+	  try (FileOutputStream out = new FileOutputStream(g)) {
+		out.write(new byte[1000]);
+	  }
+	  try {
+		new MappedLongSkipList(g.getPath());
+		check(false, "a file that does not hold a list was opened");
+	  }
+	  catch (IllegalArgumentException ex) {}
+	}
+	finally {
+	  g.delete();
+	}
+  }
+
+  // Postcondition: Copies of the file taken while it was open have been
+  // refused if a change had been made since it was opened or forced, and
+  // opened with all the entries otherwise.
+  //
+  public static void dirty(File f) throws IOException {
+	File g = File.createTempFile("copy", ".skl");
+	try {
+	  MappedLongSkipList m = new MappedLongSkipList(f.getPath());
+	  long size = m.size();
+	  copy(f, g);
+	  new MappedLongSkipList(g.getPath()).close();	// Opened, not changed
+
+	  m.skipAdd(7, 7);
+	  copy(f, g);
+	  try {
+		new MappedLongSkipList(g.getPath());
+		check(false, "a file changed after force() was opened");
+	  }
+	  catch (IllegalArgumentException ex) {}
+
+	  m.force();
+	  copy(f, g);
+	  MappedLongSkipList c = new MappedLongSkipList(g.getPath());
+	  check(c.size() == size + 1, "the forced change");
+	  c.close();
+
+	  m.first();
+	  m.skipRemove();
+	  m.close();
+	  c = new MappedLongSkipList(f.getPath());
+	  check(c.size() == size, "the change made before close()");
+	  c.close();
+	}
+	finally {
+	  g.delete();
+	}
+  }
+
+  // Postcondition: A file that does not hold a list, and one whose dirty
+  // flag is set, refused many times over, have not added to the open file
+  // descriptors of the process, where the JVM can count them.
+  //
+  public static void noLeaks(File f) throws IOException {
+	OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+	if (!(os instanceof com.sun.management.UnixOperatingSystemMXBean))
+	  return;
+	com.sun.management.UnixOperatingSystemMXBean unix =
+		(com.sun.management.UnixOperatingSystemMXBean) os;
+	File zeros = File.createTempFile("notalist", ".skl");
+	File dirty = File.createTempFile("dirty", ".skl");
+
+	try {
+	  try (FileOutputStream out = new FileOutputStream(zeros)) {
+		out.write(new byte[1 << 16]);
+	  }
+	  MappedLongSkipList m = new MappedLongSkipList(f.getPath());
+	  m.skipAdd(8, 8);
+	  copy(f, dirty);
+	  m.close();
+
+	  long before = unix.getOpenFileDescriptorCount();
+	  for (int i=0; i<100; ++i)
+		for (File g : new File[] {zeros, dirty})
+		  try {
+			new MappedLongSkipList(g.getPath());
+			check(false, g + " was opened");
+		  }
+		  catch (IllegalArgumentException ex) {}
+	  check(unix.getOpenFileDescriptorCount() < before + 10,
+			"refused files are left open");
+	}
+	finally {
+	  zeros.delete();
+	  dirty.delete();
+	}
+  }
+
+  // Postcondition: The bytes of file f have been copied to file g.
+  //
+  public static void copy(File f, File g) throws IOException {
+	java.nio.file.Files.copy(f.toPath(), g.toPath(),
+							 java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  // Postcondition: Returns if the two lists have the same keys and values
+  // in the same order; otherwise throws IllegalStateException.
+  //
+  public static void same(MappedLongSkipList m, LongSkipList<Long> l) {
+	check(m.size() == l.size(), "size");
+	PrimitiveIterator.OfLong keys = m.keys(), values = m.values();
+	for (LongSkipList<Long>.Entry e : l)
+	  check((keys.nextLong() == e.getKey()) &&
+			(values.nextLong() == e.getValue()), "entries");
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
@@ -0,0 +1,642 @@
+/**
+ * @(#)OffHeapLongSkipList.java
+ *
+ * A container class for a skip list of entries with primitive long keys
+ * and long values, whose nodes are kept outside the Java heap, in a direct
+ * java.nio.ByteBuffer. It has the navigation model of LongSkipList (first,
+ * next, prior, last, skipSearch, skipAdd and skipRemove), but there are no
+ * node or entry objects: a node is a record in the buffer, and the links
+ * between nodes are int offsets into it. However large the list grows, the
+ * garbage collector sees a single buffer object.
+ *
+ * Each entry is one record with the forward links of all the levels of its
+ * tower, and a backward link at level 0, as in LongSkipList:
+ *
+ *   +0   long  key
+ *   +8   long  value
+ *   +16  int   prev, the offset of the node before it at level 0
+ *   +20  int   height of the tower; 0 for an entry at level 0 only
+ *   +24  int   next[0..height], the offset of the next node at each level
+ *
+ * rounded up to a multiple of 8 bytes. The header node is a record of the
+ * greatest height at offset HEAD, and the trailer is offset 0 (NIL), which
+ * is never a record. All the state of the list but current is kept in a
+ * header at the start of the buffer, so the buffer alone describes the
+ * list:
+ *
+ *   +0   int   magic number, MAGIC
+ *   +4   int   layout version
+ *   +8   int   count, the number of entries
+ *   +12  int   height, the number of levels in use plus one
+ *   +16  int   free pointer, the end of the used part of the buffer
+ *   +20  int   last, the offset of the last node at level 0
+ *   +24  int   free list heads, one per tower height
+ *   +156 int   dirty flag, 1 from the first change after the list was
+ *              made clean (see markClean), and 0 otherwise
+ *
+ * A buffer handed to the constructor of a subclass to be used as it is,
+ * such as a file mapped again, is refused if its dirty flag is set, since
+ * the list may have been torn in the middle of a change. The flag is set
+ * by the first change after markClean(), and dirtied() is called then; a
+ * subclass that writes the buffer out calls markClean() once it has done
+ * so. This class itself never clears the flag.
+ *
+ * Removed records are kept in the free list of their height, and are used
+ * again before the buffer grows. When the buffer is full, grow() gives a
+ * larger one; a subclass may override it to keep the records elsewhere.
+ *
+ * The memory outside the heap is not left to the garbage collector, which
+ * sees only a small heap and may not run for a long time: the old buffer
+ * is freed as soon as a larger one replaces it, and close() frees the last
+ * one. Both use sun.misc.Unsafe.invokeCleaner; on a JDK without it, the
+ * memory is freed when the buffer objects are collected.
+ *
+ * The buffer is limited to 2 GB, which is about 60 million entries.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+
+public class OffHeapLongSkipList {
+
+	protected static final int MAGIC = 0x534B4950;	// "SKIP"
+	protected static final int VERSION = 1;			// The layout version
+	protected static final int MAX_H = 32;			// Maximum allowable height
+
+	// Offsets of the fields of the buffer header
+	private static final int H_COUNT = 8;
+	private static final int H_HEIGHT = 12;
+	private static final int H_FREE = 16;
+	private static final int H_LAST = 20;
+	private static final int H_FREE_LISTS = 24;
+	private static final int H_DIRTY = 156;
+
+	// Offsets of the fields of a record
+	private static final int R_KEY = 0;
+	private static final int R_VALUE = 8;
+	private static final int R_PREV = 16;
+	private static final int R_HEIGHT = 20;
+	private static final int R_NEXT = 24;
+
+	protected static final int NIL = 0;				// The trailer, +OO
+	protected static final int HEAD = 160;			// The header tower, -OO
+	protected static final int FIRST_FREE = HEAD + 160;	// The first record
+
+	protected ByteBuffer buf;		// The header and all the records
+	private int current;			// Points to current item in level 0
+	private Random r;				// A random number generator object
+
+	// sun.misc.Unsafe and its invokeCleaner method, or null where the JDK
+	// has no such method; see release()
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object u = null;
+		Method m = null;
+		try {
+			Class<?> k = Class.forName("sun.misc.Unsafe");
+			Field f = k.getDeclaredField("theUnsafe");
+			f.setAccessible(true);
+			m = k.getMethod("invokeCleaner", ByteBuffer.class);
+			u = f.get(null);
+		}
+		catch (ReflectiveOperationException | RuntimeException ex) {
+			m = null;
+		}
+		UNSAFE = u;
+		INVOKE_CLEANER = m;
+	}
+
+// CONSTRUCTORS:
+//
+// 1.	Default constructor of an empty OffHeapLongSkipList, with a
+// buffer of 1 MB to start with.
+//
+	public OffHeapLongSkipList() {
+		this(1 << 20);
+	}
+
+// 2.	Constructor of an empty OffHeapLongSkipList, with a buffer of the
+// given initial capacity in bytes. The buffer grows when it is full.
+//
+	public OffHeapLongSkipList(int initialCapacity) {
+		this(ByteBuffer.allocateDirect(Math.max(initialCapacity, FIRST_FREE)),
+			 true);
+	}
+
+// 3.	Constructor of a list kept in the given buffer. If format is true,
+// the buffer is made to hold an empty list. Otherwise, it must already
+// hold a list, written by this class, which is used as it is; if it does
+// not, or its dirty flag is set (see checkHeader), IllegalArgumentException
+// is thrown.
+//
+	protected OffHeapLongSkipList(ByteBuffer buffer, boolean format) {
+		r = new Random();			// Init. random number generator
+		buf = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		if (format) {
+			buf.putInt(0, MAGIC);
+			buf.putInt(4, VERSION);
+			buf.putInt(H_DIRTY, 0);
+			reset();
+		}
+		else
+			checkHeader(buf);
+		current = HEAD;				// Init. the current pointer at head
+	}
+
+//
+// Private HELPER METHODS, used by this skip list class only
+//
+
+// 1.	This function provides the height that a new entry should be
+// inserted at in the list. The height is calculated usung a number
+// of random coin tosses of probability 1/2 each. The returned height
+// never exceed the provided maximum, max.
+//
+	private int getRandHeight(int max) {
+		int i=0;						// Counter of consecutive heads.
+		while (r.nextInt(2) == 0) i++;	// Toss a coin until tails.
+		if (i > max) return max;		// Limit to max.
+		return i;
+	}
+
+// 2.	Accessors of the fields of the record at offset p.
+//
+	private long key(int p) {return buf.getLong(p + R_KEY);}
+	private int prev(int p) {return buf.getInt(p + R_PREV);}
+	private int height(int p) {return buf.getInt(p + R_HEIGHT);}
+	private int next(int p, int i) {return buf.getInt(p + R_NEXT + 4*i);}
+	private void setPrev(int p, int q) {buf.putInt(p + R_PREV, q);}
+	private void setNext(int p, int i, int q) {buf.putInt(p + R_NEXT + 4*i, q);}
+
+// 3.	Returns the size in bytes of a record with a tower of height h.
+//
+	private static int recordSize(int h) {
+		return (R_NEXT + 4*(h+1) + 7) & ~7;
+	}
+
+// 4.	Makes the buffer hold an empty list, keeping its capacity.
+//
+	private void reset() {
+		buf.putInt(H_COUNT, 0);
+		buf.putInt(H_HEIGHT, 1);				// Levels 0 and 1 exist
+		buf.putInt(H_FREE, FIRST_FREE);
+		buf.putInt(H_LAST, HEAD);
+		for (int i=0; i<=MAX_H; ++i) {
+			buf.putInt(H_FREE_LISTS + 4*i, NIL);
+			setNext(HEAD, i, NIL);				// All levels are empty
+		}
+		setPrev(HEAD, NIL);
+		buf.putInt(HEAD + R_HEIGHT, MAX_H);
+	}
+
+// 5.	Returns the offset of a new record for a tower of height h. It
+// is taken from the free list of that height if there is one there;
+// otherwise, it is cut from the end of the used part, and the buffer
+// grows if it is full.
+//
+	private int allocate(int h) {
+		int p = buf.getInt(H_FREE_LISTS + 4*h);
+		if (p != NIL) {
+			buf.putInt(H_FREE_LISTS + 4*h, next(p, 0));
+			return p;
+		}
+		p = buf.getInt(H_FREE);
+		long end = (long)p + recordSize(h);
+		if (end > Integer.MAX_VALUE)
+			throw new IllegalStateException("OffHeapLongSkipList is full");
+		if (end > buf.capacity()) {
+			ByteBuffer old = buf;
+			buf = grow((int)end).order(ByteOrder.LITTLE_ENDIAN);
+			if (buf != old) release(old);
+		}
+		buf.putInt(H_FREE, (int)end);
+		return p;
+	}
+
+// 6.	Called before each change of the list. The first change after
+// the list was made clean sets the dirty flag, and calls dirtied()
+// before anything else is written.
+//
+	private void changing() {
+		if (buf.getInt(H_DIRTY) == 0) {
+			buf.putInt(H_DIRTY, 1);
+			dirtied();
+		}
+	}
+
+// 7.	Descends from the header to level 0, and returns the last node
+// whose key is less than the given key (strict is true), or less than
+// or equal to the given key (strict is false). If preds is not null,
+// the last node visited at each level is recorded in it.
+//
+	private int findPred(long key, boolean strict, int[] preds) {
+		int p = HEAD, q;
+
+		for (int i=buf.getInt(H_HEIGHT)-1; i>=0; --i) {
+			q = next(p, i);
+			if (strict)
+				while ((q != NIL) && (key(q) < key)) {
+					p = q;
+					q = next(p, i);
+				}
+			else
+				while ((q != NIL) && (key(q) <= key)) {
+					p = q;
+					q = next(p, i);
+				}
+			if (preds != null) preds[i] = p;
+		}
+		return p;
+	}
+
+//
+// PROTECTED METHODS, for subclasses that keep the buffer elsewhere
+//
+// Postcondition:
+// Returns a buffer of at least the given capacity, holding a copy of
+// the whole of the current buffer. The list uses it from now on. This
+// one allocates a new direct buffer of twice the size, or more.
+//
+	protected ByteBuffer grow(int minCapacity) {
+		long cap = Math.max(2L * buf.capacity(), minCapacity);
+		ByteBuffer bigger = ByteBuffer.allocateDirect(
+								(int)Math.min(cap, Integer.MAX_VALUE));
+		ByteBuffer old = buf.duplicate();
+		old.clear();
+		bigger.put(old);
+		return bigger;
+	}
+
+// Postcondition:
+// The memory of the buffer is given back at once: a direct buffer is
+// freed, and a mapped one is unmapped, by sun.misc.Unsafe.invokeCleaner.
+// Where the JDK has no such method, or the buffer is not direct or is a
+// view of another buffer, nothing is done, and the memory is given back
+// when the buffer object is collected. The buffer must not be used after
+// this, as its memory may be given to something else.
+//
+	protected static void release(ByteBuffer b) {
+		if ((INVOKE_CLEANER == null) || !b.isDirect()) return;
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, b);
+		}
+		catch (ReflectiveOperationException ex) {
+			// A view of another buffer, which has a cleaner of its own
+		}
+	}
+
+// Postcondition:
+// Returns if the buffer holds a list written by this class, with the
+// dirty flag clear. Otherwise IllegalArgumentException is thrown.
+//
+	protected static void checkHeader(ByteBuffer b) {
+		b = b.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		if ((b.capacity() < FIRST_FREE) || (b.getInt(0) != MAGIC)
+			|| (b.getInt(4) != VERSION))
+			throw new IllegalArgumentException(
+				"OffHeapLongSkipList: the buffer does not hold a skip list");
+		if (b.getInt(H_DIRTY) != 0)
+			throw new IllegalArgumentException(
+				"OffHeapLongSkipList: the list was changed after it was "
+				+ "last made clean, and may be torn");
+	}
+
+// Postcondition:
+// Called when the dirty flag has just been set by the first change after
+// the list was made clean, before the change is made. This one does
+// nothing.
+//
+	protected void dirtied() {}
+
+// Postcondition:
+// The dirty flag is cleared. A subclass calls it once all the changes
+// made so far are written out.
+//
+	protected void markClean() {
+		buf.putInt(H_DIRTY, 0);
+	}
+
+// Postcondition:
+// Returns true if the list has been changed since markClean().
+//
+	protected boolean isDirty() {
+		return buf.getInt(H_DIRTY) != 0;
+	}
+
+// Postcondition:
+// Throws IllegalStateException if the list has been closed.
+//
+	protected void checkOpen() {
+		if (buf == null)
+			throw new IllegalStateException("OffHeapLongSkipList is closed");
+	}
+
+//
+// PUBLIC METHODS: implement the SkipList interface
+//
+// Postcondition:
+// If the list is not empty, it puts current at the first node
+// at level 0 of the skip list. Otherwise, it does nothing.
+//
+	public void first() {
+		checkOpen();
+		if (size() > 0)
+			current = next(HEAD, 0);
+	}
+
+// Postcondition:
+// If the list is not empty, it puts current at the last node
+// at level 0 of the skip list. Otherwise, it does nothing.
+//
+	public void last() {
+		checkOpen();
+		if (size() > 0)
+			current = buf.getInt(H_LAST);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: If the current node is not the last node at
+// level 0 of the skip list, then current is put at its successor
+// node. Otherwise, current is put at the tail.
+//
+	public void next() {
+		if (isElement())
+			current = next(current, 0);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: If the current node is not the first node at
+// level 0 of the skip list, then current is put at its predecessor
+// node. Otherwise, curren is put at the head.
+//
+	public void prior() {
+		if (isElement())
+			current = prev(current);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the current entry height if current is valid.
+// Otherwise -1 is returned.
+//
+	public int getEntryHeight() {
+		if (!isElement()) return -1;
+		return height(current);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the key of the current entry. Throws
+// NoSuchElementException if current is not valid.
+//
+	public long getKey() {
+		if (!isElement()) throw new NoSuchElementException();
+		return key(current);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the value of the current entry. Throws
+// NoSuchElementException if current is not valid.
+//
+	public long getValue() {
+		if (!isElement()) throw new NoSuchElementException();
+		return buf.getLong(current + R_VALUE);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: sets the entry's value at the current node to the
+// given new value, and returns the old value. Throws
+// NoSuchElementException if current is not valid.
+//
+	public long set(long newValue) {
+		long old = getValue();
+		changing();
+		buf.putLong(current + R_VALUE, newValue);
+		return old;
+	}
+
+// Postcondition:
+// The skip list is searched for the key passed in the parameter. If
+// that key is in the list, the entry with the oldest node in the list
+// at level 0, that contains that key is made current. Otherwise, the
+// entry of an existing node in the list at level 0, that has the max.
+// key less than the one being searched for is made current. If there
+// was no such an entry, then current is no longer valid.
+//
+	public void skipSearch(long key) {
+		checkOpen();
+		current = findPred(key, false, null);
+	}
+
+// Postcondition:
+// A New entry with the key and value specified by the passed parameters
+// is stored in a new record, that is linked in its proper location at
+// all the levels of its tower, whose number is calculated by a
+// randomization algorithm. Multiple entries with the same key are
+// allowed to exist in the list. In such a case the new entry is inserted
+// before all existing entries of a similar key. Current is put at the
+// new node.
+//
+	public void skipAdd(long key, long value) {
+		int[] preds = new int[MAX_H+1];
+		int p, e, i, h;
+
+		checkOpen();
+		changing();
+
+		// Randomize new node height, and extend the list if needed
+		h = getRandHeight(MAX_H-1);
+		if (h >= buf.getInt(H_HEIGHT))
+			buf.putInt(H_HEIGHT, h+1);
+
+		// Find the predecessors at all the levels, the new ones included
+		findPred(key, true, preds);
+
+		// Write the new record, and link it after its predecessor at
+		// each level
+		e = allocate(h);
+		buf.putLong(e + R_KEY, key);
+		buf.putLong(e + R_VALUE, value);
+		buf.putInt(e + R_HEIGHT, h);
+		for (i=0; i<=h; ++i) {
+			p = preds[i];
+			setNext(e, i, next(p, i));
+			setNext(p, i, e);
+		}
+		setPrev(e, preds[0]);
+		if (next(e, 0) == NIL) buf.putInt(H_LAST, e);
+		else setPrev(next(e, 0), e);
+
+		buf.putInt(H_COUNT, size() + 1);	// Update count
+		current = e;						// Set current
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: The current entry is removed from all levels of the
+// list, and its record is kept for reuse. All empty levels but one,
+// are also removed. Current is put at the removed node successor at
+// the level 0 list. If that was the node at the tail or the list
+// became empty after the removal, then current is no longer valid.
+//
+	public void skipRemove() {
+		int[] preds = new int[MAX_H+1];
+		int p, e, i, h, height;
+
+		// 1. Check if current is valid.
+		if (!isElement()) return;
+		changing();
+
+		// 2. Find the predecessors of the current node at each of its
+		// levels, stepping over any entries of the same key before it.
+		e = current;
+		h = height(e);
+		findPred(key(e), true, preds);
+		for (i=h; i>=0; --i) {
+			p = preds[i];
+			while (next(p, i) != e)
+				p = next(p, i);
+			setNext(p, i, next(e, i));	// Unlink it from this level
+		}
+		if (next(e, 0) == NIL) buf.putInt(H_LAST, prev(e));
+		else setPrev(next(e, 0), prev(e));
+		current = next(e, 0);
+
+		// 3. Remove all empty levels but one.
+		height = buf.getInt(H_HEIGHT);
+		while (height > 1 && next(HEAD, height-1) == NIL)
+			height--;
+		buf.putInt(H_HEIGHT, height);
+
+		// 4. Put the record on the free list of its height, and finalize.
+		setNext(e, 0, buf.getInt(H_FREE_LISTS + 4*h));
+		buf.putInt(H_FREE_LISTS + 4*h, e);
+		buf.putInt(H_COUNT, size() - 1);
+	}
+
+// Postcondition:
+// Clears the list, reducing its levels to 1. The buffer keeps its
+// capacity, and the records are used again by the next skipAdd calls.
+//
+	public void clear() {
+		checkOpen();
+		changing();
+		reset();
+		current = HEAD;
+	}
+
+// Postcondition:
+// The list is closed, and the memory of its buffer is given back at once
+// (see release). Any use of the list after that throws
+// IllegalStateException. Closing a closed list does nothing.
+//
+	public void close() {
+		ByteBuffer b = buf;
+
+		if (b == null) return;
+		buf = null;
+		current = HEAD;
+		release(b);
+	}
+
+// Postcondition:
+// Returns the current height of the skip list.
+//
+	public int height() {
+		checkOpen();
+		return buf.getInt(H_HEIGHT);
+	}
+
+// Postcondition:
+// Returns the current number of nodes in the skip list at level 0.
+//
+	public int size() {
+		checkOpen();
+		return buf.getInt(H_COUNT);
+	}
+
+// Postcondition:
+// Returns true if the skip list is empty, otherwise it returns false.
+//
+	public boolean isEmpty() {return (size() == 0);}
+
+// Postcondition:
+// If current is at a valid node, it returns true, otherwise it
+// returns false.
+//
+	public boolean isElement() {
+		checkOpen();
+		return ((current != HEAD) && (current != NIL));
+	}
+
+// Postcondition:
+// Returns the number of bytes of the buffer in use, the header included.
+//
+	public long usedBytes() {
+		checkOpen();
+		return buf.getInt(H_FREE);
+	}
+
+// Postcondition:
+// Returns the capacity of the buffer in bytes.
+//
+	public long capacity() {
+		checkOpen();
+		return buf.capacity();
+	}
+
+// ITERATORS:
+//
+// 1. Key Iterator:
+// Returns a forward iterator over all keys in the skip list. The keys
+// are returned unboxed by nextLong().
+//
+	public PrimitiveIterator.OfLong keys() {
+		checkOpen();
+		return new SkipListIterator(false);
+	}
+
+// 2. Value Iterator:
+// Returns a forward iterator over all values in the skip list, in
+// the order of their keys. The values are returned by nextLong().
+//
+	public PrimitiveIterator.OfLong values() {
+		checkOpen();
+		return new SkipListIterator(true);
+	}
+
+
+// INNER CLASSES:
+//
+// 1. Skip List Iterator Class:
+// PROVIDES: Iterator objects over the keys or the values of an
+//     OffHeapLongSkipList. This iterator goes forward starting at
+//     the first entry in the list.
+//
+	private class SkipListIterator implements PrimitiveIterator.OfLong {
+		private int cr;
+		private final int field;
+
+		private SkipListIterator(boolean values) {
+			cr = OffHeapLongSkipList.this.next(HEAD, 0);
+			field = values? R_VALUE : R_KEY;
+		}
+
+		public boolean hasNext() {return (cr != NIL);}
+
+		public long nextLong() {
+			checkOpen();
+			if (cr == NIL) throw new NoSuchElementException();
+			int temp = cr;
+			cr = OffHeapLongSkipList.this.next(cr, 0);
+			return buf.getLong(temp + field);
+		}
+	}
+}
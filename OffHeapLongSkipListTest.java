@@ -0,0 +1,133 @@
+/**
+ * @(#)OffHeapLongSkipListTest.java
+ *
+ * A test program for the OffHeapLongSkipList class. It runs random
+ * operations on an OffHeapLongSkipList and on a LongSkipList, which has
+ * the same navigation model with its nodes on the heap, and checks that
+ * the two agree after each of them: the current entry, the size, and at
+ * the end the keys and values in order. The list starts with a small
+ * buffer, so it grows many times on the way, and removed records are used
+ * again. It then checks that the direct memory taken by a list is given
+ * back by close(), and that a closed list cannot be used.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.lang.management.*;
+import java.util.*;
+
+public class OffHeapLongSkipListTest {
+
+  public static void main(String[] args) {
+	againstLongSkipList(200000, 11);
+	System.out.println("against LongSkipList: ok");
+	close();
+	System.out.println("close: ok");
+  }
+
+  // Postcondition: n random skipAdd, skipSearch, skipRemove and moves of
+  // current have been made on both lists, and their results compared.
+  //
+  public static void againstLongSkipList(int n, long seed) {
+	OffHeapLongSkipList o = new OffHeapLongSkipList(400);
+	LongSkipList<Long> l = new LongSkipList<Long>();
+	Random r = new Random(seed);
+
+	for (int i=0; i<n; ++i) {
+	  long k = r.nextInt(20000);
+	  int op = r.nextInt(10);
+
+	  if (op < 6) {
+		o.skipAdd(k, i);
+		l.skipAdd(k, (long) i);
+		same(o, l, "skipAdd");
+	  }
+	  else if (op < 9) {
+		o.skipSearch(k);
+		l.skipSearch(k);
+		same(o, l, "skipSearch");
+		if ((op == 8) && o.isElement()) {
+		  o.skipRemove();
+		  l.skipRemove();
+		  same(o, l, "skipRemove");
+		}
+	  }
+	  else {
+		o.first(); l.first(); same(o, l, "first");
+		o.next(); l.next(); same(o, l, "next");
+		o.last(); l.last(); same(o, l, "last");
+		o.prior(); l.prior(); same(o, l, "prior");
+	  }
+	  check(o.size() == l.size(), "size");
+	}
+
+	PrimitiveIterator.OfLong keys = o.keys(), values = o.values();
+	for (LongSkipList<Long>.Entry e : l)
+	  check((keys.nextLong() == e.getKey()) &&
+			(values.nextLong() == e.getValue()), "iteration");
+	check(!keys.hasNext() && !values.hasNext(), "iteration: extra entries");
+
+	o.clear();
+	check((o.size() == 0) && !o.keys().hasNext(), "clear");
+	o.skipAdd(1, 2);
+	o.first();
+	check(o.getValue() == 2, "skipAdd after clear");
+	o.close();
+  }
+
+  // Postcondition: Lists grown from a small buffer have been closed, and
+  // each time the direct memory in use was back to what it was before the
+  // list was made. Any use of a closed list throws IllegalStateException.
+  //
+  public static void close() {
+	BufferPoolMXBean direct = null;
+	for (BufferPoolMXBean b :
+		 ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class))
+	  if (b.getName().equals("direct")) direct = b;
+
+	for (int round=0; round<5; ++round) {
+	  long base = direct.getMemoryUsed();
+	  OffHeapLongSkipList o = new OffHeapLongSkipList(1 << 10);
+	  for (int i=0; i<500000; ++i) o.skipAdd(i, i);
+	  check(direct.getMemoryUsed() - base <= o.capacity(),
+			"old buffers are kept after growing");
+	  PrimitiveIterator.OfLong keys = o.keys();
+	  o.close();
+	  check(direct.getMemoryUsed() == base, "the buffer is not freed");
+
+	  o.close();							// Does nothing
+	  try {
+		o.size();
+		check(false, "size() of a closed list");
+	  }
+	  catch (IllegalStateException ex) {}
+	  try {
+		keys.nextLong();
+		check(false, "an iterator of a closed list");
+	  }
+	  catch (IllegalStateException ex) {}
+	}
+  }
+
+  // Postcondition: Returns if the current entries of the two lists are
+  // the same, or both not valid; otherwise throws IllegalStateException.
+  //
+  public static void same(OffHeapLongSkipList o, LongSkipList<Long> l,
+						  String op) {
+	check(o.isElement() == l.isElement(), op + ": isElement");
+	if (o.isElement())
+	  check((o.getKey() == l.get().getKey()) &&
+			(o.getValue() == l.get().getValue()), op + ": current entry");
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
@@ -0,0 +1,1245 @@
+/**
+ * @(#)SkipListBench.java
+ *
+ * A command line benchmark program for the skip list classes. The first
+ * argument selects the benchmark, and the optional second argument gives
+ * the number of entries to use. The results are printed to the screen.
+ *
+ *   memory [n]   Heap used by SkipQLinkList and SkipArrayList of n entries
+ *   search [n]   skipSearch throughput on a SkipQLinkList of Integer keys
+ *   long [n]     skipAdd and skipSearch on boxed Long keys and LongSkipList
+ *   concurrent [n]  90% search / 10% insert mix on 1 to 32 threads, for
+ *                ConcurrentSkipQLinkList and ConcurrentSkipListMap
+ *   stamped [n]  95% lookup / 5% insert mix on 1 to 32 threads, for
+ *                SynchronizedSkipQLinkList and a synchronized SkipQLinkList
+ *   bulk [n]     Building a list of n sorted entries by skipAdd, by the
+ *                copy constructor and by fromSorted
+ *   batch [n]    Adding batches of 50,000 random keys to a list of n, by
+ *                skipAdd per key and by skipAddAll
+ *   offheap [n]  Heap, GC time and full GC pause with n long entries in a
+ *                SkipQLinkList<Long,Long> and in an OffHeapLongSkipList
+ *   mapped [n]   Startup with n entries: reading a key file with a Scanner
+ *                into a SkipQLinkList, against reopening a MappedLongSkipList
+ *   wal [n]      n logged skipAdd calls on a DurableSkipQLinkList, with an
+ *                fsync per change and with group commits of 8 to 512
+ *   serial [n]   Java serialization of a SkipQLinkList of n entries: bytes,
+ *                write and read times
+ *   levels [n]   Heap and skipSearch throughput of a SkipQLinkList of n
+ *                entries, for promotion probabilities 1/2, 1/4 and 1/e
+ *   determ [n]   Latency percentiles of skipAdd and skipSearch, for random
+ *                and deterministic (1-2-3) SkipQLinkLists, with the keys
+ *                added in sorted, reversed, random and adversarial order
+ *   churn [n]    n operations, half remove and half skipAdd, on a list of n
+ *                entries: random and 1-2-3 heights, eager and lazy removal,
+ *                against a TreeMap
+ *   navmap [n]   put, get and 100-entry range scans on SkipQLinkListMap,
+ *                TreeMap and ConcurrentSkipListMap of n entries
+ *   pscan [n]    Summing the values of a list of n entries by its iterator,
+ *                and by sequential and parallel streams on its spliterator
+ *                and on an iterator-based one
+ *   cursor [n]   Bytes allocated and time per entry of short range scans
+ *                by successors() and by a reused Cursor, and per call of
+ *                set and setValue, on a list of n entries
+ *   multimap [n] Adding n values under keys with 100,000 values each, and
+ *                counting and reading the values of a key, for a
+ *                SkipQLinkList with duplicate keys and a SkipQLinkMultimap
+ *   hash [n]     Heap taken by the hash index of a list of n entries, and
+ *                the time of exact key lookups with and without it, for
+ *                Integer and String keys
+ *   collate [n]  skipAdd and skipSearch of n URL-like String keys, compared
+ *                ignoring case, by their folded forms and by a comparator
+ *                that calls compareToIgnoreCase
+ *   keycodec [n] skipAdd and skipSearch of n composite (tenant, timestamp,
+ *                id) keys, compared by compareTo and as KeyCodec bytes
+ *   unrolled [n] Heap, get, full scan and 100-entry range scans of a
+ *                SkipQLinkList and an UnrolledSkipList of n entries
+ *
+ * The heap figures are taken from Runtime after repeated garbage
+ * collections, so the JVM should be given enough memory (-Xmx) for the
+ * largest list being measured.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class SkipListBench {
+
+  public static void main(String[] args) {
+	String choice = (args.length > 0)? args[0] : "?";
+	int n = (args.length > 1)? Integer.parseInt(args[1]) : 1000000;
+
+	switch (choice) {
+	  case "memory": memory(n);
+		break;
+
+	  case "search": search(n);
+		break;
+
+	  case "long": longKeys(n);
+		break;
+
+	  case "concurrent": concurrent(n);
+		break;
+
+	  case "stamped": stamped(n);
+		break;
+
+	  case "bulk": bulk(n);
+		break;
+
+	  case "batch": batch(n);
+		break;
+
+	  case "offheap": offHeap(n);
+		break;
+
+	  case "mapped": mapped(n);
+		break;
+
+	  case "wal": wal(n);
+		break;
+
+	  case "serial": serial(n);
+		break;
+
+	  case "levels": levels(n);
+		break;
+
+	  case "determ": deterministic(n);
+		break;
+
+	  case "churn": churn(n);
+		break;
+
+	  case "navmap": navMap(n);
+		break;
+
+	  case "pscan": parallelScan(n);
+		break;
+
+	  case "cursor": cursor(n);
+		break;
+
+	  case "multimap": multimap(n);
+		break;
+
+	  case "hash": hashIndex(n);
+		break;
+
+	  case "collate": collate(n);
+		break;
+
+	  case "keycodec": keyCodec(n);
+		break;
+
+	  case "unrolled": unrolled(n);
+		break;
+
+	  default: System.out.println("Usage: java SkipListBench <benchmark> [n]");
+			   System.out.println(" memory   Heap footprint of the node layouts");
+			   System.out.println(" search   skipSearch throughput, Integer keys");
+			   System.out.println(" long     Boxed Long keys against LongSkipList");
+			   System.out.println(" concurrent  Lock-free list against ConcurrentSkipListMap");
+			   System.out.println(" stamped  StampedLock wrapper against a synchronized list");
+			   System.out.println(" bulk     skipAdd against the linear bulk build");
+			   System.out.println(" batch    skipAdd against skipAddAll for batches");
+			   System.out.println(" offheap  GC cost of SkipQLinkList against OffHeapLongSkipList");
+			   System.out.println(" mapped   Rebuild from a text file against reopening a mapped list");
+			   System.out.println(" wal      Write-ahead log throughput by group commit size");
+			   System.out.println(" serial   Serialized size and time of a SkipQLinkList");
+			   System.out.println(" levels   Memory and search time by promotion probability");
+			   System.out.println(" determ   Tail latency of random against 1-2-3 heights");
+			   System.out.println(" churn    50/50 insert/remove mix, eager and lazy removal");
+			   System.out.println(" navmap   SkipQLinkListMap against TreeMap and ConcurrentSkipListMap");
+			   System.out.println(" pscan    Sequential and parallel streams over a whole list");
+			   System.out.println(" cursor   Allocation of iterator scans against a reused Cursor");
+			   System.out.println(" multimap Duplicate keys against one tower with a value bucket");
+			   System.out.println(" hash     Exact key lookups by descent and by the hash index");
+			   System.out.println(" collate  Folded String keys against compareToIgnoreCase");
+			   System.out.println(" keycodec Composite keys by compareTo against encoded bytes");
+			   System.out.println(" unrolled Node per entry against blocks of 64 keys");
+	}
+  }
+
+  // Postcondition: The heap used by a SkipQLinkList and a SkipArrayList of
+  // n random Integer keys has been printed, excluding the keys themselves.
+  //
+  public static void memory(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	long base, used;
+
+	base = usedHeap();
+	SkipQLinkList<Integer,String> q = new SkipQLinkList<Integer,String>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+	used = usedHeap() - base;
+	report("SkipQLinkList", n, used);
+	q = null;
+
+	base = usedHeap();
+	SkipArrayList<Integer,String> a = new SkipArrayList<Integer,String>();
+	for (int i=0; i<n; ++i) a.skipAdd(keys[i], null);
+	used = usedHeap() - base;
+	report("SkipArrayList", n, used);
+	a = null;
+  }
+
+  // Postcondition: The number of skipSearch calls per second on a list of
+  // n random Integer keys has been printed, for a few rounds of n lookups.
+  //
+  public static void search(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] probes = randomKeys(n, 7);
+	SkipQLinkList<Integer,String> q = new SkipQLinkList<Integer,String>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+
+	for (int round=1; round<=5; ++round) {
+	  long t = System.nanoTime();
+	  for (int i=0; i<n; ++i) q.skipSearch(probes[i]);
+	  t = System.nanoTime() - t;
+	  System.out.printf("round %d: %,.0f searches/s%n", round, n*1e9/t);
+	}
+  }
+
+  // Postcondition: The time taken to insert and then search n random long
+  // keys has been printed, for SkipQLinkList<Long,String> with boxed keys
+  // and for LongSkipList<String> with unboxed keys.
+  //
+  public static void longKeys(int n) {
+	long[] keys = new long[n];
+	Random r = new Random(42);
+	for (int i=0; i<n; ++i) keys[i] = r.nextLong();
+	long t;
+
+	SkipQLinkList<Long,String> q = new SkipQLinkList<Long,String>();
+	t = System.nanoTime();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+	report("SkipQLinkList<Long> add", n, System.nanoTime() - t, 1);
+	t = System.nanoTime();
+	for (int i=n-1; i>=0; --i) q.skipSearch(keys[i]);
+	report("SkipQLinkList<Long> search", n, System.nanoTime() - t, 1);
+	q = null;
+
+	LongSkipList<String> l = new LongSkipList<String>();
+	t = System.nanoTime();
+	for (int i=0; i<n; ++i) l.skipAdd(keys[i], null);
+	report("LongSkipList add", n, System.nanoTime() - t, 1);
+	t = System.nanoTime();
+	for (int i=n-1; i>=0; --i) l.skipSearch(keys[i]);
+	report("LongSkipList search", n, System.nanoTime() - t, 1);
+  }
+
+  // Postcondition: For 1, 2, 4, ... 32 threads, the throughput of a mix of
+  // 90% searches and 10% inserts of random keys has been printed, for a
+  // ConcurrentSkipQLinkList and a ConcurrentSkipListMap that both start
+  // with n entries. Each thread does n operations.
+  //
+  public static void concurrent(final int n) {
+	final Integer[] keys = randomKeys(2*n, 42);
+	final ConcurrentSkipQLinkList<Integer,String> q;
+	final ConcurrentSkipListMap<Integer,String> m;
+
+	q = new ConcurrentSkipQLinkList<Integer,String>();
+	m = new ConcurrentSkipListMap<Integer,String>();
+	for (int i=0; i<n; ++i) {
+	  q.skipAdd(keys[i], null);
+	  m.put(keys[i], "");
+	}
+
+	for (int threads=1; threads<=32; threads*=2) {
+	  report("ConcurrentSkipQLinkList", (long)n*threads, runThreads(threads,
+		new Worker() {
+		  public void run(int id) {
+			Random r = new Random(id);
+			for (int i=0; i<n; ++i)
+			  if (r.nextInt(10) == 0) q.skipAdd(keys[r.nextInt(keys.length)], null);
+			  else q.skipSearch(keys[r.nextInt(keys.length)]);
+		  }
+		}), threads);
+	  report("ConcurrentSkipListMap", (long)n*threads, runThreads(threads,
+		new Worker() {
+		  public void run(int id) {
+			Random r = new Random(id);
+			for (int i=0; i<n; ++i)
+			  if (r.nextInt(10) == 0) m.put(keys[r.nextInt(keys.length)], "");
+			  else m.floorEntry(keys[r.nextInt(keys.length)]);
+		  }
+		}), threads);
+	}
+  }
+
+  // Postcondition: For 1, 2, 4, ... 32 threads, the throughput of a mix of
+  // 95% lookups (one in ten of them a scan of about 10 entries) and 5%
+  // inserts has been printed, for a SynchronizedSkipQLinkList and for a
+  // SkipQLinkList used under its own monitor. Both start with n entries.
+  //
+  public static void stamped(final int n) {
+	final Integer[] keys = randomKeys(2*n, 42);
+	final SynchronizedSkipQLinkList<Integer,String> w;
+	final SkipQLinkList<Integer,String> q;
+	final int gap = Integer.MAX_VALUE / n * 10;
+
+	w = new SynchronizedSkipQLinkList<Integer,String>();
+	q = new SkipQLinkList<Integer,String>();
+	for (int i=0; i<n; ++i) {
+	  w.skipAdd(keys[i], null);
+	  q.skipAdd(keys[i], null);
+	}
+
+	for (int threads=1; threads<=32; threads*=2) {
+	  report("SynchronizedSkipQLinkList", (long)n*threads, runThreads(threads,
+		new Worker() {
+		  public void run(int id) {
+			Random r = new Random(id);
+			for (int i=0; i<n; ++i) {
+			  Integer k = keys[r.nextInt(keys.length)];
+			  int dice = r.nextInt(100);
+			  if (dice < 5) w.skipAdd(k, null);
+			  else if (dice < 15) w.toArray(k, k + gap);
+			  else w.floorEntry(k);
+			}
+		  }
+		}), threads);
+	  report("synchronized SkipQLinkList", (long)n*threads, runThreads(threads,
+		new Worker() {
+		  public void run(int id) {
+			Random r = new Random(id);
+			for (int i=0; i<n; ++i) {
+			  Integer k = keys[r.nextInt(keys.length)];
+			  int dice = r.nextInt(100);
+			  synchronized (q) {
+				if (dice < 5) q.skipAdd(k, null);
+				else if (dice < 15) q.toArray(k, k + gap);
+				else q.floorEntry(k);
+			  }
+			}
+		  }
+		}), threads);
+	}
+  }
+
+  // Postcondition: The time taken to build a list of n sorted entries has
+  // been printed, once by calling skipAdd for each entry, once by the copy
+  // constructor, and once by fromSorted with random and balanced heights.
+  // The heap is collected before each timing, so that freeing the last
+  // list is not counted against the next one.
+  //
+  public static void bulk(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	SkipQLinkList<Integer,String> q = new SkipQLinkList<Integer,String>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+	long t;
+
+	for (int round=1; round<=3; ++round) {
+	  SkipQLinkList<Integer,String> a = new SkipQLinkList<Integer,String>();
+	  usedHeap();
+	  t = System.nanoTime();
+	  for (SkipQLinkList<Integer,String>.Entry e : q) a.skipAdd(e.getKey(), e.getValue());
+	  report("skipAdd per entry", n, System.nanoTime() - t, 1);
+	  a = null;
+
+	  usedHeap();
+	  t = System.nanoTime();
+	  a = new SkipQLinkList<Integer,String>(q);
+	  report("copy constructor", n, System.nanoTime() - t, 1);
+	  a = null;
+
+	  usedHeap();
+	  t = System.nanoTime();
+	  a = SkipQLinkList.fromSorted(q.iterator());
+	  report("fromSorted, random heights", n, System.nanoTime() - t, 1);
+	  a = null;
+
+	  usedHeap();
+	  t = System.nanoTime();
+	  a = SkipQLinkList.fromSorted(q.iterator(), new KeyComparator<Integer>(), true);
+	  report("fromSorted, balanced heights", n, System.nanoTime() - t, 1);
+	  a = null;
+	}
+  }
+
+  // Postcondition: The insert cost per key has been printed, for batches
+  // of 50,000 random keys added to two lists that start with the same n
+  // entries, one by skipAdd for each key and one by skipAddAll. Sorting
+  // the batch is counted as part of skipAddAll.
+  //
+  public static void batch(int n) {
+	final int m = 50000;
+	Integer[] keys = randomKeys(n, 42);
+	SkipQLinkList<Integer,String> a = new SkipQLinkList<Integer,String>();
+	for (int i=0; i<n; ++i) a.skipAdd(keys[i], null);
+	SkipQLinkList<Integer,String> b = new SkipQLinkList<Integer,String>(a);
+	String[] values = new String[m];
+	long t;
+
+	for (int round=1; round<=5; ++round) {
+	  Integer[] batch = randomKeys(m, round);
+	  usedHeap();
+	  t = System.nanoTime();
+	  for (int i=0; i<m; ++i) a.skipAdd(batch[i], values[i]);
+	  report("skipAdd per key", m, System.nanoTime() - t, 1);
+	  usedHeap();
+	  t = System.nanoTime();
+	  b.skipAddAll(batch, values);
+	  report("skipAddAll", m, System.nanoTime() - t, 1);
+	}
+  }
+
+  // Postcondition: For n random long keys and values, the time to build
+  // the list, the collector time spent while building it, the heap used
+  // afterwards, and the pause of a full collection with the list still
+  // in use have been printed, for an OffHeapLongSkipList and for a
+  // SkipQLinkList<Long,Long>.
+  //
+  public static void offHeap(int n) {
+	long[] keys = new long[n];
+	Random r = new Random(42);
+	for (int i=0; i<n; ++i) keys[i] = r.nextLong();
+	long base, t, gc;
+
+	base = usedHeap();
+	gc = gcMillis();
+	t = System.nanoTime();
+	OffHeapLongSkipList o = new OffHeapLongSkipList();
+	for (int i=0; i<n; ++i) o.skipAdd(keys[i], i);
+	t = System.nanoTime() - t;
+	gcReport("OffHeapLongSkipList", n, t, gcMillis() - gc, usedHeap() - base);
+	System.out.printf("  off-heap buffer: %,d KB used, %,d KB allocated%n",
+					  o.usedBytes()/1024, o.capacity()/1024);
+	o.skipSearch(keys[0]);
+	o.close();
+	o = null;
+
+	base = usedHeap();
+	gc = gcMillis();
+	t = System.nanoTime();
+	SkipQLinkList<Long,Long> q = new SkipQLinkList<Long,Long>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], (long)i);
+	t = System.nanoTime() - t;
+	gcReport("SkipQLinkList<Long,Long>", n, t, gcMillis() - gc, usedHeap() - base);
+	q.skipSearch(keys[0]);
+  }
+
+  // Postcondition: The startup time with n random long keys has been
+  // printed, once by reading them from a text file with a Scanner into a
+  // SkipQLinkList<Long,Long>, as SkipQLinkListTestN does, and once by
+  // reopening a MappedLongSkipList file holding them. The temporary files
+  // are deleted.
+  //
+  public static void mapped(int n) {
+	java.io.File text = null, file = null;
+	Random r = new Random(42);
+	long t;
+
+	try {
+	  text = java.io.File.createTempFile("keys", ".dat");
+	  file = java.io.File.createTempFile("keys", ".skl");
+	  file.delete();
+	  java.io.PrintWriter out = new java.io.PrintWriter(
+		new java.io.BufferedWriter(new java.io.FileWriter(text)));
+	  MappedLongSkipList m = new MappedLongSkipList(file.getPath());
+	  for (int i=0; i<n; ++i) {
+		long k = r.nextLong();
+		out.println(k + " " + i);
+		m.skipAdd(k, i);
+	  }
+	  out.close();
+	  m.close();
+
+	  t = System.nanoTime();
+	  Scanner data = new Scanner(new java.io.BufferedReader(
+								 new java.io.FileReader(text)));
+	  SkipQLinkList<Long,Long> q = new SkipQLinkList<Long,Long>();
+	  while (data.hasNextLong())
+		q.skipAdd(data.nextLong(), data.nextLong());
+	  data.close();
+	  q.skipSearch(0L);
+	  t = System.nanoTime() - t;
+	  System.out.printf("%-30s n=%,d  %,d ms%n", "Scanner into SkipQLinkList",
+						q.size(), t/1000000);
+	  q = null;
+
+	  t = System.nanoTime();
+	  m = new MappedLongSkipList(file.getPath());
+	  m.skipSearch(0L);
+	  t = System.nanoTime() - t;
+	  System.out.printf("%-30s n=%,d  %,.3f ms%n", "reopen MappedLongSkipList",
+						m.size(), t/1e6);
+	  m.close();
+	}
+	catch (java.io.IOException ex) {
+	  System.out.println("mapped: " + ex);
+	}
+	finally {
+	  if (text != null) text.delete();
+	  if (file != null) file.delete();
+	}
+  }
+
+  // Postcondition: The throughput of n skipAdd calls on a new
+  // DurableSkipQLinkList has been printed, for group commits of 1 (an
+  // fsync per change), 8, 64 and 512 changes. Snapshots are not taken.
+  // The log directories are deleted.
+  //
+  public static void wal(int n) {
+	Integer[] keys = randomKeys(n, 42);
+
+	for (int batch=1; batch<=512; batch*=8) {
+	  java.io.File dir = null;
+	  try {
+		dir = java.nio.file.Files.createTempDirectory("wal").toFile();
+		DurableSkipQLinkList<Integer,String> d;
+		d = new DurableSkipQLinkList<Integer,String>(dir.getPath(),
+			  new KeyComparator<Integer>(), Codec.INT, Codec.STRING, batch, 0);
+		long t = System.nanoTime();
+		for (int i=0; i<n; ++i) d.skipAdd(keys[i], "value");
+		d.sync();
+		t = System.nanoTime() - t;
+		d.close();
+		report("group commit of " + batch, n, t, 1);
+	  }
+	  catch (java.io.IOException ex) {
+		System.out.println("wal: " + ex);
+	  }
+	  finally {
+		if (dir != null) {
+		  for (java.io.File f : dir.listFiles()) f.delete();
+		  dir.delete();
+		}
+	  }
+	}
+  }
+
+  // Postcondition: The size of a SkipQLinkList of n random Integer keys
+  // and String values, written to an ObjectOutputStream, and the times
+  // taken to write it and to read it back, have been printed.
+  //
+  public static void serial(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	SkipQLinkList<Integer,String> q = new SkipQLinkList<Integer,String>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], "v" + i);
+
+	try {
+	  for (int round=1; round<=3; ++round) {
+		java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+		usedHeap();
+		long t = System.nanoTime();
+		java.io.ObjectOutputStream out = new java.io.ObjectOutputStream(bytes);
+		out.writeObject(q);
+		out.close();
+		long write = System.nanoTime() - t;
+
+		usedHeap();
+		t = System.nanoTime();
+		java.io.ObjectInputStream in = new java.io.ObjectInputStream(
+		  new java.io.ByteArrayInputStream(bytes.toByteArray()));
+		Object copy = in.readObject();
+		long read = System.nanoTime() - t;
+		System.out.printf("n=%,d  %,d bytes (%.1f/entry)  write %,d ms"
+						  + "  read %,d ms%n", n, bytes.size(),
+						  (double)bytes.size()/n, write/1000000, read/1000000);
+		copy = null;
+	  }
+	}
+	catch (Exception ex) {
+	  System.out.println("serial: " + ex);
+	}
+  }
+
+  // Postcondition: For each promotion probability, the heap used by a
+  // SkipQLinkList of n random Integer keys (the keys excluded), its
+  // height, and the best of three rounds of n skipSearch calls have been
+  // printed. The level generators are seeded, so runs are repeatable.
+  //
+  public static void levels(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] probes = randomKeys(n, 7);
+	double[] ps = {GeometricLevelGenerator.HALF,
+				   GeometricLevelGenerator.QUARTER,
+				   GeometricLevelGenerator.INVERSE_E};
+	String[] names = {"p=1/2", "p=1/4", "p=1/e"};
+
+	for (int j=0; j<ps.length; ++j) {
+	  long base = usedHeap();
+	  SkipQLinkList<Integer,String> q = new SkipQLinkList<Integer,String>(
+		new KeyComparator<Integer>(), new GeometricLevelGenerator(ps[j], 1));
+	  for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+	  long used = usedHeap() - base;
+
+	  long best = Long.MAX_VALUE;
+	  for (int round=1; round<=3; ++round) {
+		long t = System.nanoTime();
+		for (int i=0; i<n; ++i) q.skipSearch(probes[i]);
+		best = Math.min(best, System.nanoTime() - t);
+	  }
+	  System.out.printf("%-6s height=%-3d %.1f bytes/entry  %,.0f ns/search%n",
+						names[j], q.height(), (double)used/n, (double)best/n);
+	  q = null;
+	}
+  }
+
+  // Postcondition: For each insert order, and for a SkipQLinkList with
+  // random heights and one in deterministic mode, the percentiles of the
+  // time of each of n skipAdd calls, and then of n skipSearch calls for
+  // random keys, have been printed. In the adversarial order the keys
+  // alternate between the low and the high end (0, n-1, 1, n-2, ...), so
+  // every insert lands in the same place, between the two runs.
+  //
+  public static void deterministic(int n) {
+	String[] orders = {"sorted", "reversed", "random", "adversarial"};
+	Integer[] keys = new Integer[n];
+	Integer[] probes = new Integer[n];
+	Random r = new Random(7);
+	long[] t = new long[n];
+
+	for (int i=0; i<n; ++i) probes[i] = r.nextInt(n);
+	for (int pass=0; pass<2; ++pass)		// The first pass warms up
+	  for (String order : orders) {
+		for (int i=0; i<n; ++i)
+		  switch (order) {
+			case "sorted": keys[i] = i; break;
+			case "reversed": keys[i] = n-1-i; break;
+			case "random": keys[i] = r.nextInt(n); break;
+			default: keys[i] = (i % 2 == 0)? i/2 : n-1-i/2;
+		  }
+		for (int mode=0; mode<2; ++mode) {
+		  SkipQLinkList<Integer,String> q = new SkipQLinkList<Integer,String>(
+			new KeyComparator<Integer>(), mode == 1);
+		  String name = order + ((mode == 1)? " 1-2-3" : " random");
+		  for (int i=0; i<n; ++i) {
+			long t0 = System.nanoTime();
+			q.skipAdd(keys[i], null);
+			t[i] = System.nanoTime() - t0;
+		  }
+		  if (pass == 1) percentiles(name + " add", t);
+		  for (int i=0; i<n; ++i) {
+			long t0 = System.nanoTime();
+			q.skipSearch(probes[i]);
+			t[i] = System.nanoTime() - t0;
+		  }
+		  if (pass == 1) percentiles(name + " search (h=" + q.height() + ")", t);
+		}
+	  }
+  }
+
+  // Postcondition: For each kind of list, filled with n random keys, the
+  // throughput of n operations has been printed, where each second one
+  // removes a random key of the list, and the one after adds a new random
+  // key in its place, followed by the percentiles of the time of each
+  // remove. The lazy lists unlink their removed entries in batches of
+  // 1024. Every list gets the same keys, and the first round warms up.
+  //
+  public static void churn(int n) {
+	String[] names = {"SkipQLinkList random", "SkipQLinkList random lazy",
+					  "SkipQLinkList 1-2-3", "SkipQLinkList 1-2-3 lazy", "TreeMap"};
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] adds = randomKeys(n/2, 9);
+	int[] victims = new int[n/2];
+	long[] t = new long[n/2];
+	Random r = new Random(3);
+
+	for (int i=0; i<n/2; ++i) victims[i] = r.nextInt(n);
+	for (int round=0; round<2; ++round)
+	  for (int kind=0; kind<names.length; ++kind) {
+		Integer[] pool = keys.clone();
+		SkipQLinkList<Integer,String> q = null;
+		TreeMap<Integer,String> tm = null;
+
+		if (kind < 4) {
+		  q = new SkipQLinkList<Integer,String>(new KeyComparator<Integer>(),
+												kind >= 2);
+		  if (kind % 2 == 1) q.setLazyRemoval(1024);
+		  for (int i=0; i<n; ++i) q.skipAdd(pool[i], null);
+		}
+		else {
+		  tm = new TreeMap<Integer,String>();
+		  for (int i=0; i<n; ++i) tm.put(pool[i], null);
+		}
+
+		long total = System.nanoTime();
+		for (int i=0; i<n/2; ++i) {
+		  int j = victims[i];
+		  long t0 = System.nanoTime();
+		  if (q != null) q.remove(pool[j]);
+		  else tm.remove(pool[j]);
+		  t[i] = System.nanoTime() - t0;
+		  pool[j] = adds[i];
+		  if (q != null) q.skipAdd(adds[i], null);
+		  else tm.put(adds[i], null);
+		}
+		total = System.nanoTime() - total;
+		if (round == 1) {
+		  report(names[kind], 2*(n/2), total, 1);
+		  percentiles("  remove", t);
+		}
+	  }
+  }
+
+  // Postcondition: For each NavigableMap, the time of n puts of random
+  // keys, n gets of random keys, and n/100 scans of the 100 entries from
+  // a random key up (by tailMap) has been printed. The best of three
+  // rounds is kept for each.
+  //
+  public static void navMap(int n) {
+	String[] names = {"SkipQLinkListMap", "TreeMap", "ConcurrentSkipListMap"};
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] probes = randomKeys(n, 7);
+	int scans = Math.max(n/100, 1);
+
+	for (int kind=0; kind<names.length; ++kind) {
+	  long put = Long.MAX_VALUE, get = Long.MAX_VALUE, scan = Long.MAX_VALUE;
+	  long sum = 0;				// Keeps the reads from being optimized away
+
+	  for (int round=0; round<3; ++round) {
+		NavigableMap<Integer,Integer> m;
+		if (kind == 0) m = new SkipQLinkListMap<Integer,Integer>();
+		else if (kind == 1) m = new TreeMap<Integer,Integer>();
+		else m = new ConcurrentSkipListMap<Integer,Integer>();
+
+		long t = System.nanoTime();
+		for (int i=0; i<n; ++i) m.put(keys[i], i);
+		put = Math.min(put, System.nanoTime() - t);
+
+		t = System.nanoTime();
+		for (int i=0; i<n; ++i) {
+		  Integer v = m.get(probes[i]);
+		  if (v != null) sum += v;
+		}
+		get = Math.min(get, System.nanoTime() - t);
+
+		t = System.nanoTime();
+		for (int i=0; i<scans; ++i) {
+		  int k = 0;
+		  for (Map.Entry<Integer,Integer> e : m.tailMap(probes[i], true).entrySet()) {
+			sum += e.getValue();
+			if (++k == 100) break;
+		  }
+		}
+		scan = Math.min(scan, System.nanoTime() - t);
+	  }
+	  System.out.printf("%-22s put %,6.0f ns  get %,6.0f ns  scan of 100 %,8.0f ns"
+						+ "%s%n", names[kind], (double)put/n, (double)get/n,
+						(double)scan/scans, (sum == 42)? " " : "");
+	}
+  }
+
+  // Postcondition: The time to sum the values of a list of n entries has
+  // been printed, for a loop on the iterator, and for sequential and
+  // parallel streams made on the spliterator of the list and on one made
+  // from its iterator, the way Iterable does by default. The best of five
+  // rounds is kept for each.
+  //
+  public static void parallelScan(int n) {
+	String[] names = {"iterator loop", "stream", "parallel stream",
+					  "iterator stream", "parallel iterator stream"};
+	Integer[] keys = randomKeys(n, 42);
+	SkipQLinkList<Integer,Long> q = new SkipQLinkList<Integer,Long>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], (long)i);
+
+	System.out.println(Runtime.getRuntime().availableProcessors()
+					   + " processors, " + n + " entries");
+	for (int kind=0; kind<names.length; ++kind) {
+	  long best = Long.MAX_VALUE, sum = 0;
+
+	  for (int round=0; round<5; ++round) {
+		long t = System.nanoTime();
+		if (kind == 0) {
+		  sum = 0;
+		  for (SkipQLinkList<Integer,Long>.Entry e : q) sum += e.getValue();
+		}
+		else if (kind == 1)
+		  sum = q.valueStream().mapToLong(Long::longValue).sum();
+		else if (kind == 2)
+		  sum = q.valueStream().parallel().mapToLong(Long::longValue).sum();
+		else
+		  sum = java.util.stream.StreamSupport.stream(
+				  Spliterators.spliterator(q.iterator(), q.size(),
+										   Spliterator.ORDERED), kind == 4)
+				  .mapToLong(e -> ((SkipQLinkList<Integer,Long>.Entry) e)
+				  .getValue()).sum();
+		best = Math.min(best, System.nanoTime() - t);
+	  }
+	  System.out.printf("%-26s %,8.2f ms  (sum %d)%n", names[kind],
+						best/1e6, sum);
+	}
+  }
+
+  // Postcondition: For n scans of the 10 entries from a random key up, by
+  // a successors() iterator and by one reused Cursor, and for n calls of
+  // set and of setValue, the bytes allocated by this thread and the time
+  // per entry (or call) have been printed. Each is run once to warm up
+  // and measured on the second round.
+  //
+  public static void cursor(int n) {
+	String[] names = {"successors() scan", "Cursor scan", "set(V)",
+					  "setValue(V)"};
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] probes = randomKeys(n, 7);
+	SkipQLinkList<Integer,Integer> q = new SkipQLinkList<Integer,Integer>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], i);
+	SkipQLinkList<Integer,Integer>.Cursor cur = q.cursor();
+	com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean)
+		java.lang.management.ManagementFactory.getThreadMXBean();
+	long me = Thread.currentThread().getId();
+
+	for (int kind=0; kind<names.length; ++kind) {
+	  long bytes = 0, time = 0, items = 0, sum = 0;
+
+	  for (int round=0; round<2; ++round) {
+		long b = mx.getThreadAllocatedBytes(me);
+		long t = System.nanoTime();
+		items = 0;
+		for (int i=0; i<n; ++i) {
+		  if (kind == 0) {
+			Iterator it = q.successors(probes[i]);
+			for (int k=0; (k<10) && it.hasNext(); ++k, ++items)
+			  sum += ((SkipQLinkList<Integer,Integer>.Entry) it.next()).getValue();
+		  }
+		  else if (kind == 1) {
+			boolean ok = cur.seek(probes[i]);
+			for (int k=0; (k<10) && ok; ++k, ++items, ok = cur.next())
+			  sum += cur.value();
+		  }
+		  else {
+			q.seek(1 + i % q.size());
+			if (kind == 2) sum += q.set(keys[i]).getValue();
+			else sum += q.setValue(keys[i]);
+			items++;
+		  }
+		}
+		time = System.nanoTime() - t;
+		bytes = mx.getThreadAllocatedBytes(me) - b;
+	  }
+	  System.out.printf("%-20s %,8.2f bytes  %,7.1f ns  per entry%s%n",
+						names[kind], (double)bytes/items, (double)time/items,
+						(sum == 42)? " " : "");
+	}
+  }
+
+  // Postcondition: n values have been added under n/100,000 keys (at least
+  // one), with 10,000 other keys of one value each, to a SkipQLinkList
+  // with duplicate keys and to a SkipQLinkMultimap. The time per add, and
+  // the time to count the values of one of the large keys by sameKey and
+  // by countFor, and to read the first 10 of them, have been printed.
+  //
+  public static void multimap(int n) {
+	int big = Math.max(1, n/100000), probes = 200;
+	Random rnd = new Random(42);
+	SkipQLinkList<Integer,Integer> d = new SkipQLinkList<Integer,Integer>();
+	SkipQLinkMultimap<Integer,Integer> m =
+		new SkipQLinkMultimap<Integer,Integer>();
+	Integer[] keys = new Integer[n];
+	long sum = 0, t;
+
+	for (int i=0; i<n; ++i) keys[i] = 2 * rnd.nextInt(big);
+	for (int i=0; i<10000; ++i) {
+	  d.skipAdd(2*i + 1, i);
+	  m.put(2*i + 1, i);
+	}
+	t = System.nanoTime();
+	for (int i=0; i<n; ++i) d.skipAdd(keys[i], i);
+	System.out.printf("%-34s %,10.0f ns%n", "SkipQLinkList add",
+					  (System.nanoTime() - t)/(double)n);
+	t = System.nanoTime();
+	for (int i=0; i<n; ++i) m.put(keys[i], i);
+	System.out.printf("%-34s %,10.0f ns%n", "SkipQLinkMultimap put",
+					  (System.nanoTime() - t)/(double)n);
+
+	for (int round=0; round<2; ++round) {
+	  t = System.nanoTime();
+	  for (int i=0; i<probes; ++i) {
+		Iterator it = d.sameKey(keys[i]);
+		while (it.hasNext()) {it.next(); sum++;}
+	  }
+	  long count = System.nanoTime() - t;
+	  t = System.nanoTime();
+	  for (int i=0; i<probes; ++i) {
+		Iterator it = d.sameKey(keys[i]);
+		for (int k=0; (k<10) && it.hasNext(); ++k)
+		  sum += ((SkipQLinkList<Integer,Integer>.Entry) it.next()).getValue();
+	  }
+	  long read = System.nanoTime() - t;
+	  if (round == 1)
+		System.out.printf("%-34s %,10.0f ns  first 10 %,8.0f ns%n",
+						  "SkipQLinkList sameKey count", count/(double)probes,
+						  read/(double)probes);
+
+	  t = System.nanoTime();
+	  for (int i=0; i<probes; ++i) sum += m.countFor(keys[i]);
+	  count = System.nanoTime() - t;
+	  t = System.nanoTime();
+	  for (int i=0; i<probes; ++i) {
+		List<Integer> v = m.valuesFor(keys[i]);
+		for (int k=0; (k<10) && (k<v.size()); ++k) sum += v.get(k);
+	  }
+	  read = System.nanoTime() - t;
+	  if (round == 1)
+		System.out.printf("%-34s %,10.0f ns  first 10 %,8.0f ns%s%n",
+						  "SkipQLinkMultimap countFor", count/(double)probes,
+						  read/(double)probes, (sum == 42)? " " : "");
+	}
+  }
+
+  // Postcondition: For a list of n random Integer keys, and one of the same
+  // keys as Strings, the heap taken by the hash index has been printed,
+  // with the time per lookup of n random keys (half of them in the list)
+  // by skipSearch and get, without and with the index. The best of three
+  // rounds is kept for each.
+  //
+  public static void hashIndex(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] ints = new Integer[n];
+	String[] strs = new String[n];
+	String[] strKeys = new String[n];
+	Random r = new Random(7);
+
+	for (int i=0; i<n; ++i) {
+	  ints[i] = (r.nextBoolean())? keys[r.nextInt(n)] : r.nextInt();
+	  strs[i] = "key-" + ints[i];
+	  strKeys[i] = "key-" + keys[i];
+	}
+	hashIndex("Integer", keys, ints);
+	hashIndex("String", strKeys, strs);
+  }
+
+  private static <K> void hashIndex(String name, K[] keys, K[] probes) {
+	int n = keys.length;
+	SkipQLinkList<K,String> q = new SkipQLinkList<K,String>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+
+	long base = usedHeap();
+	q.setHashIndex(true);
+	long used = usedHeap() - base;
+	System.out.printf("%s keys: the index takes %.1f bytes/entry%n", name,
+					  (double)used/n);
+
+	for (int hashed=0; hashed<2; ++hashed) {
+	  q.setHashIndex(hashed == 1);
+	  long search = Long.MAX_VALUE, get = Long.MAX_VALUE, found = 0;
+	  for (int round=0; round<3; ++round) {
+		long t = System.nanoTime();
+		for (int i=0; i<n; ++i) q.skipSearch(probes[i]);
+		search = Math.min(search, System.nanoTime() - t);
+		t = System.nanoTime();
+		found = 0;
+		for (int i=0; i<n; ++i) if (q.get(probes[i]) != null) found++;
+		get = Math.min(get, System.nanoTime() - t);
+	  }
+	  System.out.printf("  %-14s skipSearch %,6.0f ns  get %,6.0f ns  (%d found)%n",
+						(hashed == 1)? "hash index" : "descent",
+						(double)search/n, (double)get/n, found);
+	}
+  }
+
+  // Postcondition: For a SkipQLinkList with a KeyComparator, whose entries
+  // keep folded keys, and one with a comparator that calls
+  // compareToIgnoreCase, the time per skipAdd of n URL-like keys with a
+  // long common prefix and mixed case, the heap per entry, and the time
+  // per skipSearch of n of those keys, in another case and as new String
+  // objects, have been printed. The best of three rounds is kept.
+  //
+  public static void collate(int n) {
+	String[] keys = new String[n];
+	String[] probes = new String[n];
+	Random r = new Random(42);
+
+	for (int i=0; i<n; ++i)
+	  keys[i] = "https://Example.com/Tenants/T" + r.nextInt(1000)
+				+ "/Items/Item-" + r.nextInt();
+	for (int i=0; i<n; ++i) {
+	  String k = keys[r.nextInt(n)];
+	  probes[i] = (i % 2 == 0)? k.toLowerCase() : k.toUpperCase();
+	}
+	Comparator<String> plain = new Comparator<String>() {
+	  public int compare(String a, String b) {
+		return a.compareToIgnoreCase(b);
+	  }
+	};
+	String[] names = {"folded (KeyComparator)", "compareToIgnoreCase"};
+
+	for (int kind=0; kind<2; ++kind) {
+	  long add = Long.MAX_VALUE, search = Long.MAX_VALUE, used = 0;
+	  for (int round=0; round<3; ++round) {
+		long base = usedHeap();
+		SkipQLinkList<String,String> q = (kind == 0)?
+		  new SkipQLinkList<String,String>() :
+		  new SkipQLinkList<String,String>(plain);
+		long t = System.nanoTime();
+		for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+		add = Math.min(add, System.nanoTime() - t);
+		used = usedHeap() - base;
+		t = System.nanoTime();
+		for (int i=0; i<n; ++i) q.skipSearch(probes[i]);
+		search = Math.min(search, System.nanoTime() - t);
+	  }
+	  System.out.printf("%-24s skipAdd %,6.0f ns  skipSearch %,6.0f ns"
+						+ "  %.1f bytes/entry%n", names[kind], (double)add/n,
+						(double)search/n, (double)used/n);
+	}
+  }
+
+  // A composite key of the keycodec benchmark: tenant ascending, then
+  // timestamp descending, then id ascending.
+  //
+  static final class TenantKey implements Comparable<TenantKey> {
+	final String tenant;
+	final long timestamp, id;
+
+	TenantKey(String tenant, long timestamp, long id) {
+	  this.tenant = tenant;
+	  this.timestamp = timestamp;
+	  this.id = id;
+	}
+
+	public int compareTo(TenantKey o) {
+	  int r = tenant.compareTo(o.tenant);
+	  if (r == 0) r = Long.compare(o.timestamp, timestamp);
+	  if (r == 0) r = Long.compare(id, o.id);
+	  return r;
+	}
+  }
+
+  static final KeyCodec<TenantKey> TENANT_KEYS = new KeyCodec<TenantKey>() {
+	public byte[] encode(TenantKey k) {
+	  return new KeyCodec.Writer().writeString(k.tenant, false)
+			   .writeLong(k.timestamp, true).writeLong(k.id, false)
+			   .toByteArray();
+	}
+	public TenantKey decode(byte[] b) {
+	  KeyCodec.Reader r = new KeyCodec.Reader(b);
+	  return new TenantKey(r.readString(false), r.readLong(true),
+						   r.readLong(false));
+	}
+  };
+
+  // Postcondition: For n composite keys from 100 tenants, the time per
+  // skipAdd and per skipSearch of a SkipQLinkList of the keys, compared
+  // by compareTo, and of one of their KeyCodec encodings, compared as
+  // unsigned bytes, have been printed. For the encoded list, the search
+  // time is given with the probes encoded beforehand, and encoded on each
+  // search. The best of three rounds is kept.
+  //
+  public static void keyCodec(int n) {
+	TenantKey[] keys = new TenantKey[n], probes = new TenantKey[n];
+	byte[][] encoded = new byte[n][], encodedProbes = new byte[n][];
+	Random r = new Random(42);
+
+	for (int i=0; i<n; ++i)
+	  keys[i] = new TenantKey("tenant-" + r.nextInt(100),
+							  1700000000000L + r.nextInt(1000000), r.nextInt());
+	for (int i=0; i<n; ++i) {
+	  probes[i] = keys[r.nextInt(n)];
+	  encoded[i] = TENANT_KEYS.encode(keys[i]);
+	  encodedProbes[i] = TENANT_KEYS.encode(probes[i]);
+	}
+
+	long add = Long.MAX_VALUE, search = Long.MAX_VALUE;
+	for (int round=0; round<3; ++round) {
+	  SkipQLinkList<TenantKey,String> q = new SkipQLinkList<TenantKey,String>();
+	  long t = System.nanoTime();
+	  for (int i=0; i<n; ++i) q.skipAdd(keys[i], null);
+	  add = Math.min(add, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  for (int i=0; i<n; ++i) q.skipSearch(probes[i]);
+	  search = Math.min(search, System.nanoTime() - t);
+	}
+	System.out.printf("%-20s skipAdd %,6.0f ns  skipSearch %,6.0f ns%n",
+					  "compareTo", (double)add/n, (double)search/n);
+
+	long encodedSearch = Long.MAX_VALUE;
+	add = search = Long.MAX_VALUE;
+	for (int round=0; round<3; ++round) {
+	  SkipQLinkList<byte[],String> q = new SkipQLinkList<byte[],String>();
+	  long t = System.nanoTime();
+	  for (int i=0; i<n; ++i) q.skipAdd(encoded[i], null);
+	  add = Math.min(add, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  for (int i=0; i<n; ++i) q.skipSearch(encodedProbes[i]);
+	  search = Math.min(search, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  for (int i=0; i<n; ++i) q.skipSearch(TENANT_KEYS.encode(probes[i]));
+	  encodedSearch = Math.min(encodedSearch, System.nanoTime() - t);
+	}
+	System.out.printf("%-20s skipAdd %,6.0f ns  skipSearch %,6.0f ns"
+					  + "  (%,.0f ns encoding the probe)%n", "KeyCodec bytes",
+					  (double)add/n, (double)search/n, (double)encodedSearch/n);
+  }
+
+  // Postcondition: A SkipQLinkList and an UnrolledSkipList of n random
+  // Integer keys have been built one after the other, and for each, the
+  // heap it takes, and the time per get of a key in the list, per entry of
+  // a scan of all the values, and per entry of 100-entry scans from random
+  // keys (by a Cursor and by successors) have been printed, best of 3.
+  //
+  public static void unrolled(int n) {
+	Integer[] keys = randomKeys(n, 42);
+	Integer[] probes = new Integer[n];
+	int ranges = Math.min(n, 100000);
+	Random r = new Random(7);
+	long base, heap, get, scan, range, items = 0, sum = 0, t;
+
+	for (int i=0; i<n; ++i) probes[i] = keys[r.nextInt(n)];
+
+	base = usedHeap();
+	SkipQLinkList<Integer,Integer> q = new SkipQLinkList<Integer,Integer>();
+	for (int i=0; i<n; ++i) q.skipAdd(keys[i], keys[i]);
+	heap = usedHeap() - base;
+	SkipQLinkList<Integer,Integer>.Cursor cur = q.cursor();
+	get = scan = range = Long.MAX_VALUE;
+	for (int round=0; round<3; ++round) {
+	  t = System.nanoTime();
+	  for (int i=0; i<n; ++i) sum += q.get(probes[i]).getValue();
+	  get = Math.min(get, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  for (Iterator it = q.values(); it.hasNext(); ) sum += (Integer) it.next();
+	  scan = Math.min(scan, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  items = 0;
+	  for (int i=0; i<ranges; ++i) {
+		boolean ok = cur.seek(probes[i]);
+		for (int k=0; (k<100) && ok; ++k, ++items, ok = cur.next())
+		  sum += cur.value();
+	  }
+	  range = Math.min(range, System.nanoTime() - t);
+	}
+	System.out.printf("%-16s heap %,6.1f bytes/entry  get %,6.0f ns  scan %,5.1f"
+					  + " ns/entry  range %,5.1f ns/entry%n", "SkipQLinkList",
+					  (double)heap/n, (double)get/n, (double)scan/q.size(),
+					  (double)range/items);
+	q = null;
+	cur = null;
+
+	base = usedHeap();
+	UnrolledSkipList<Integer,Integer> u = new UnrolledSkipList<Integer,Integer>();
+	for (int i=0; i<n; ++i) u.put(keys[i], keys[i]);
+	heap = usedHeap() - base;
+	get = scan = range = Long.MAX_VALUE;
+	for (int round=0; round<3; ++round) {
+	  t = System.nanoTime();
+	  for (int i=0; i<n; ++i) sum += u.get(probes[i]);
+	  get = Math.min(get, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  for (Iterator<Integer> it = u.values(); it.hasNext(); ) sum += it.next();
+	  scan = Math.min(scan, System.nanoTime() - t);
+	  t = System.nanoTime();
+	  items = 0;
+	  for (int i=0; i<ranges; ++i) {
+		Iterator<Map.Entry<Integer,Integer>> it = u.successors(probes[i]);
+		for (int k=0; (k<100) && it.hasNext(); ++k, ++items)
+		  sum += it.next().getValue();
+	  }
+	  range = Math.min(range, System.nanoTime() - t);
+	}
+	System.out.printf("%-16s heap %,6.1f bytes/entry  get %,6.0f ns  scan %,5.1f"
+					  + " ns/entry  range %,5.1f ns/entry%s%n", "UnrolledSkipList",
+					  (double)heap/n, (double)get/n, (double)scan/u.size(),
+					  (double)range/items, (sum == 42)? " " : "");
+	System.out.printf("%,d blocks of %.1f keys on average, height %d%n",
+					  u.blockCount(), (double)u.size()/u.blockCount(),
+					  u.height());
+  }
+
+  // Postcondition: The 50th, 99th, 99.9th and 99.99th percentiles and the
+  // maximum of the given times have been printed. The array is sorted.
+  //
+  public static void percentiles(String name, long[] t) {
+	Arrays.sort(t);
+	int n = t.length;
+	System.out.printf("%-34s p50 %,6d  p99 %,7d  p99.9 %,7d  p99.99 %,8d"
+					  + "  max %,10d ns%n", name, t[n/2], t[(int)(n*0.99)],
+					  t[(int)(n*0.999)], t[(int)(n*0.9999)], t[n-1]);
+  }
+
+  // Postcondition: Returns the total time spent by all the collectors
+  // since the JVM started, in milliseconds.
+  //
+  public static long gcMillis() {
+	long ms = 0;
+	for (java.lang.management.GarbageCollectorMXBean b :
+		 java.lang.management.ManagementFactory.getGarbageCollectorMXBeans())
+	  ms += Math.max(b.getCollectionTime(), 0);
+	return ms;
+  }
+
+  // Postcondition: The results of a GC measurement have been printed,
+  // followed by the time of one more full collection, which is taken
+  // while the measured list is still live.
+  //
+  public static void gcReport(String name, int n, long buildNanos,
+							  long gcMs, long heap) {
+	long t = System.nanoTime();
+	System.gc();
+	t = System.nanoTime() - t;
+	System.out.printf("%-26s n=%,d  build %,d ms  (GC %,d ms)  heap %,d KB"
+					  + "  full GC %,d ms%n", name, n, buildNanos/1000000,
+					  gcMs, heap/1024, t/1000000);
+  }
+
+  // The work done by each thread of a multi-threaded benchmark.
+  //
+  public interface Worker {
+	void run(int id);
+  }
+
+  // Postcondition: The worker has been run by the given number of threads
+  // at once. Returns the time they took to finish, in nanoseconds.
+  //
+  public static long runThreads(int threads, final Worker w) {
+	Thread[] t = new Thread[threads];
+	final CountDownLatch go = new CountDownLatch(1);
+	long time;
+
+	for (int i=0; i<threads; ++i) {
+	  final int id = i;
+	  t[i] = new Thread() {
+		public void run() {
+		  try { go.await(); } catch (InterruptedException e) { return; }
+		  w.run(id);
+		}
+	  };
+	  t[i].start();
+	}
+	time = System.nanoTime();
+	go.countDown();
+	for (int i=0; i<threads; ++i)
+	  try { t[i].join(); } catch (InterruptedException e) {}
+	return System.nanoTime() - time;
+  }
+
+  // Postcondition: One line of a timing has been printed, for n operations
+  // done by the given number of threads in the given number of nanoseconds.
+  //
+  public static void report(String name, long n, long nanos, int threads) {
+	System.out.printf("%-32s threads=%-2d %,12.0f ops/s  (%.0f ns/op)%n",
+					  name, threads, n*1e9/nanos, (double)nanos/n);
+  }
+
+  // Postcondition: Returns n random Integer keys from a seeded generator.
+  //
+  public static Integer[] randomKeys(int n, long seed) {
+	Random r = new Random(seed);
+	Integer[] keys = new Integer[n];
+	for (int i=0; i<n; ++i) keys[i] = r.nextInt();
+	return keys;
+  }
+
+  // Postcondition: Returns the heap in use after a few garbage collections.
+  //
+  public static long usedHeap() {
+	Runtime rt = Runtime.getRuntime();
+	for (int i=0; i<4; ++i) {
+	  System.gc();
+	  try { Thread.sleep(50); } catch (InterruptedException e) {}
+	}
+	return rt.totalMemory() - rt.freeMemory();
+  }
+
+  // Postcondition: One line of a heap measurement has been printed.
+  //
+  public static void report(String name, int n, long bytes) {
+	System.out.printf("%-24s n=%,d  heap=%,d KB  (%.1f bytes/entry)%n",
+					  name, n, bytes/1024, (double)bytes/n);
+  }
+}
@@ -1,849 +1,2735 @@
-/**
- * @(#)SkipQLinkList.java
- *
- * A generic container class for a skip list implementation as fully doubly linked
- * structure, where the elements are entries consisting of two fields: (key, value)
- * pair which are also generic (K,V).
- *
- * At each level, an empty doubly linked list contains a header node with key -OO,
- * and a trailer node with key +OO. The empty skip list has two empty doubly linked
- * lists, at levels 0 and 1.
- *
- * The skip list has four external pointers, as follows:
- *   head,    points at the header node of level 0 list
- *   tail,    points at the trailer node of level 0 list
- *   start,   points at the header node of the top level list
- *   current, points at the current node of the list at level 0.
- *
- * The generic parameters, K & V are also parameters to the inner class Entry,
- * that constitue the data type of the elements in the list. K and V may be any
- * of the Java reference types with a default constructor, and overloads clone(),
- * equals() and toString() methods; Also implements the Comparable interface.
- *
- * @author Dr. Abdulghani M. Al-Qasimi
- * @version 5.00 2020/03/27
- *
- */
-import java.util.Random;
-import java.util.Iterator;
-import java.util.Comparator;
-import java.io.Serializable;
-
-
-public class SkipQLinkList<K,V>
-  implements Iterable<SkipQLinkList<K,V>.Entry>, Serializable
-{
-	private static final int  MAX_H = 32;			// Maximum allowable height
-	private static final String PLUS_INF  = "+OO";	// The special key plus infinity
-	private static final String MINUS_INF = "-OO";	// The special key minus infinity
-
-	private QNode start;			// Always points to the top left
-	private QNode head;				// Always points to bottom left
-	private QNode tail;				// Always points to bottom right
-	private QNode current;			// Points to current item in level 0
-	private int height, count;		// Store height and size of the list
-	private Random r;				// A random number generator object
-	private Entry epi;				// A +OO entry object
-	private Entry emi;				// A -OO entry object
-	protected Entry entry;			// An entry object for temporary use
-	protected Comparator<K> c;		// Special comparator
-
-// CONSTRUCTORS:
-//
-// 1.	Default constructor of SkipQLinkList and default key comparator
-//
-	public SkipQLinkList() {
-		r = new Random();			// Init. random number generator
-		c = new KeyComparator<K>();	// Create external key comparator
-
-		entry = (Entry) new Entry(null,null);
-
-		// Create two entries for the -OO and +OO special keys
-		emi = (Entry) new Entry((K)MINUS_INF,null);
-		epi = (Entry) new Entry((K)PLUS_INF,null);
-
-		height = 0;					// Init. the skip list height
-		count = 0;					// Init. the skip list size
-		head = createFirstLevel();	// Create level 0 Doubly Linked list
-		tail = head.getNext();		// Init. the head and tail pointers
-		current = head;				// Init. the current pointer at head
-		start = addOneLevel();		// Create level 1 Doubly Linked list
-	}
-
-// 2.	constructor of a SkipQLinkList with a passed key comparator
-//
-	public SkipQLinkList(Comparator<K> comp) {
-		r = new Random();			// Init. random number generator
-		c = comp;					// Use the passed key comparator
-
-		entry = (Entry) new Entry(null,null);
-
-
-		// Create two entries for the -OO and +OO special keys
-		emi = (Entry) new Entry((K)MINUS_INF,null);
-		epi = (Entry) new Entry((K)PLUS_INF,null);
-
-		height = 0;					// Initialize the skip list height
-		count = 0;					// Initialize the skip list size
-		head = createFirstLevel();	// Create level 0 Doubly Linked list
-		tail = head.getNext();		// Init. the head and tail pointers
-		current = head;				// Init. the current pointer at head
-		start = addOneLevel();		// Create level 1 Doubly Linked list
-	}
-
-// 3.	A copy constructor where the skip list is initialized as a copy
-// of the passed source skip list, and uses the default comparator.
-//
-    public SkipQLinkList(SkipQLinkList<K,V> source) {
-		r = source.r;				// copy the random number generator
-		c = new KeyComparator<K>();	// Create the default key comparator
-
-		entry = (Entry) new Entry(null,null);
-
-		// Create two entries for the -OO and +OO special keys
-		emi = (Entry) new Entry((K)MINUS_INF,null);
-		epi = (Entry) new Entry((K)PLUS_INF,null);
-
-		height = 0;					// Initialize the skip list height
-		count = 0;					// Initialize the skip list size
-		head = createFirstLevel();	// Create level 0 Doubly Linked list
-		tail = head.getNext();		// Init. the head and tail pointers
-		current = head;				// Init. the current pointer at head
-		start = addOneLevel();		// Create level 1 Doubly Linked list
-
-		for (SkipQLinkList.Entry ei : source)
-			skipAdd((K)ei.getKey(),(V)ei.getValue());
-    }
-
-//
-// Private HELPER METHODS, used by this skip list class only
-//
-
-// 1.	This function provides the height that a new entry should be
-// inserted at in the list. The height is calculated usung a number
-// of random coin tosses of probability 1/2 each. The returned height
-// never exceed the provided maximum, max.
-//
-	private int getRandHeight(int max) {
-		int i=0;						// Counter of consecutive heads.
-		while (r.nextInt(2) == 0) i++;	// Toss a coin until tails.
-		if (i > max) return max;		// Limit to max.
-		return i;
-	}
-
-// 2.	This function is used to nullify all the fields of a QNode,
-// so it will be freed by the garbage collector.
-//
-	private void deref(QNode p) {
-		p.setEntry(null);
-		p.setNext(null);
-		p.setPrev(null);
-		p.setAbove(null);
-		p.setBelow(null);
-	}
-
-// 3.	Creates the first level (level 0) of an empty list, that
-// contains only the special keys: +OO and -OO. It returns a reference
-// to the new level, and sets the start pointer correctly.
-//
-	private QNode createFirstLevel() {
-		QNode p, q;
-
-		p = new QNode(emi, null,null,null,null);
-		q = new QNode(epi, null,p,null,null); // Put them in new QNodes
-		p.setNext(q);						  // Connect the two nodes
-		start = p;							  // Set start at this level
-		return p;
-	}
-
-// 4.	Creates one new level of the skip list above the current
-// top level and increases the height of the skip list by one. it
-// returns a reference to the first node in the new level.
-//
-	private QNode addOneLevel() {
-		QNode p, q, r;
-		r = start.getNext();
-		p = new QNode(emi, null,null,null,start);
-		q = new QNode(epi, null,p,null,r);	// Put them in new QNodes
-		p.setNext(q);						// Connect the two nodes
-		r.setAbove(q);
-		start.setAbove(p);					// Set start at this level
-		height++;							// Adjust list height
-		return p;
-	}
-
-// 5.	If the skip list has at least two empty levels, this function
-// removes exactly one empty level fron the top of the skip list and
-// decreases the list height. It returns: True if a removal was done;
-// False if there was no need to remove a level.
-//
-	private boolean removeOneLevel() {
-		QNode p, q, r;
-
-		// Check if the list already has minimum height, then
-		// nothing to remove
-		if (height == 1) return false;
-
-		// Check if there is no extra empty level at the top of
-		// the list, then remove nothing
-		if (start.getBelow().getNext() !=
-			start.getNext().getBelow()) return false;
-
-		// There is an extra empty level at the top of the list,
-		// so remove it
-		p = start.getBelow();
-		r = start;
-
-		// Release the special key nodes
-		while (r!=null) {
-			q = r.getNext();
-			r.getBelow().setAbove(null);
-			deref(r);
-			r = q;
-		}
-		start = p;					// Adjust the start pointer
-		height--;					// Adjust the height of the list
-		return true;
-	}
-
-
-//
-// PUBLIC METHODS: implement the SkipList interface
-//
-// Postcondition:
-// If the list is not empty, it puts current at the first node
-// at level 0 of the skip list. Otherwise, it does nothing.
-//
-	public void first() {
-		if (count > 0)
-			current = head.getNext();
-	}
-
-// Postcondition:
-// If the list is not empty, it puts current at the last node
-// at level 0 of the skip list. Otherwise, it does nothing.
-//
-	public void last() {
-		if (count > 0)
-			current = tail.getPrev();
-	}
-
-// Precondition:  isElement() returns true.
-// Postcondition: If the current node is not the last node at
-// level 0 of the skip list, then current is put at its successor
-// node. Otherwise, current is put at the tail.
-//
-	public void next() {
-		if (isElement())
-			current = current.getNext();
-	}
-
-// Precondition:  isElement() returns true.
-// Postcondition: If the current node is not the first node at
-// level 0 of the skip list, then current is put at its predecessor
-// node. Otherwise, curren is put at the head.
-//
-	public void prior() {
-		if (isElement())
-			current = current.getPrev();
-	}
-
-// Precondition:  isElement() returns true.
-// Postcondition: Returns the current entry height if current is valid.
-// Otherwise -1 is returned.
-//
-	public int getEntryHeight() {
-		if (!isElement()) return -1;
-		return current.getHeight();
-	}
-
-// Precondition:  isElement() returns true.
-// Postcondition: Returns the entry at the current node if it is valid.
-// Otherwise null is returned.
-//
-	public Entry get() {
-		if (!isElement()) return null;
-		return current.getEntry();
-	}
-
-// Precondition:  isElement() returns true.
-// Postcondition: sets the entry's value at the current node if it is
-// valid to the given new value; returns the old entry.
-// Otherwise null is returned.
-//
-	public Entry set(V newValue) {
-		Entry e;
-
-		if (!isElement()) return null;
-		e = current.getEntry().clone();
-		current.getEntry().setValue(newValue);
-		return e;
-	}
-
-// Postcondition:
-// The skip list is searched for the key passed in the parameter. If
-// that key is in the list, the entry with the oldest node in the list
-// at level 0, that contains that key is made current. Otherwise, the
-// entry of an existing node in the list at level 0, that has the max.
-// key less than the one being searched for is made current. If there
-// was no such an entry, then current is no longer valid.
-//
-	public void skipSearch(K key) {
-		QNode p;
-
-		p = start;
-		while (p.getBelow() != null) {
-		  p = p.getBelow();
-		  while (c.compare(key,(K)p.getNext().getEntry().getKey())>=0)
-			p = p.getNext();
-		}
-		current = p;
-	}
-
-// Postcondition:
-// A New entry with the key and value specified by the passed parameters
-// is created, and stored in one or more new nodes that are inserted in
-// their proper locations in the skip list, at all the determined levels
-// whose number is calculated by a randomization algorithm. The list at
-// all levels remains sorted, and its integrity is maintained. Multiple
-// entries with the same key are allowed to exist in the list. In such a
-// case the new node containing a repeated key is inserted before all
-// existing nodes of a similar key. Current is put at the new node.
-//
-// Returns the new node's entry.
-//
-	public Entry skipAdd(K key, V value) {
-		QNode p, q=null, r;
-		Entry e;
-
-		// Create a new entry object for the passed key and value.
-		e = new Entry(key, value);
-
-		// Randomize new node height
-		int i, h = getRandHeight(MAX_H);
-
-		// Extend the height of the skip list, if needed
-		if (h >= height)
-			for (i=(h-height); i>=0; --i)
-			  start = addOneLevel();
-
-		// Start searching for the right places for the node, starting
-		// from just below the top level.
-		p = start.getBelow();
-
-		// Loop for going down the levels
-		for (i=height-1; p!=null; --i) {
-
-		  // Loop for going across (i.e. right) of the current level
-		  while (c.compare(key,(K)p.getNext().getEntry().getKey())>0)
-			p = p.getNext();		// Go right to next node
-
-		  // We are at the proper location horizontally.
-		  // Create a new node with entry and connect it properly.
-		  if (i <= h) {
-			r = new QNode(e, p.getNext(), p, q, null);
-			r.setHeight(h);
-			p.getNext().setPrev(r);
-			p.setNext(r);
-			if (q != null) q.setBelow(r);
-			q = r;
-		  }
-		  p = p.getBelow();			// Go down one level
-		}
-		count++;					// Update count
-		current = q;				// Set current
-		return current.getEntry();	// Return the new node's entry.
-	}
-
-// Precondition:  isElement() returns true.
-// Postcondition: The current entry is removed from all levels of the
-// list. All empty levels but one, are also removed. Current is put
-// at the removed node successor at the level 0 list. If that was the
-// node at the tail or the list became empty after the removal, then
-// current is no longer valid.
-//
-	public void skipRemove() {
-
-		// 1. Check if current is valid.
-		if (!isElement()) return;
-
-		// 2. Remove current node from all levels starting from level 0.
-		// 3. Remove all empty levels but one.
-		// 4. Finalize, and return.
-	}
-
-// Postcondition:
-// Clears the list by dereferencing all of its nodes and reducing
-// its levels to 1.
-//
-	public void clear() {
-		QNode p, q, r;
-
-		r = start.getBelow();
-		p = r.getBelow();
-		while (p != null) {
-			while (r!=null) {
-				q = r.getNext();
-				deref(r);
-				r = q;
-			}
-			r = p;
-			p = p.getBelow();
-		}
-		start.setBelow(head);
-		start.getNext().setBelow(tail);
-		head.setAbove(start);
-		tail.setAbove(start.getNext());
-		r = head.getNext();
-		while (r != tail) {
-			q = r.getNext();
-			deref(r);
-			r = q;
-		}
-		head.setNext(tail);
-		tail.setPrev(head);
-		current = head;
-		height = 1;
-		count = 0;
-		return;
-	}
-
-// Postcondition:
-// Returns the current height of the skip list.
-//
-  	public int height() {return height;}
-
-// Postcondition:
-// Returns the current number of nodes in the skip list at level 0.
-//
-	public int size() {return count;}
-
-// Postcondition:
-// Returns true if the skip list is empty, otherwise it returns false.
-//
-  	public boolean isEmpty() {return (count == 0);}
-
-// Postcondition:
-// If current is at a valid node, it returns true, otherwise it
-// returns false.
-//
-	public boolean isElement() {
-		return ((current != head) && (current != tail));
-	}
-
-// Postcondition:
-// Returns a new SkipQLinkList containing the portion of this list
-// between the specified fromKey, inclusive, and toKey, exclusive.
-//
-	public SkipQLinkList subList(K fromKey, K toKey) {
-		SkipQLinkList sublist = new SkipQLinkList();
-		Iterator it = new SkipListFIterator(fromKey);
-		if (it != null) {
-			boolean done = false;
-			while (it.hasNext() && !done) {
-				Entry e = (Entry) it.next();
-				K k = (K) e.getKey();
-				V v = (V) e.getValue();
-				if (c.compare(k, toKey) < 0)
-					sublist.skipAdd(k,v);
-				else
-					done = true;
-			}
-		}
-		return sublist;
-	}
-
-// Postcondition:
-// Returns an array containing all of the elements in this list in
-// proper sequence (from first to last element).
-//
-	public Entry[] toArray() {
-		Entry[] listArray = (Entry[]) new SkipQLinkList.Entry[count];
-		int i = 0;
-		for (Entry e : this) {
-			listArray[i] = e;
-			i++;
-		}
-		return listArray;
-	}
-
-// Postcondition:
-// All nodes in the skip list, at all levels are printed to
-// the screen showing the list structure (nodes and links),
-// where the nodes are presented by their keys.
-//
-	public void printStructure() {
-		QNode p,q;
-		String k, s;
-		int max = 5;
-
-		System.out.println();
-		System.out.println("The list height is: " + height + ".");
-		System.out.println("The list size is:   " + count + ".");
-		System.out.print("The list printed below is rotated 90 ");
-		System.out.println("degrees clockwise.");
-
-		for (q=head; q!=null; q=q.getNext()) {
-		  k = ((Entry) q.getEntry()).getKey().toString().trim();
-		  if (k.length() > max) k = k.substring(0,max);
-		  k = k + " ";
-		  if (q == current) System.out.print(">");
-		  if (q != current) System.out.print(" ");
-		  for (p=q; p!=null; p=p.getAbove()) {
-			System.out.print(k);
-			s = "";
-			if (p.getAbove() != null) {
-			  for (int i=k.length(); i<max+1; ++i) s = s + "-";
-			  System.out.print(s + "-- ");
-			}
-			else {
-			  for (int i=k.length(); i<max+1; ++i) s = s + " ";
-			  System.out.print(s + "   ");
-			}
-    	  }
-		  s = "";
-		  for (int i=1; i<max+1; ++i) s = s + " ";
-    	  for (int i=q.getHeight(); (i<height)&&(q!=head)&&(q!=tail); ++i)
-    	  	System.out.print(" |  " + s);
-    	  System.out.println();
-		  System.out.print(" ");
-		  for (int i=0; i<= height; ++i)
-			if (q.getNext() != null) System.out.print(" |  " + s);
-		  System.out.println();
-    	}
-	}
-
-// ITERATORS:
-//
-// 1. Default Iterator:
-// Returns a forward iterator over all entries in the skip list.
-//
-	public Iterator iterator() {
-        return new SkipListFIterator();
-	}
-
-// 2. Forward Iterator:
-// Returns a forward iterator over all entries in the skip list.
-//
-	public Iterator entries() {
-        return new SkipListFIterator();
-	}
-
-// 3. Backward Iterator:
-// Returns a backward iterator over all entries in the skip list.
-//
-	public Iterator backIterator() {
-        return new SkipListBIterator();
-	}
-
-// 4. Key Iterator:
-// Returns a forward iterator over all keys in the skip list.
-//
-	public Iterator keys() {
-        return new SkipListKIterator();
-	}
-
-// 5. Value Iterator:
-// Returns a forward iterator over all values in the skip list.
-//
-	public Iterator values() {
-        return new SkipListVIterator();
-	}
-
-// 6. Forward Partial Iterator:
-// Returns an iterable collection of all entries in the skip list with
-// keys greater than or equal to the passed key, in non-decreasing order.
-//
-	public Iterator successors(K key) {
-        return new SkipListFIterator(key);
-    }
-
-// 7. Backward Partial Iterator:
-// Returns an iterable collection of all entries in the skip list with
-// keys less than or equal to k, in non-increasing order.
-//
-	public Iterator predecessors(K key) {
-        return new SkipListBIterator(key);
-    }
-
-// 8. Same Key Iterator:
-// Returns an iterable collection of all entries in the skip list with
-// keys equal to k, in reverse order of their insertion time.
-//
-	public Iterator sameKey(K key) {
-        return new SkipListSKIterator(key);
-    }
-
-
-// INNER CLASSES:
-//
-// 1. Entry Inner Class:
-//
-// PROVIDES: A generic class for a data entry, which consists of a pair
-//     of objects: a key of generic type K, and a value of generic type
-//     V. Both fields may be any of the Java reference objects
-//     overloading clone(), equals() and toString() methods; and
-//     implementing the Comparable interface.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 4.00 2020/03/27
-//
-
-	public class Entry implements Serializable {
-
-		private K key;
-		private V value;
-
-		public Entry( K initKey, V initValue ) {	// Constructor.
-			key = initKey;
-			value = initValue;
-		}
-
-		public void setKey(K newKey) {key = newKey;}
-		public void setValue(V newValue) {value = newValue;}
-
-		public K getKey() {return key;}
-		public V getValue() {return value;}
-
-		protected Entry clone() {
-			Entry newEntry = new Entry(this.key, this.value);
-			return newEntry;
-		}
-
-		public boolean equals(Entry e2) {
-			return ((key==null)?
-					(e2.getKey()==null):(c.compare(key,e2.getKey())==0))&&
-				   ((value==null)?
-		 			(e2.getValue()==null):(value.equals(e2.getValue())));
-		}
-
-		public String toString() {
-			return "["+getKey()+", "+getValue()+"]";
-		}
-	}
-
-
-// 2. QNode Inner Class:
-//
-// PROVIDES: A generic class for a node in a quad linked skip list.
-//     Each node contains an entry of data and four references to the
-//     previous,  next, above and below nodes. The type of the data is
-//     the predefined Entry<K,V> type. The K and V types may be any of
-//     the Java reference objects overloading clone(), equals() and
-//     toString() methods; and implementing the Comparable interface.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 1.00 2013/10/27
-//
-
-	private class QNode implements Serializable {
-
-		private short height = 0;
-		private Entry entry;
-		private QNode next, prev;
-		private QNode above, below;
-
-		// Postcondition: The node contains the specified entry and links.
-		//
-		public QNode (Entry initEntry, QNode initNext, QNode initPrev,
-	    	                           QNode initAbove, QNode initBelow) {
-			entry  = initEntry;
-			next   = initNext;
-			prev   = initPrev;
-			above  = initAbove;
-			below  = initBelow;
-		}
-
-		// Postcondition: Each of the following methods is used to modify
-		// the respective fields.
-		//
-		public void setHeight(int newHeight) {height = (short)newHeight;}
-		public void setEntry(Entry newEntry) {entry = newEntry;}
-		public void setNext(QNode newNext) {next = newNext;}
- 		public void setPrev(QNode newPrev) {prev = newPrev;}
-		public void setAbove(QNode newAbove) {above = newAbove;}
-		public void setBelow(QNode newBelow) {below = newBelow;}
-
-		// Each of the following methods is used to return the
-		// respective fields.
-		//
-		public int getHeight() {return (int)height;}
-		public Entry getEntry() {return entry;}
-		public QNode getNext() {return next;}
-		public QNode getPrev() {return prev;}
-		public QNode getAbove() {return above;}
-		public QNode getBelow() {return below;}
-	}
-
-// 3. Skip List Iterator Classes:
-// A.	Inner class for the SkipListSKIterator:
-// PROVIDES: Iterator objects over the entries of the Same Key in a
-//     SkipQLinkList structure. This iterator goes forward starting
-//     at an entry of a given key, and continuing forward to all
-//     entries having the Same Key.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 2.00 2019/10/27
-//
-	private class SkipListSKIterator implements Iterator<Entry> {
-/*
-			Your Private Fields Go Here
-*/
-
-		private SkipListSKIterator(K key) {
-/*
-			Your Constructor Code Goes Here
-*/
-		}
-
-		public boolean hasNext() {
-/*
-			Your Code Goes Here
-*/
-		}
-
-		public Entry next() {
-/*
-			Your Code Goes Here
-*/
-		}
-
-		public void remove() {}
-	}
-
-// B.	Inner class for the SkipListFIterator:
-// PROVIDES: Iterator objects over the entries of a SkipQLinkList
-//     structure. This iterator goes forward starting at the head
-//     of the list by default or starting at the first entry in the
-//     list matching the given key.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 2.00 2019/10/27
-//
-	private class SkipListFIterator implements Iterator<Entry> {
-/*
-			Your Private Fields Go Here
-*/
-
-		private SkipListFIterator() {
-/*
-			Your Constructor Code Goes Here
-*/
-		}
-
-		private SkipListFIterator(K key) {
-/*
-			Your Constructor Code Goes Here
-*/
-		}
-
-		public boolean hasNext() {
-/*
-			Your Code Goes Here
-*/
-		}
-
-		public Entry next() {
-/*
-			Your Code Goes Here
-*/
-		}
-
-		public void remove() {}
-	}
-
-// C.	Inner class for the SkipListBIterator:
-// PROVIDES: Iterator objects over the entries of a SkipQLinkList
-//     structure. This iterator goes backward starting at the tail
-//     of the list by default or starting at the first entry in the
-//     list matching the given key.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 2.00 2019/10/27
-//
-	private class SkipListBIterator implements Iterator<Entry> {
-/*
-			Your Private Fields Go Here
-*/
-
-		private SkipListBIterator() {
-/*
-			Your Constructor Code Goes Here
-*/
-		}
-
-		private SkipListBIterator(K key) {
-/*
-			Your Constructor Code Goes Here
-*/
-		}
-
-		public boolean hasNext() {
-/*
-			Your Code Goes Here
-*/
-		}
-
-		public Entry next() {
-/*
-			Your Code Goes Here
-*/
-		}
-
-		public void remove() {}
-	}
-
-// D.	Inner class for the SkipListKIterator:
-//
-// PROVIDES: Iterator objects over the keys of a SkipQLinkList
-//     structure. This iterator goes forward starting at first
-//     key in the list.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 1.00 2013/10/27
-//
-	private class SkipListKIterator implements Iterator<K> {
-		private QNode cr;
-
-		private SkipListKIterator() {
-			cr = head.getNext();
-		}
-
-		public boolean hasNext() {return (cr != tail);}
-
-		public K next() {
-			QNode temp = cr;
-			cr = (hasNext()? cr.getNext() : null);
-			return (K)temp.getEntry().getKey();
-		}
-
-		public void remove() {}
-	}
-
-// E.	Inner class for the SkipListVIterator:
-//
-// PROVIDES: Iterator objects over the values of a SkipQLinkList
-//     structure. This iterator goes forward starting at the first
-//     value in the list.
-//
-// author Dr. Abdulghani M. Al-Qasimi
-// version 1.00 2013/10/27
-//
-	private class SkipListVIterator implements Iterator<V> {
-		private QNode cr;
-
-		private SkipListVIterator() {
-			cr = head.getNext();
-		}
-
-		public boolean hasNext() {return (cr != tail);}
-
-		public V next() {
-			QNode temp = cr;
-			cr = (hasNext()? cr.getNext() : null);
-			return (V)temp.getEntry().getValue();
-		}
-
-		public void remove() {}
-	}
-}
+/**
+ * @(#)SkipQLinkList.java
+ *
+ * A generic container class for a skip list implementation as fully doubly linked
+ * structure, where the elements are entries consisting of two fields: (key, value)
+ * pair which are also generic (K,V).
+ *
+ * At each level, an empty doubly linked list contains a header node with key -OO,
+ * and a trailer node with key +OO. The empty skip list has two empty doubly linked
+ * lists, at levels 0 and 1.
+ *
+ * The skip list has four external pointers, as follows:
+ *   head,    points at the header node of level 0 list
+ *   tail,    points at the trailer node of level 0 list
+ *   start,   points at the header node of the top level list
+ *   current, points at the current node of the list at level 0.
+ *
+ * Every node also keeps the width of its link to the next node, which is the
+ * number of level 0 steps that link spans. The widths give O(log n) rank,
+ * select and positional seek.
+ *
+ * The heights of the towers are random by default, which makes a search
+ * O(log n) steps on average. A list made in deterministic mode keeps the
+ * 1-2-3 invariant instead: between two nodes that are next to each other
+ * at a level above 0, there are 1 to 3 nodes of the level below, so a
+ * search is O(log n) steps in the worst case, whatever the order of the
+ * keys. New entries go into level 0 only, and a gap of 3 is split on the
+ * way down, by promoting its middle node one level up. splitAt, join and
+ * removeRange cut and splice the levels as they are, which may leave a
+ * gap of 0, or of up to 6, at the cut; a gap of more than 3 is split by
+ * the next insert that passes through it. Removing a tower closes a gap
+ * of 0 by demoting a tower next to it, and splits the gaps it joins.
+ *
+ * Entries are removed at once by default. In lazy mode, a removal only
+ * marks the node of the entry at level 0, and the marked towers are
+ * unlinked together in batches; searches, moves of current and iterators
+ * skip the marked nodes, and methods that depend on positions unlink
+ * them first.
+ *
+ * A list may also keep a hash index from each key to the node at level 0
+ * of its oldest entry, set by setHashIndex. Then get(key), containsKey and
+ * skipSearch of a key that is in the list take O(1) steps on average, and
+ * do not descend; the ordered operations still use the towers. The hash
+ * codes come from KeyComparator.hash, or from hashCode with any other
+ * comparator, which must then agree with equals on the keys.
+ *
+ * With a KeyComparator, which compares String keys ignoring case, each new
+ * entry with a String key keeps the case-folded form of its key, and its
+ * first four folded chars packed in a long. A search folds its key once,
+ * and then most comparisons end on the two longs, and the rest compare
+ * the folded Strings with compareTo, which does not fold them again. The
+ * order is that of compareToIgnoreCase all the same.
+ *
+ * The generic parameters, K & V are also parameters to the inner class Entry,
+ * that constitue the data type of the elements in the list. K and V may be any
+ * of the Java reference types with a default constructor, and overloads clone(),
+ * equals() and toString() methods; Also implements the Comparable interface.
+ *
+ * @author Dr. Abdulghani M. Al-Qasimi
+ * @version 5.00 2020/03/27
+ *
+ */
+import java.util.Iterator;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.io.Serializable;
+
+
+public class SkipQLinkList<K,V>
+  implements Iterable<SkipQLinkList<K,V>.Entry>, Serializable
+{
+	private static final int  MAX_H = 32;			// Maximum allowable height
+	private static final String PLUS_INF  = "+OO";	// The special key plus infinity
+	private static final String MINUS_INF = "-OO";	// The special key minus infinity
+
+	// The nodes are not serialized as they are; see writeObject.
+	private transient QNode start;	// Always points to the top left
+	private transient QNode head;	// Always points to bottom left
+	private transient QNode tail;	// Always points to bottom right
+	private transient QNode current;	// Points to current item in level 0
+	private transient int height, count;	// Store height and size of the list
+	private transient int modCount;	// Number of structural changes so far
+	private LevelGenerator levels;	// Draws the heights of new towers
+	private boolean deterministic;	// Heights kept by 1-2-3 gap splitting
+	private int lazyBatch;			// Marked removals unlinked together
+	private transient java.util.ArrayList<QNode> marked;	// Pending removals
+	private boolean hashed;			// Exact keys found by the hash index
+	private transient KeyIndex index;	// The hash index, when hashed
+	private transient Probe probe;	// The folded key of the last search
+	private transient Entry epi;	// A +OO entry object
+	private transient Entry emi;	// A -OO entry object
+	protected transient Entry entry;	// An entry object for temporary use
+	protected Comparator<K> c;		// Special comparator
+
+// CONSTRUCTORS:
+//
+// 1.	Default constructor of SkipQLinkList and default key comparator
+//
+	public SkipQLinkList() {
+		levels = new GeometricLevelGenerator();	// Coin tosses of 1/2
+		c = new KeyComparator<K>();	// Create external key comparator
+
+		entry = (Entry) new Entry(null,null);
+
+		// Create two entries for the -OO and +OO special keys
+		emi = (Entry) new Entry((K)MINUS_INF,null);
+		epi = (Entry) new Entry((K)PLUS_INF,null);
+
+		height = 0;					// Init. the skip list height
+		count = 0;					// Init. the skip list size
+		head = createFirstLevel();	// Create level 0 Doubly Linked list
+		tail = head.getNext();		// Init. the head and tail pointers
+		current = head;				// Init. the current pointer at head
+		start = addOneLevel();		// Create level 1 Doubly Linked list
+	}
+
+// 2.	constructor of a SkipQLinkList with a passed key comparator
+//
+	public SkipQLinkList(Comparator<K> comp) {
+		this(comp, new GeometricLevelGenerator());
+	}
+
+// 3.	constructor of a SkipQLinkList with a passed key comparator, and
+// a passed generator of the heights of new towers
+//
+	public SkipQLinkList(Comparator<K> comp, LevelGenerator gen) {
+		levels = gen;				// Use the passed level generator
+		c = comp;					// Use the passed key comparator
+
+		entry = (Entry) new Entry(null,null);
+
+
+		// Create two entries for the -OO and +OO special keys
+		emi = (Entry) new Entry((K)MINUS_INF,null);
+		epi = (Entry) new Entry((K)PLUS_INF,null);
+
+		height = 0;					// Initialize the skip list height
+		count = 0;					// Initialize the skip list size
+		head = createFirstLevel();	// Create level 0 Doubly Linked list
+		tail = head.getNext();		// Init. the head and tail pointers
+		current = head;				// Init. the current pointer at head
+		start = addOneLevel();		// Create level 1 Doubly Linked list
+	}
+
+// 4.	constructor of a SkipQLinkList with a passed key comparator, in
+// deterministic mode if deterministic is true, and with random heights
+// otherwise
+//
+	public SkipQLinkList(Comparator<K> comp, boolean deterministic) {
+		this(comp, new GeometricLevelGenerator());
+		this.deterministic = deterministic;
+	}
+
+// 5.	A copy constructor where the skip list is initialized as a copy
+// of the passed source skip list. The copy uses the same comparator and
+// modes, and a split of the level generator (see LevelGenerator), and its
+// towers have the same heights as those of the source, so it is built in
+// one linear pass.
+//
+    public SkipQLinkList(SkipQLinkList<K,V> source) {
+		source.purge();				// Unlink the marked entries
+		levels = source.levels.split();	// A generator of its own
+		deterministic = source.deterministic;	// And the modes
+		lazyBatch = source.lazyBatch;
+		hashed = source.hashed;
+		c = source.c;				// Use the source key comparator
+
+		entry = (Entry) new Entry(null,null);
+
+		// Create two entries for the -OO and +OO special keys
+		emi = (Entry) new Entry((K)MINUS_INF,null);
+		epi = (Entry) new Entry((K)PLUS_INF,null);
+
+		height = 0;					// Initialize the skip list height
+		count = 0;					// Initialize the skip list size
+		head = createFirstLevel();	// Create level 0 Doubly Linked list
+		tail = head.getNext();		// Init. the head and tail pointers
+		current = head;				// Init. the current pointer at head
+		start = addOneLevel();		// Create level 1 Doubly Linked list
+		if (hashed) index = new KeyIndex(source.count);
+
+		QNode[] last = lastNodes();
+		int[] lastPos = new int[MAX_H+2];
+		for (QNode p=source.head.getNext(); p!=source.tail; p=p.getNext())
+			appendTower(newEntry(p.getEntry().getKey(),p.getEntry().getValue()),
+						p.getHeight(), last, lastPos);
+		closeWidths(last, lastPos);
+    }
+
+//
+// Private HELPER METHODS, used by this skip list class only
+//
+
+// 1.	This function provides the height that a new entry should be
+// inserted at in the list. The height is drawn by the level generator
+// of the list, which is told the current size of the list. The returned
+// height never exceed the provided maximum, max.
+//
+	private int getRandHeight(int max) {
+		int i = levels.nextHeight(count);	// Draw the whole height.
+		if (i > max) return max;			// Limit to max.
+		return i;
+	}
+
+// 2.	This function is used to nullify all the fields of a QNode,
+// so it will be freed by the garbage collector.
+//
+	private void deref(QNode p) {
+		p.setEntry(null);
+		p.setNext(null);
+		p.setPrev(null);
+		p.setAbove(null);
+		p.setBelow(null);
+	}
+
+// 3.	Creates the first level (level 0) of an empty list, that
+// contains only the special keys: +OO and -OO. It returns a reference
+// to the new level, and sets the start pointer correctly.
+//
+	private QNode createFirstLevel() {
+		QNode p, q;
+
+		p = new QNode(emi, null,null,null,null);
+		q = new QNode(epi, null,p,null,null); // Put them in new QNodes
+		p.setNext(q);						  // Connect the two nodes
+		p.setWidth(count+1);				  // The link spans all entries
+		start = p;							  // Set start at this level
+		return p;
+	}
+
+// 4.	Creates one new level of the skip list above the current
+// top level and increases the height of the skip list by one. it
+// returns a reference to the first node in the new level. The top level
+// may hold nodes, when balancedPreds has just split its gap.
+//
+	private QNode addOneLevel() {
+		QNode p, q, r;
+		r = start.getNext();
+		while (r.getNext() != null) r = r.getNext();	// The top trailer
+		p = new QNode(emi, null,null,null,start);
+		q = new QNode(epi, null,p,null,r);	// Put them in new QNodes
+		p.setNext(q);						// Connect the two nodes
+		p.setWidth(count+1);				// The link spans all entries
+		r.setAbove(q);
+		start.setAbove(p);					// Set start at this level
+		height++;							// Adjust list height
+		return p;
+	}
+
+// 5.	If the skip list has at least two empty levels, this function
+// removes exactly one empty level fron the top of the skip list and
+// decreases the list height. It returns: True if a removal was done;
+// False if there was no need to remove a level.
+//
+	private boolean removeOneLevel() {
+		QNode p, q, r;
+
+		// Check if the list already has minimum height, then
+		// nothing to remove
+		if (height == 1) return false;
+
+		// Check if there is no extra empty level at the top of
+		// the list, then remove nothing
+		if (start.getBelow().getNext() !=
+			start.getNext().getBelow()) return false;
+
+		// There is an extra empty level at the top of the list,
+		// so remove it
+		p = start.getBelow();
+		r = start;
+
+		// Release the special key nodes
+		while (r!=null) {
+			q = r.getNext();
+			r.getBelow().setAbove(null);
+			deref(r);
+			r = q;
+		}
+		start = p;					// Adjust the start pointer
+		height--;					// Adjust the height of the list
+		return true;
+	}
+
+// 6.	Compares a key with the key of the entry in a node. The header
+// and trailer nodes are recognised by their -OO and +OO entries, so
+// the comparator c is only ever called with real keys. A String key
+// and an entry with a folded key are compared by their folded forms;
+// the key is folded when it is not the one of the last comparison.
+//
+	private int compare(K key, QNode p) {
+		Entry e = p.getEntry();
+		if (e == epi) return -1;
+		if (e == emi) return +1;
+		if (e instanceof SkipQLinkList<?,?>.FoldedEntry) {	// Java 11 needs the wildcards
+			FoldedEntry f = (FoldedEntry) e;
+			Probe q = probe;
+			if ((q == null) || (q.key != key))
+				probe = q = new Probe(key);		// Fold a new key once
+			if ((q.folded != null) && (f.folded != null)) {
+				if (q.prefix != f.prefix)
+					return Long.compareUnsigned(q.prefix, f.prefix);
+				return q.folded.compareTo(f.folded);
+			}
+		}
+		return c.compare(key, e.getKey());
+	}
+
+// 7.	Descends from the top left to level 0 without changing current,
+// and returns the last node at level 0 whose key is less than the given
+// key (strict is true), or less than or equal to it (strict is false).
+// The header is returned if there is no such node.
+//
+	private QNode findNode(K key, boolean strict) {
+		QNode p;
+		int bound = strict ? 0 : -1;
+
+		p = start;
+		while (p.getBelow() != null) {
+		  p = p.getBelow();
+		  while (compare(key,p.getNext())>bound)
+			p = p.getNext();
+		}
+		return p;
+	}
+
+// 8.	Starting at node p at level lvl, moves right while the next key
+// is less than the given key (strict is true), or less than or equal to
+// it (strict is false), then goes down one level at a time doing the
+// same, and returns the node reached at level 0. If preds is not null,
+// the node reached at each level is recorded in it.
+//
+	private QNode descendFrom(QNode p, int lvl, K key, boolean strict,
+							  QNode[] preds) {
+		int bound = strict ? 0 : -1;
+
+		while (true) {
+		  while (compare(key,p.getNext())>bound)
+			p = p.getNext();
+		  if (preds != null) preds[lvl] = p;
+		  if (p.getBelow() == null) return p;
+		  p = p.getBelow();
+		  lvl--;
+		}
+	}
+
+// 9.	Links a new tower of height h for the entry e, bottom up, where
+// the new node at level i goes right after preds[i]. Every link keeps
+// its width, the number of level 0 steps it spans, so the widths of the
+// split links are set, and the links passing over the new tower at the
+// levels above it are widened by one; those are found by climbing up
+// and left from preds[h]. It updates count and modCount, and returns
+// the new node at level 0.
+//
+	private QNode insertTower(Entry e, QNode[] preds, int h) {
+		QNode p, q=null, r, x, bottom=null;
+		int i, dist = 1;				// Steps from preds[i] to the new node
+
+		for (i=0; i<=h; ++i) {
+			p = preds[i];
+			if (i > 0)
+				for (x=p.getBelow(); x!=preds[i-1]; x=x.getNext())
+					dist += x.getWidth();
+			r = new QNode(e, p.getNext(), p, null, q);
+			r.setHeight(h);
+			r.setWidth(p.getWidth() + 1 - dist);
+			p.setWidth(dist);
+			p.getNext().setPrev(r);
+			p.setNext(r);
+			if (q != null) q.setAbove(r);
+			else bottom = r;
+			q = r;
+		}
+		for (p=preds[h], i=h+1; i<=height; ++i) {
+			while (p.getAbove() == null) p = p.getPrev();
+			p = p.getAbove();
+			p.setWidth(p.getWidth() + 1);
+		}
+		if (index != null) index.add(bottom, false);	// Goes before equal keys
+		count++;
+		modCount++;
+		return bottom;
+	}
+
+// 10.	Returns the node at level 0 at the given position, where the
+// header is at position 0, and the trailer at position count+1.
+//
+	private QNode nodeAt(int position) {
+		QNode p = start;
+		int pos = 0;
+
+		while (true) {
+		  while ((p.getNext() != null) && (pos + p.getWidth() <= position)) {
+			pos += p.getWidth();
+			p = p.getNext();
+		  }
+		  if (p.getBelow() == null) return p;
+		  p = p.getBelow();
+		}
+	}
+
+// 11.	Returns the header node of every level of the list, indexed by
+// level. It is the starting point of appendTower on an empty list.
+//
+	private QNode[] lastNodes() {
+		QNode[] last = (QNode[]) new SkipQLinkList.QNode[MAX_H+2];
+		QNode p = head;
+
+		for (int i=0; p!=null; ++i, p=p.getAbove())
+			last[i] = p;
+		return last;
+	}
+
+// 12.	Appends a new tower of height h for the entry e after the last
+// nodes of all levels, as given in last, whose level 0 positions are
+// in lastPos. The key of e must not be less than the last key in the
+// list. The list is grown when h reaches its height. The widths of the
+// links into the new tower are set, but the links from the last nodes
+// to the trailers are only set right by closeWidths.
+//
+	private void appendTower(Entry e, int h, QNode[] last, int[] lastPos) {
+		QNode p, q=null, r;
+		int i, pos = count + 1;
+
+		while (h >= height) {
+			start = addOneLevel();
+			last[height] = start;
+			lastPos[height] = 0;
+		}
+		for (i=0; i<=h; ++i) {
+			p = last[i];
+			r = new QNode(e, p.getNext(), p, null, q);
+			r.setHeight(h);
+			p.setWidth(pos - lastPos[i]);
+			p.getNext().setPrev(r);
+			p.setNext(r);
+			if (q != null) q.setAbove(r);
+			q = r;
+			last[i] = r;
+			lastPos[i] = pos;
+		}
+		if (index != null) index.add(last[0], true);	// Goes after equal keys
+		count++;
+		modCount++;
+	}
+
+// 13.	Sets the widths of the links from the last nodes of all levels
+// to the trailers, once appendTower has added all the entries.
+//
+	private void closeWidths(QNode[] last, int[] lastPos) {
+		for (int i=0; i<=height; ++i)
+			last[i].setWidth(count + 1 - lastPos[i]);
+	}
+
+// 14.	Sorts the batch of new entries by key, and merges them into the
+// list in one sweep from left to right. In deterministic mode, the
+// entries are added one at a time, after balancedPreds, instead. The
+// sort is stable, so equal keys stay in the order given, and each one
+// goes before the one given before it, as with skipAdd. It keeps the
+// predecessor of the last new entry at every level, with its level 0
+// position, so that each next entry is searched for from there: it
+// climbs from level 0 while the next key at that level is still less
+// than the new key, and then descends, moving right, as skipAdd does.
+// The positions give the width of every split link, and the predecessors
+// above the new tower are the links passing over it. Current is put at
+// the node of the entry that was last in the batch as given. The batch
+// must not be empty.
+//
+	private void mergeSorted(Entry[] batch) {
+		QNode[] preds = lastNodes();
+		int[] rank = new int[MAX_H+2];
+		QNode p, q, r;
+		int i, j, h, pos;
+		Entry last = batch[batch.length-1];		// The entry to make current
+
+		if (deterministic) {			// One at a time, keeping the gaps
+			for (Entry e : batch) {
+				r = insertTower(e, balancedPreds(e.getKey()), 0);
+				if (e == last) current = r;
+			}
+			return;
+		}
+		java.util.Arrays.sort(batch, new Comparator<Entry>() {
+			public int compare(Entry a, Entry b) {
+				return c.compare(a.getKey(), b.getKey());
+			}
+		});
+		for (Entry e : batch) {
+			h = getRandHeight(MAX_H);
+
+			// Extend the height of the skip list, if needed
+			while (h >= height) {
+				start = addOneLevel();
+				preds[height] = start;
+				rank[height] = 0;
+			}
+
+			// Climb while the next node is still before the new key;
+			// the levels above j keep their predecessors.
+			j = 0;
+			while ((j < height) && (compare(e.getKey(), preds[j].getNext()) > 0))
+				j++;
+
+			// Descend from level j, moving right, starting from the old
+			// predecessor or the one found above, whichever is further.
+			for (i=j; i>=0; --i) {
+				if ((i < j) && (rank[i+1] > rank[i])) {
+					preds[i] = preds[i+1].getBelow();
+					rank[i] = rank[i+1];
+				}
+				p = preds[i];
+				while (compare(e.getKey(), p.getNext()) > 0) {
+					rank[i] += p.getWidth();
+					p = p.getNext();
+				}
+				preds[i] = p;
+			}
+
+			// Link the new tower after the predecessors.
+			pos = rank[0] + 1;
+			for (q=null, i=0; i<=h; ++i) {
+				p = preds[i];
+				r = new QNode(e, p.getNext(), p, null, q);
+				r.setHeight(h);
+				r.setWidth(rank[i] + p.getWidth() + 1 - pos);
+				p.setWidth(pos - rank[i]);
+				p.getNext().setPrev(r);
+				p.setNext(r);
+				if (q != null) q.setAbove(r);
+				else if (e == last) current = r;
+				q = r;
+			}
+			for (i=h+1; i<=height; ++i)
+				preds[i].setWidth(preds[i].getWidth() + 1);
+			if (index != null) index.add(preds[0].getNext(), false);
+			count++;
+			modCount++;
+		}
+	}
+
+// 15.	Descends from the top left, as skipAdd does, recording at each
+// level the last node whose key is less than the given key in preds,
+// and its level 0 position in rank. The header is at position 0.
+//
+	private void findPreds(K key, QNode[] preds, int[] rank) {
+		QNode p = start;
+		int i = height, pos = 0;
+
+		while (true) {
+		  while (compare(key,p.getNext())>0) {
+			pos += p.getWidth();
+			p = p.getNext();
+		  }
+		  preds[i] = p;
+		  rank[i] = pos;
+		  if (p.getBelow() == null) return;
+		  p = p.getBelow();
+		  i--;
+		}
+	}
+
+// 16.	Returns the trailer node of every level of the list, indexed
+// by level.
+//
+	private QNode[] trailers() {
+		QNode[] last = (QNode[]) new SkipQLinkList.QNode[MAX_H+2];
+		QNode p = tail;
+
+		for (int i=0; p!=null; ++i, p=p.getAbove())
+			last[i] = p;
+		return last;
+	}
+
+// 17.	Used in deterministic mode, where p is a node at level lvl, and
+// its gap is the nodes at level lvl-1 between p and the next node at
+// level lvl. If the gap holds more than max nodes, every second one of
+// them is promoted to level lvl, but not the last, which leaves gaps of
+// 1 or 2 nodes. The split links get their widths, and the towers
+// promoted get their new height. Returns true if a node was promoted.
+//
+	private boolean splitGap(QNode p, int lvl, int max) {
+		QNode x, r, y, end = p.getNext().getBelow();
+		int n = 0, dist = 0;
+
+		for (x=p.getBelow().getNext(); (x!=end) && (n<=max); x=x.getNext())
+			n++;
+		if (n <= max) return false;		// The gap is small enough
+
+		for (x=p.getBelow(), n=1; x.getNext()!=end; ++n) {
+			dist += x.getWidth();
+			x = x.getNext();
+			if ((n % 2 == 0) && (x.getNext() != end)) {
+				r = new QNode(x.getEntry(), p.getNext(), p, null, x);
+				r.setWidth(p.getWidth() - dist);
+				p.setWidth(dist);
+				p.getNext().setPrev(r);
+				p.setNext(r);
+				x.setAbove(r);
+				for (y=r; y!=null; y=y.getBelow())
+					y.setHeight(lvl);
+				p = r;
+				dist = 0;
+			}
+		}
+		return true;
+	}
+
+// 18.	Finds the places for a new entry with the given key in
+// deterministic mode, where it goes as a tower of height 0, and returns
+// the node before it at each level. The top level is split first, with a
+// new level added above it each time it is no longer empty. Then it
+// descends as skipAdd does, but at each level it splits the gap below
+// the node it stops at, and moves right again, before going down. So the
+// new node goes into a gap of at most 2, and no gap grows beyond 3.
+//
+	private QNode[] balancedPreds(K key) {
+		QNode[] preds;
+		QNode p;
+		int lvl;
+
+		while (splitGap(start, height, 2))
+			start = addOneLevel();
+
+		preds = (QNode[]) new SkipQLinkList.QNode[height+1];
+		p = start;
+		for (lvl=height; lvl>=0; --lvl) {
+			while (compare(key,p.getNext())>0)
+				p = p.getNext();
+			if ((lvl > 0) && splitGap(p, lvl, 2))
+				while (compare(key,p.getNext())>0)
+					p = p.getNext();
+			preds[lvl] = p;
+			p = p.getBelow();
+		}
+		return preds;
+	}
+
+// 19.	Unlinks the tower whose node at level 0 is x from all levels, and
+// releases its nodes. At each level of the tower, the node before it
+// takes over its link, with the two widths added less one; the links
+// passing over the tower at the levels above it, found by climbing up
+// and left, are narrowed by one. Those nodes are recorded in preds,
+// indexed by level. It updates count and modCount, and returns the node
+// that was after x at level 0.
+//
+	private QNode unlinkTower(QNode x, QNode[] preds) {
+		QNode p = null, q, succ = x.getNext();
+		int i;
+
+		for (i=0; x!=null; ++i, x=q) {
+			p = x.getPrev();
+			p.setWidth(p.getWidth() + x.getWidth() - 1);
+			p.setNext(x.getNext());
+			x.getNext().setPrev(p);
+			preds[i] = p;
+			q = x.getAbove();
+			deref(x);
+		}
+		for (; i<=height; ++i) {
+			while (p.getAbove() == null) p = p.getPrev();
+			p = p.getAbove();
+			p.setWidth(p.getWidth() - 1);
+			preds[i] = p;
+		}
+		count--;
+		modCount++;
+		return succ;
+	}
+
+// 20.	Used in deterministic mode, where y is the top node of a tower at
+// level lvl. Unlinks y, so the tower is one level lower, and sets the
+// new height in its nodes. The node before y takes over its link.
+//
+	private void demote(QNode y, int lvl) {
+		QNode p = y.getPrev();
+
+		p.setWidth(p.getWidth() + y.getWidth());
+		p.setNext(y.getNext());
+		y.getNext().setPrev(p);
+		y.getBelow().setAbove(null);
+		for (QNode z=y.getBelow(); z!=null; z=z.getBelow())
+			z.setHeight(lvl-1);
+		deref(y);
+	}
+
+// 21.	Restores the 1-2-3 invariant in deterministic mode, after
+// unlinkTower has left the node before the removed tower at each level
+// in preds. Going up from level 1, the gap of preds[lvl], if empty, is
+// closed by demoting the node after it, or else the node itself, if its
+// tower ends at that level; then the gap is split if it holds more than
+// 3 nodes. Both changes stay within the gap of the next level up, which
+// is seen to in turn. Empty levels are then removed from the top.
+//
+	private void repairGaps(QNode[] preds) {
+		QNode p, q;
+
+		for (int lvl=1; lvl<height; ++lvl) {
+			p = preds[lvl];
+			q = p.getNext();
+			if (p.getBelow().getNext() == q.getBelow()) {	// An empty gap
+				if ((q.getEntry() != epi) && (q.getAbove() == null))
+					demote(q, lvl);
+				else if ((p.getEntry() != emi) && (p.getAbove() == null)) {
+					preds[lvl] = p.getPrev();
+					demote(p, lvl);
+					p = preds[lvl];
+				}
+			}
+			splitGap(p, lvl, 3);
+		}
+		while (splitGap(start, height, 3))
+			start = addOneLevel();
+		while (removeOneLevel());
+	}
+
+// 22.	Removes the entry of the node x at level 0, and returns the first
+// node after x that is not marked as removed. x is taken out of the hash
+// index at once. In lazy mode, x is only marked, and the marked towers
+// are unlinked once lazyBatch of them are pending. Otherwise its tower
+// is unlinked at once, the gaps are repaired in deterministic mode, and
+// empty levels are removed.
+//
+	private QNode removeNode(QNode x) {
+		QNode[] preds;
+		QNode succ;
+
+		if (index != null) index.remove(x);
+		if (lazyBatch > 0) {
+			x.setRemoved(true);
+			if (marked == null) marked = new java.util.ArrayList<QNode>();
+			marked.add(x);
+			succ = live(x.getNext(), true);
+			if (marked.size() >= lazyBatch) purge();
+			return succ;
+		}
+		preds = (QNode[]) new SkipQLinkList.QNode[height+1];
+		succ = unlinkTower(x, preds);
+		if (deterministic) repairGaps(preds);
+		else while (removeOneLevel());
+		return succ;
+	}
+
+// 23.	Returns the node p, or if it is marked as removed, the nearest
+// node at level 0 after it (forward is true) or before it (forward is
+// false) that is not. Headers and trailers are never marked.
+//
+	private QNode live(QNode p, boolean forward) {
+		while (p.isRemoved())
+			p = forward? p.getNext() : p.getPrev();
+		return p;
+	}
+
+// 24.	Returns the hash code of the key for the hash index. It agrees with
+// the comparator: KeyComparator gives the same code for String keys that
+// differ in case. The bits are mixed, since the index takes the low ones.
+//
+	private int hashOf(K key) {
+		int h = (c instanceof KeyComparator)?
+				((KeyComparator<K>) c).hash(key) : key.hashCode();
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+// 25.	Returns a new entry with the given key and value. It keeps the
+// folded form of its key if the key is a String and the comparator is a
+// KeyComparator, which compares Strings ignoring case.
+//
+	private Entry newEntry(K key, V value) {
+		if ((key instanceof String) && (c.getClass() == KeyComparator.class))
+			return new FoldedEntry(key, value);
+		return new Entry(key, value);
+	}
+
+//
+// STATIC FACTORY METHODS
+//
+// Postcondition:
+// Returns a new SkipQLinkList, with the default key comparator, that
+// holds copies of the entries given by the iterator, in the same order.
+// The entries must be sorted by key. Tower heights are random.
+//
+	public static <K,V> SkipQLinkList<K,V> fromSorted(
+							Iterator<SkipQLinkList<K,V>.Entry> it) {
+		return fromSorted(it, new KeyComparator<K>(), false);
+	}
+
+// Postcondition:
+// Returns a new SkipQLinkList with the given key comparator, that holds
+// copies of the entries given by the iterator, in the same order. It is
+// built in one linear pass, by appending to every level, instead of
+// searching for the place of each entry. If balanced is true, the entry
+// at position i gets a tower as high as the number of times 2 divides i,
+// which gives a perfectly balanced list; otherwise heights are random.
+// Throws IllegalArgumentException if the keys are not sorted according
+// to the comparator.
+//
+	public static <K,V> SkipQLinkList<K,V> fromSorted(
+							Iterator<SkipQLinkList<K,V>.Entry> it,
+							Comparator<K> comp, boolean balanced) {
+		SkipQLinkList<K,V> list = new SkipQLinkList<K,V>(comp);
+		SkipQLinkList<K,V>.QNode[] last = list.lastNodes();
+		int[] lastPos = new int[MAX_H+2];
+		K prevKey = null;
+		int h;
+
+		while (it.hasNext()) {
+			SkipQLinkList<K,V>.Entry e = it.next();
+			if ((list.count > 0) && (comp.compare(prevKey, e.getKey()) > 0))
+				throw new IllegalArgumentException(
+					"fromSorted: key " + e.getKey() + " follows " + prevKey);
+			prevKey = e.getKey();
+			if (balanced)
+				h = Math.min(Integer.numberOfTrailingZeros(list.count+1), MAX_H);
+			else
+				h = list.getRandHeight(MAX_H);
+			list.appendTower(list.newEntry(e.getKey(), e.getValue()),
+							 h, last, lastPos);
+		}
+		list.closeWidths(last, lastPos);
+		return list;
+	}
+
+//
+// PUBLIC METHODS: implement the SkipList interface
+//
+// Postcondition:
+// If the list is not empty, it puts current at the first node
+// at level 0 of the skip list. Otherwise, it does nothing.
+//
+	public void first() {
+		if (size() > 0)
+			current = live(head.getNext(), true);
+	}
+
+// Postcondition:
+// If the list is not empty, it puts current at the last node
+// at level 0 of the skip list. Otherwise, it does nothing.
+//
+	public void last() {
+		if (size() > 0)
+			current = live(tail.getPrev(), false);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: If the current node is not the last node at
+// level 0 of the skip list, then current is put at its successor
+// node. Otherwise, current is put at the tail.
+//
+	public void next() {
+		if (isElement())
+			current = live(current.getNext(), true);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: If the current node is not the first node at
+// level 0 of the skip list, then current is put at its predecessor
+// node. Otherwise, curren is put at the head.
+//
+	public void prior() {
+		if (isElement())
+			current = live(current.getPrev(), false);
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the current entry height if current is valid.
+// Otherwise -1 is returned.
+//
+	public int getEntryHeight() {
+		if (!isElement()) return -1;
+		return current.getHeight();
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: Returns the entry at the current node if it is valid.
+// Otherwise null is returned.
+//
+	public Entry get() {
+		if (!isElement()) return null;
+		return current.getEntry();
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: sets the entry's value at the current node if it is
+// valid to the given new value; returns the old entry.
+// Otherwise null is returned.
+//
+	public Entry set(V newValue) {
+		Entry e;
+
+		if (!isElement()) return null;
+		e = current.getEntry().clone();
+		current.getEntry().setValue(newValue);
+		return e;
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: sets the entry's value at the current node if it is
+// valid to the given new value, and returns the old value, without
+// copying the entry. Otherwise null is returned.
+//
+	public V setValue(V newValue) {
+		V old;
+
+		if (!isElement()) return null;
+		old = current.getEntry().getValue();
+		current.getEntry().setValue(newValue);
+		return old;
+	}
+
+// Postcondition:
+// Returns a new cursor on the list, which is not valid until it is
+// placed by seek, first or last. One cursor may serve any number of
+// scans.
+//
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+// Postcondition:
+// The skip list is searched for the key passed in the parameter. If
+// that key is in the list, the entry with the oldest node in the list
+// at level 0, that contains that key is made current. Otherwise, the
+// entry of an existing node in the list at level 0, that has the max.
+// key less than the one being searched for is made current. If there
+// was no such an entry, then current is no longer valid. With a hash
+// index, a key that is in the list is found without a descent.
+//
+	public void skipSearch(K key) {
+		QNode x = (index == null)? null : index.get(key);
+		current = (x != null)? x : live(findNode(key, false), false);
+	}
+
+// Postcondition:
+// Returns the oldest entry with the given key, or null if the key is not
+// in the list. Current is not changed. With a hash index it takes O(1)
+// steps on average, otherwise one descent.
+//
+	public Entry get(K key) {
+		QNode x;
+
+		if (index != null)
+			x = index.get(key);
+		else {
+			x = live(findNode(key, false), false);
+			if (compare(key, x) != 0) x = null;		// Also the header
+		}
+		return (x == null)? null : x.getEntry();
+	}
+
+// Postcondition:
+// Returns true if the given key is in the list, as get(key) finds it.
+//
+	public boolean containsKey(K key) {
+		return get(key) != null;
+	}
+
+// Postcondition:
+// Returns the entry that skipSearch(key) would make current, or null
+// if there is no such entry. Current is not changed, so this method
+// only reads the list.
+//
+	public Entry floorEntry(K key) {
+		QNode p = live(findNode(key, false), false);
+		return (p == head)? null : p.getEntry();
+	}
+
+// Postcondition:
+// Returns the first entry of the list, or null if it is empty.
+// Current is not changed.
+//
+	public Entry firstEntry() {
+		return (size() == 0)? null : live(head.getNext(), true).getEntry();
+	}
+
+// Postcondition:
+// Returns the last entry of the list, or null if it is empty.
+// Current is not changed.
+//
+	public Entry lastEntry() {
+		return (size() == 0)? null : live(tail.getPrev(), false).getEntry();
+	}
+
+// Postcondition:
+// Returns the first entry whose key is greater than or equal to the
+// given key, or null if there is none. Current is not changed.
+//
+	public Entry ceilingEntry(K key) {
+		QNode p = live(findNode(key, true).getNext(), true);
+		return (p == tail)? null : p.getEntry();
+	}
+
+// Postcondition:
+// Returns the first entry whose key is greater than the given key, or
+// null if there is none. Current is not changed.
+//
+	public Entry higherEntry(K key) {
+		QNode p = live(findNode(key, false).getNext(), true);
+		return (p == tail)? null : p.getEntry();
+	}
+
+// Postcondition:
+// Returns the last entry whose key is less than the given key, or null
+// if there is none. Current is not changed.
+//
+	public Entry lowerEntry(K key) {
+		QNode p = live(findNode(key, true), false);
+		return (p == head)? null : p.getEntry();
+	}
+
+// Postcondition:
+// Returns the number of entries in the list whose keys are less than
+// the given key, so the newest entry with that key, if there is one,
+// is at position rank(key)+1. It takes O(log n) steps.
+//
+	public int rank(K key) {
+		QNode p;
+		int pos = 0;
+
+		purge();					// It may remove levels
+		p = start;
+		while (p.getBelow() != null) {
+		  p = p.getBelow();
+		  while (compare(key,p.getNext())>0) {
+			pos += p.getWidth();
+			p = p.getNext();
+		  }
+		}
+		return pos;
+	}
+
+// Postcondition:
+// Returns the number of entries in the list whose keys are greater
+// than or equal to fromKey, and less than toKey.
+//
+	public int countRange(K fromKey, K toKey) {
+		int n = rank(toKey) - rank(fromKey);
+		return (n > 0)? n : 0;
+	}
+
+// Postcondition:
+// Returns the entry at the given position of the list, where the
+// first entry is at position 1, or null if there is no such position.
+// Current is not changed. It takes O(log n) steps.
+//
+	public Entry select(int position) {
+		purge();
+		if ((position < 1) || (position > count)) return null;
+		return nodeAt(position).getEntry();
+	}
+
+// Postcondition:
+// If the given position is within the list (1 to size()), the entry at
+// that position becomes current; otherwise, current is no longer valid.
+//
+	public void seek(int position) {
+		purge();
+		if ((position < 1) || (position > count))
+			current = head;
+		else
+			current = nodeAt(position);
+	}
+
+// Postcondition:
+// Returns the position of the current entry in the list, where the
+// first entry is at position 1, or 0 if current is not valid, so that
+// seek(getPosition()) puts current back where it is. It climbs from
+// current to the header, adding up the widths of the links passed,
+// in O(log n) steps.
+//
+	public int getPosition() {
+		QNode p = current;
+		int pos = 0;
+
+		if (!isElement()) return 0;
+		purge();
+		while (p.getEntry() != emi) {
+			if (p.getAbove() != null)
+				p = p.getAbove();
+			else {
+				p = p.getPrev();
+				pos += p.getWidth();
+			}
+		}
+		return pos;
+	}
+
+// Postcondition:
+// A New entry with the key and value specified by the passed parameters
+// is created, and stored in one or more new nodes that are inserted in
+// their proper locations in the skip list, at all the determined levels
+// whose number is calculated by a randomization algorithm. The list at
+// all levels remains sorted, and its integrity is maintained. Multiple
+// entries with the same key are allowed to exist in the list. In such a
+// case the new node containing a repeated key is inserted before all
+// existing nodes of a similar key. Current is put at the new node.
+// In deterministic mode, the entry goes into level 0 only, and the gaps
+// on the way down are split to keep the 1-2-3 invariant.
+//
+// Returns the new node's entry.
+//
+	public Entry skipAdd(K key, V value) {
+		QNode[] preds;
+		Entry e;
+
+		// Create a new entry object for the passed key and value.
+		e = newEntry(key, value);
+
+		if (deterministic) {
+			current = insertTower(e, balancedPreds(key), 0);
+			return e;
+		}
+
+		// Randomize new node height
+		int i, h = getRandHeight(MAX_H);
+
+		// Extend the height of the skip list, if needed
+		if (h >= height)
+			for (i=(h-height); i>=0; --i)
+			  start = addOneLevel();
+
+		// Search for the right places for the node, starting from the
+		// top level, and record the place found at each level.
+		preds = (QNode[]) new SkipQLinkList.QNode[height+1];
+		descendFrom(start, height, key, true, preds);
+
+		// Create the new nodes with the entry, and connect them properly.
+		current = insertTower(e, preds, h);
+		return e;					// Return the new node's entry.
+	}
+
+// Postcondition:
+// If the list has an entry with the given key, the value of the newest
+// one is replaced by the given value, and the old value is returned.
+// Otherwise a new entry is added, as skipAdd does, and null is returned.
+// Either way it takes one descent. Current is put at the entry with the
+// key.
+//
+	public V skipPut(K key, V value) {
+		QNode[] preds;
+		QNode x;
+		V old;
+		int h;
+
+		// Search for the places of a new entry, as skipAdd does.
+		if (deterministic)
+			preds = balancedPreds(key);
+		else {
+			preds = (QNode[]) new SkipQLinkList.QNode[MAX_H+2];
+			descendFrom(start, height, key, true, preds);
+		}
+
+		// The node after the place at level 0 has the key, if any does.
+		x = live(preds[0].getNext(), true);
+		if (compare(key, x) == 0) {
+			current = x;
+			old = x.getEntry().getValue();
+			x.getEntry().setValue(value);
+			return old;
+		}
+
+		// Otherwise, link a new tower there.
+		h = 0;
+		if (!deterministic) {
+			h = getRandHeight(MAX_H);
+			while (h >= height) {
+				start = addOneLevel();
+				preds[height] = start;
+			}
+		}
+		current = insertTower(newEntry(key, value), preds, h);
+		return null;
+	}
+
+// Postcondition:
+// The entries with the given keys and values (values[i] goes with
+// keys[i]) are added to the list, as if skipAdd were called for each
+// of them in turn: a new entry goes before the existing entries with
+// the same key, and current is at the last entry added. The batch is
+// sorted with the list comparator and merged into the list in one
+// sweep, so each entry costs O(log d), where d is the distance from the
+// entry before it, instead of a descent from the top level. In
+// deterministic mode, the entries are added one at a time by skipAdd.
+//
+	public void skipAddAll(K[] keys, V[] values) {
+		if (keys.length != values.length)
+			throw new IllegalArgumentException(
+				"skipAddAll: " + keys.length + " keys, " + values.length + " values");
+		Entry[] batch = (Entry[]) new SkipQLinkList.Entry[keys.length];
+		for (int i=0; i<keys.length; ++i)
+			batch[i] = newEntry(keys[i], values[i]);
+		if (batch.length > 0) mergeSorted(batch);
+	}
+
+// Postcondition:
+// The same as skipAddAll(keys, values), for the keys and values of the
+// given entries, in the iteration order of the collection. New entries
+// are created, the given ones are not linked into the list.
+//
+	public void skipAddAll(java.util.Collection<? extends Entry> entries) {
+		Entry[] batch = (Entry[]) new SkipQLinkList.Entry[entries.size()];
+		int i = 0;
+		for (Entry e : entries)
+			batch[i++] = newEntry(e.getKey(), e.getValue());
+		if (batch.length > 0) mergeSorted(batch);
+	}
+
+// Postcondition:
+// The same as skipSearch(key), but the search starts at the current
+// node instead of the top left. It climbs up the towers, moving towards
+// the key, until the next step would pass the key, and then descends as
+// skipSearch does. When the key is d entries away from current, this
+// costs O(log d) steps instead of O(log n).
+//
+	public void fingerSearch(K key) {
+		QNode p = current;
+
+		if (compare(key,p) < 0)
+		  while (compare(key,p) < 0)
+			p = (p.getAbove() != null)? p.getAbove() : p.getPrev();
+		else
+		  while (compare(key,p.getNext()) >= 0)
+			p = (p.getAbove() != null)? p.getAbove() : p.getNext();
+		current = live(descendFrom(p, 0, key, false, null), false);
+	}
+
+// Postcondition:
+// The same as skipAdd(key, value), but the position of the new entry is
+// found by climbing from the current node, as fingerSearch does, so an
+// insert close to the previous one costs O(log d) steps. The predecessors
+// at the levels above the point where the climb stopped are found by
+// climbing further up from there. Current is put at the new node.
+// In deterministic mode, the gaps are split on the way down from the top
+// left, so this is the same as skipAdd(key, value).
+//
+// Returns the new node's entry.
+//
+	public Entry fingerAdd(K key, V value) {
+		QNode[] preds;
+		QNode p;
+		Entry e;
+		int i, h, lvl = 0;
+
+		if (deterministic) return skipAdd(key, value);
+		e = newEntry(key, value);
+		h = getRandHeight(MAX_H);
+		if (h >= height)
+			for (i=(h-height); i>=0; --i)
+			  start = addOneLevel();
+		preds = (QNode[]) new SkipQLinkList.QNode[height+1];
+
+		// Climb towards the key, keeping track of the level
+		p = current;
+		if (compare(key,p) <= 0)
+		  while (compare(key,p) <= 0)
+			if (p.getAbove() != null) {p = p.getAbove(); lvl++;}
+			else p = p.getPrev();
+		else
+		  while (compare(key,p.getNext()) > 0)
+			if (p.getAbove() != null) {p = p.getAbove(); lvl++;}
+			else p = p.getNext();
+
+		// Descend from there, and then climb the levels above it
+		descendFrom(p, lvl, key, true, preds);
+		for (i=lvl+1; i<=h; ++i) {
+			while (p.getAbove() == null) p = p.getPrev();
+			p = p.getAbove();
+			preds[i] = p;
+		}
+
+		current = insertTower(e, preds, h);
+		return e;
+	}
+
+// Postcondition:
+// The same as skipSearch(key), and the predecessors of the key at every
+// level (the nodes after which skipAdd would link a new entry with this
+// key) are recorded in the given finger, which is returned. If f is null
+// a new finger is created.
+//
+	public Finger skipSearch(K key, Finger f) {
+		QNode p;
+
+		if (f == null) f = new Finger();
+		if (f.path == null || f.path.length != height+1)
+			f.path = (QNode[]) new SkipQLinkList.QNode[height+1];
+		p = descendFrom(start, height, key, true, f.path);
+		while (compare(key,p.getNext()) >= 0)
+			p = p.getNext();
+		current = live(p, false);
+		f.key = key;
+		f.modCount = modCount;
+		return f;
+	}
+
+// Postcondition:
+// The same as skipAdd(key, value), but if the hint was recorded by
+// skipSearch for this key, and the list has not been changed since,
+// the new entry is linked after the recorded predecessors, without any
+// new descent. Otherwise, or in deterministic mode, the hint is ignored.
+// Current is put at the new node.
+//
+// Returns the new node's entry.
+//
+	public Entry skipAdd(K key, V value, Finger hint) {
+		QNode[] preds;
+		QNode hdr;
+		Entry e;
+		int i, h;
+
+		if (deterministic || (hint == null) || (hint.path == null) ||
+			(hint.modCount != modCount) || (hint.path.length != height+1) ||
+			(c.compare(key, hint.key) != 0))
+			return skipAdd(key, value);
+
+		e = newEntry(key, value);
+		h = getRandHeight(MAX_H);
+		if (h >= height)
+			for (i=(h-height); i>=0; --i)
+			  start = addOneLevel();
+
+		// Take the recorded predecessors, and the headers of new levels
+		preds = (QNode[]) new SkipQLinkList.QNode[h+1];
+		hdr = head;
+		for (i=0; i<=h; ++i) {
+			if ((i < hint.path.length) && (hint.path[i] != null))
+				preds[i] = hint.path[i];
+			else
+				preds[i] = hdr;
+			hdr = hdr.getAbove();
+		}
+
+		current = insertTower(e, preds, h);
+		return e;
+	}
+
+// Precondition:  isElement() returns true.
+// Postcondition: The current entry is removed from all levels of the
+// list. All empty levels but one, are also removed. Current is put
+// at the removed node successor at the level 0 list. If that was the
+// node at the tail or the list became empty after the removal, then
+// current is no longer valid. In lazy mode, the entry is only marked
+// as removed, and unlinked later with a batch of others.
+//
+	public void skipRemove() {
+
+		// 1. Check if current is valid.
+		if (!isElement()) return;
+
+		// 2. Remove current node from all levels starting from level 0,
+		// 3. and remove all empty levels but one.
+		// 4. Finalize, and return.
+		current = removeNode(current);
+	}
+
+// Postcondition:
+// Removes the newest entry with the given key, which is the first one
+// of them in the list, and returns it; or returns null if there is no
+// entry with that key. The tower of the entry is found in one descent,
+// and unlinked at all levels, in O(log n) steps; empty levels at the
+// top are removed. Current is put at the entry after it, and is no
+// longer valid if there is none.
+//
+	public Entry remove(K key) {
+		QNode x = live(findNode(key, true).getNext(), true);
+		Entry e = x.getEntry();
+
+		if ((x == tail) || (compare(key, x) != 0)) return null;
+		current = removeNode(x);
+		return e;
+	}
+
+// Postcondition:
+// Removes the given entry from the list, and returns true; or returns
+// false if it is not in the list. The same as remove(e.getKey()), but
+// among the entries with that key, the one removed is e itself.
+//
+	public boolean remove(Entry e) {
+		QNode x = findNode(e.getKey(), true).getNext();
+
+		while ((compare(e.getKey(), x) == 0) && (x.getEntry() != e))
+			x = x.getNext();
+		if ((x.getEntry() != e) || x.isRemoved()) return false;
+		current = removeNode(x);
+		return true;
+	}
+
+// Postcondition:
+// Removes the first entry of the list and returns it, or returns null
+// if the list is empty. There is no search: the tower of the entry is
+// unlinked, and the header links above it are narrowed by one. Current
+// is put at the new first entry.
+//
+	public Entry removeFirst() {
+		QNode x = live(head.getNext(), true);
+		Entry e = x.getEntry();
+
+		if (x == tail) return null;
+		current = removeNode(x);
+		return e;
+	}
+
+// Postcondition:
+// Removes the last entry of the list and returns it, or returns null if
+// the list is empty, without a search, as removeFirst does. Current is
+// no longer valid.
+//
+	public Entry removeLast() {
+		QNode x = live(tail.getPrev(), false);
+		Entry e = x.getEntry();
+
+		if (x == head) return null;
+		current = removeNode(x);
+		return e;
+	}
+
+// Postcondition:
+// If batch is greater than 0, the list is in lazy mode: skipRemove,
+// remove(key) and remove(entry) only mark the entry as removed, which
+// takes O(1) steps after the search, and the marked towers are unlinked
+// together once batch of them are pending, or when purge() is called.
+// A batch of 0 turns lazy mode off, and unlinks the marked towers.
+//
+	public void setLazyRemoval(int batch) {
+		if (batch < 0)
+			throw new IllegalArgumentException("setLazyRemoval: batch " + batch);
+		lazyBatch = batch;
+		if (batch == 0) purge();
+	}
+
+// Postcondition:
+// The towers of all the entries marked as removed in lazy mode are
+// unlinked, and their number is returned. The methods that depend on
+// the positions of the entries, or copy or move them, call it first.
+//
+	public int purge() {
+		QNode[] preds;
+		int n;
+
+		if ((marked == null) || marked.isEmpty()) return 0;
+		preds = (QNode[]) new SkipQLinkList.QNode[MAX_H+2];
+		for (QNode x : marked) {
+			unlinkTower(x, preds);
+			if (deterministic) repairGaps(preds);
+		}
+		while (removeOneLevel());
+		n = marked.size();
+		marked.clear();
+		return n;
+	}
+
+// Postcondition:
+// Clears the list by dereferencing all of its nodes and reducing
+// its levels to 1.
+//
+	public void clear() {
+		QNode p, q, r;
+
+		r = start.getBelow();
+		p = r.getBelow();
+		while (p != null) {
+			while (r!=null) {
+				q = r.getNext();
+				deref(r);
+				r = q;
+			}
+			r = p;
+			p = p.getBelow();
+		}
+		start.setBelow(head);
+		start.getNext().setBelow(tail);
+		head.setAbove(start);
+		tail.setAbove(start.getNext());
+		r = head.getNext();
+		while (r != tail) {
+			q = r.getNext();
+			deref(r);
+			r = q;
+		}
+		head.setNext(tail);
+		tail.setPrev(head);
+		head.setWidth(1);
+		start.setWidth(1);
+		current = head;
+		height = 1;
+		count = 0;
+		if (marked != null) marked.clear();
+		if (index != null) index = new KeyIndex(0);
+		modCount++;
+		return;
+	}
+
+// Postcondition:
+// Moves the entries whose keys are greater than or equal to the given
+// key to a new SkipQLinkList, and returns it. The new list has the same
+// comparator and modes (deterministic, lazy removal and hash index),
+// and a split of the level generator (see LevelGenerator). This list
+// keeps the entries whose keys are less than the key. The nodes are not
+// copied: the links at each level are cut after the last node that
+// stays, and spliced into the new list, so it takes O(log n) steps, and
+// O(m) more with a hash index, for the m entries that move. Current is
+// no longer valid in either list.
+//
+	public SkipQLinkList<K,V> splitAt(K key) {
+		SkipQLinkList<K,V> other = new SkipQLinkList<K,V>(c, levels.split());
+		QNode[] preds, ends, oHeads, oEnds;
+		QNode first, last;
+		int[] rank;
+		int i, k, m;
+
+		other.deterministic = deterministic;
+		other.lazyBatch = lazyBatch;
+		purge();					// It may change the height
+		preds = (QNode[]) new SkipQLinkList.QNode[height+1];
+		rank = new int[height+1];
+		ends = trailers();
+		findPreds(key, preds, rank);
+		k = rank[0];				// The number of entries that stay
+		m = count - k;				// The number of entries that move
+		if (hashed) {				// The moved keys change index, the
+			other.setHashIndex(true);	// oldest of equal keys first
+			for (QNode x=tail.getPrev(); x!=preds[0]; x=x.getPrev()) {
+				index.remove(x);
+				other.index.add(x, false);
+			}
+		}
+
+		while (other.height < height)
+			other.start = other.addOneLevel();
+		oHeads = other.lastNodes();
+		oEnds = other.trailers();
+
+		for (i=0; i<height; ++i) {
+			first = preds[i].getNext();
+			if (first == ends[i]) {				// Nothing moves at level i
+				oHeads[i].setWidth(m + 1);
+			}
+			else {
+				last = ends[i].getPrev();
+				oHeads[i].setNext(first);
+				first.setPrev(oHeads[i]);
+				oHeads[i].setWidth(rank[i] + preds[i].getWidth() - k);
+				last.setNext(oEnds[i]);
+				oEnds[i].setPrev(last);
+				preds[i].setNext(ends[i]);
+				ends[i].setPrev(preds[i]);
+			}
+			preds[i].setWidth(k + 1 - rank[i]);
+		}
+		preds[height].setWidth(k + 1);
+		oHeads[height].setWidth(m + 1);
+
+		count = k;
+		other.count = m;
+		while (removeOneLevel());
+		while (other.removeOneLevel());
+		current = head;
+		modCount++;
+		other.modCount++;
+		return other;
+	}
+
+// Postcondition:
+// Moves all the entries of the other list to the end of this list, and
+// leaves the other list empty. All keys in the other list must be
+// greater than all keys in this list, otherwise the lists are not
+// changed and IllegalArgumentException is thrown. The links at each
+// level are spliced, so it takes O(height) steps, and O(m) more if this
+// list has a hash index, for the m entries of the other list. Current is
+// no longer valid in either list.
+//
+	public void join(SkipQLinkList<K,V> other) {
+		QNode[] ends, oHeads, oEnds;
+		QNode last, first;
+		int i, n1, n2;
+
+		if (other == this)
+			throw new IllegalArgumentException("join: a list cannot join itself");
+		purge();
+		other.purge();
+		n1 = count;
+		n2 = other.count;
+		if (n2 == 0) return;
+		if ((n1 > 0) && (c.compare(tail.getPrev().getEntry().getKey(),
+					other.head.getNext().getEntry().getKey()) >= 0))
+			throw new IllegalArgumentException("join: the keys of the other"
+				+ " list must all be greater than the keys of this list");
+
+		if (index != null)
+			for (QNode x=other.head.getNext(); x!=other.tail; x=x.getNext())
+				index.add(x, true);
+		if (other.index != null) other.index = other.new KeyIndex(0);
+
+		while (height < other.height)
+			start = addOneLevel();
+		ends = trailers();
+		oHeads = other.lastNodes();
+		oEnds = other.trailers();
+
+		for (i=0; i<=height; ++i) {
+			last = ends[i].getPrev();
+			first = (i < other.height)? oHeads[i].getNext() : null;
+			if ((first == null) || (first == oEnds[i])) {	// Nothing at level i
+				last.setWidth(last.getWidth() + n2);
+			}
+			else {
+				last.setWidth(last.getWidth() + oHeads[i].getWidth() - 1);
+				last.setNext(first);
+				first.setPrev(last);
+				oEnds[i].getPrev().setNext(ends[i]);
+				ends[i].setPrev(oEnds[i].getPrev());
+			}
+		}
+		count = n1 + n2;
+
+		// The other list is left with empty levels, and trimmed.
+		for (i=0; i<=other.height; ++i) {
+			oHeads[i].setNext(oEnds[i]);
+			oEnds[i].setPrev(oHeads[i]);
+			oHeads[i].setWidth(1);
+		}
+		other.count = 0;
+		while (other.removeOneLevel());
+		other.current = other.head;
+		current = head;
+		modCount++;
+		other.modCount++;
+	}
+
+// Postcondition:
+// Removes the entries whose keys are greater than or equal to fromKey,
+// and less than toKey, and returns how many were removed. At each level
+// the links around the removed nodes are cut and joined, so it takes
+// O(log n) steps, whatever the number of entries removed, or O(k) more
+// with a hash index, for k entries removed. Current is no longer valid.
+//
+	public int removeRange(K fromKey, K toKey) {
+		QNode[] from, to;
+		int[] fromRank, toRank;
+		int i, removed;
+
+		purge();					// It may change the height
+		from = (QNode[]) new SkipQLinkList.QNode[height+1];
+		to = (QNode[]) new SkipQLinkList.QNode[height+1];
+		fromRank = new int[height+1];
+		toRank = new int[height+1];
+		findPreds(fromKey, from, fromRank);
+		findPreds(toKey, to, toRank);
+		removed = toRank[0] - fromRank[0];
+		if (removed <= 0) return 0;
+		if (index != null)			// The oldest of equal keys first
+			for (QNode x=to[0]; x!=from[0]; x=x.getPrev())
+				index.remove(x);
+
+		for (i=0; i<=height; ++i) {
+			if (from[i] != to[i]) {
+				from[i].setWidth(toRank[i] + to[i].getWidth()
+								 - fromRank[i] - removed);
+				from[i].setNext(to[i].getNext());
+				to[i].getNext().setPrev(from[i]);
+			}
+			else
+				from[i].setWidth(from[i].getWidth() - removed);
+		}
+		count -= removed;
+		while (removeOneLevel());
+		current = head;
+		modCount++;
+		return removed;
+	}
+
+// Postcondition:
+// Returns true if the list keeps the 1-2-3 invariant, and false if the
+// heights of its towers are random.
+//
+	public boolean isDeterministic() {return deterministic;}
+
+// Postcondition:
+// If on is true, the list keeps a hash index from each key to its oldest
+// entry, which is built now in O(n) steps, and is kept up to date by every
+// change of the list. If on is false, the index is dropped.
+//
+	public void setHashIndex(boolean on) {
+		hashed = on;
+		if (!on)
+			index = null;
+		else if (index == null) {
+			index = new KeyIndex(count);
+			for (QNode x=head.getNext(); x!=tail; x=x.getNext())
+				if (!x.isRemoved()) index.add(x, true);
+		}
+	}
+
+// Postcondition:
+// Returns true if the list keeps a hash index of its keys.
+//
+	public boolean isHashIndexed() {return hashed;}
+
+// Postcondition:
+// Returns the current height of the skip list.
+//
+  	public int height() {return height;}
+
+// Postcondition:
+// Returns the current number of nodes in the skip list at level 0.
+//
+	public int size() {
+		return (marked == null)? count : count - marked.size();
+	}
+
+// Postcondition:
+// Returns true if the skip list is empty, otherwise it returns false.
+//
+  	public boolean isEmpty() {return (size() == 0);}
+
+// Postcondition:
+// If current is at a valid node, it returns true, otherwise it
+// returns false.
+//
+	public boolean isElement() {
+		return ((current != head) && (current != tail));
+	}
+
+// Postcondition:
+// Returns a new SkipQLinkList containing the portion of this list
+// between the specified fromKey, inclusive, and toKey, exclusive. As
+// with the copy constructor, the new list has the same comparator and
+// modes, and a split of the level generator.
+//
+	public SkipQLinkList subList(K fromKey, K toKey) {
+		SkipQLinkList<K,V> sublist = new SkipQLinkList<K,V>(c, levels.split());
+		QNode[] last = sublist.lastNodes();
+		int[] lastPos = new int[MAX_H+2];
+		QNode p = findNode(fromKey, true).getNext();
+
+		sublist.deterministic = deterministic;
+		sublist.lazyBatch = lazyBatch;
+		sublist.setHashIndex(hashed);		// Filled by appendTower
+
+		// The entries are already sorted, so append them in one pass,
+		// keeping the heights of their towers in this list.
+		while ((p != tail) && (compare(toKey, p) > 0)) {
+			Entry e = p.getEntry();
+			if (!p.isRemoved())
+				sublist.appendTower(sublist.newEntry(e.getKey(), e.getValue()),
+									p.getHeight(), last, lastPos);
+			p = p.getNext();
+		}
+		sublist.closeWidths(last, lastPos);
+		return sublist;
+	}
+
+// Postcondition:
+// Returns an array containing the entries of this list between the
+// specified fromKey, inclusive, and toKey, exclusive, in proper sequence.
+// Current is not changed, so this method only reads the list.
+//
+	public Entry[] toArray(K fromKey, K toKey) {
+		java.util.ArrayList<Entry> list = new java.util.ArrayList<Entry>();
+		QNode p = findNode(fromKey, true).getNext();
+
+		while ((p != tail) && (compare(toKey, p) > 0)) {
+			if (!p.isRemoved()) list.add(p.getEntry());
+			p = p.getNext();
+		}
+		return list.toArray((Entry[]) new SkipQLinkList.Entry[list.size()]);
+	}
+
+// Postcondition:
+// Returns an array containing all of the elements in this list in
+// proper sequence (from first to last element).
+//
+	public Entry[] toArray() {
+		Entry[] listArray = (Entry[]) new SkipQLinkList.Entry[size()];
+		int i = 0;
+		for (Entry e : this) {
+			listArray[i] = e;
+			i++;
+		}
+		return listArray;
+	}
+
+// Postcondition:
+// All nodes in the skip list, at all levels are printed to
+// the screen showing the list structure (nodes and links),
+// where the nodes are presented by their keys.
+//
+	public void printStructure() {
+		QNode p,q;
+		String k, s;
+		int max = 5;
+
+		purge();
+		System.out.println();
+		System.out.println("The list height is: " + height + ".");
+		System.out.println("The list size is:   " + count + ".");
+		System.out.print("The list printed below is rotated 90 ");
+		System.out.println("degrees clockwise.");
+
+		for (q=head; q!=null; q=q.getNext()) {
+		  k = ((Entry) q.getEntry()).getKey().toString().trim();
+		  if (k.length() > max) k = k.substring(0,max);
+		  k = k + " ";
+		  if (q == current) System.out.print(">");
+		  if (q != current) System.out.print(" ");
+		  for (p=q; p!=null; p=p.getAbove()) {
+			System.out.print(k);
+			s = "";
+			if (p.getAbove() != null) {
+			  for (int i=k.length(); i<max+1; ++i) s = s + "-";
+			  System.out.print(s + "-- ");
+			}
+			else {
+			  for (int i=k.length(); i<max+1; ++i) s = s + " ";
+			  System.out.print(s + "   ");
+			}
+    	  }
+		  s = "";
+		  for (int i=1; i<max+1; ++i) s = s + " ";
+    	  for (int i=q.getHeight(); (i<height)&&(q!=head)&&(q!=tail); ++i)
+    	  	System.out.print(" |  " + s);
+    	  System.out.println();
+		  System.out.print(" ");
+		  for (int i=0; i<= height; ++i)
+			if (q.getNext() != null) System.out.print(" |  " + s);
+		  System.out.println();
+    	}
+	}
+
+// ITERATORS:
+//
+// 1. Default Iterator:
+// Returns a forward iterator over all entries in the skip list.
+//
+	public Iterator iterator() {
+        return new SkipListFIterator();
+	}
+
+// 2. Forward Iterator:
+// Returns a forward iterator over all entries in the skip list.
+//
+	public Iterator entries() {
+        return new SkipListFIterator();
+	}
+
+// 3. Backward Iterator:
+// Returns a backward iterator over all entries in the skip list.
+//
+	public Iterator backIterator() {
+        return new SkipListBIterator();
+	}
+
+// 4. Key Iterator:
+// Returns a forward iterator over all keys in the skip list.
+//
+	public Iterator keys() {
+        return new SkipListKIterator();
+	}
+
+// 5. Value Iterator:
+// Returns a forward iterator over all values in the skip list.
+//
+	public Iterator values() {
+        return new SkipListVIterator();
+	}
+
+// 6. Forward Partial Iterator:
+// Returns an iterable collection of all entries in the skip list with
+// keys greater than or equal to the passed key, in non-decreasing order.
+//
+	public Iterator successors(K key) {
+        return new SkipListFIterator(key);
+    }
+
+// 7. Backward Partial Iterator:
+// Returns an iterable collection of all entries in the skip list with
+// keys less than or equal to k, in non-increasing order.
+//
+	public Iterator predecessors(K key) {
+        return new SkipListBIterator(key);
+    }
+
+// 8. Same Key Iterator:
+// Returns an iterable collection of all entries in the skip list with
+// keys equal to k, in reverse order of their insertion time.
+//
+	public Iterator sameKey(K key) {
+        return new SkipListSKIterator(key);
+    }
+
+// 9. Spliterator:
+// Returns a spliterator over all entries in the skip list, in key order,
+// which splits its range in two at a node of the highest level that has
+// one inside it. Its size, and that of every part split from it, is
+// exact. Marked removals are unlinked first.
+//
+	public Spliterator<Entry> spliterator() {
+		return new SkipListSpliterator<Entry>(SkipListSpliterator.ENTRIES);
+	}
+
+// STREAMS:
+//
+// The streams are made on the spliterator of the list, so a parallel
+// stream is split evenly along the upper levels. The list must not be
+// changed while a stream over it is running.
+//
+// 1. Entry Stream:
+// Returns a sequential stream of all entries in the skip list, in key
+// order.
+//
+	public Stream<Entry> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+// 2. Key Stream:
+// Returns a sequential stream of all keys in the skip list, in order.
+//
+	public Stream<K> keyStream() {
+		return StreamSupport.stream(
+			new SkipListSpliterator<K>(SkipListSpliterator.KEYS), false);
+	}
+
+// 3. Value Stream:
+// Returns a sequential stream of all values in the skip list, in the
+// order of their keys.
+//
+	public Stream<V> valueStream() {
+		return StreamSupport.stream(
+			new SkipListSpliterator<V>(SkipListSpliterator.VALUES), false);
+	}
+
+
+// SERIALIZATION:
+//
+// The list is written as its comparator and random number generator,
+// then count, then the key, value and tower height of each entry in
+// level 0 order. No node is written, so the size of the stream grows
+// with the entries only, and writing does not recurse through the links.
+// Keys and values of type Integer, Long, String and byte[] (such as keys
+// encoded by a KeyCodec) are written as their plain data after a tag
+// byte, which saves the object stream the work of keeping a handle for
+// each of them; others are written as objects.
+//
+	private void writeObject(java.io.ObjectOutputStream out)
+			throws java.io.IOException {
+		purge();
+		out.defaultWriteObject();
+		out.writeInt(count);
+		for (QNode p=head.getNext(); p!=tail; p=p.getNext()) {
+			writeItem(out, p.getEntry().getKey());
+			writeItem(out, p.getEntry().getValue());
+			out.writeByte(p.getHeight());
+		}
+	}
+
+	private static final byte T_NULL = 0;		// Tags of writeItem
+	private static final byte T_INT = 1;
+	private static final byte T_LONG = 2;
+	private static final byte T_STRING = 3;
+	private static final byte T_OBJECT = 4;
+	private static final byte T_BYTES = 5;
+
+	private static void writeItem(java.io.ObjectOutputStream out, Object o)
+			throws java.io.IOException {
+		if (o == null)
+			out.writeByte(T_NULL);
+		else if (o.getClass() == Integer.class) {
+			out.writeByte(T_INT);
+			out.writeInt((Integer) o);
+		}
+		else if (o.getClass() == Long.class) {
+			out.writeByte(T_LONG);
+			out.writeLong((Long) o);
+		}
+		else if ((o.getClass() == String.class)
+				 && (((String) o).length() <= 65535/3)) {
+			out.writeByte(T_STRING);
+			out.writeUTF((String) o);
+		}
+		else if (o.getClass() == byte[].class) {
+			out.writeByte(T_BYTES);
+			out.writeInt(((byte[]) o).length);
+			out.write((byte[]) o);
+		}
+		else {
+			out.writeByte(T_OBJECT);
+			out.writeObject(o);
+		}
+	}
+
+	private static Object readItem(java.io.ObjectInputStream in)
+			throws java.io.IOException, ClassNotFoundException {
+		switch (in.readByte()) {
+		  case T_NULL: return null;
+		  case T_INT: return in.readInt();
+		  case T_LONG: return in.readLong();
+		  case T_STRING: return in.readUTF();
+		  case T_OBJECT: return in.readObject();
+		  case T_BYTES:
+			byte[] b = new byte[in.readInt()];
+			in.readFully(b);
+			return b;
+		  default: throw new java.io.InvalidObjectException("bad item tag");
+		}
+	}
+
+// The towers are rebuilt with the heights written, by appending them to
+// every level in one linear pass. Current is not valid.
+//
+	private void readObject(java.io.ObjectInputStream in)
+			throws java.io.IOException, ClassNotFoundException {
+		in.defaultReadObject();
+
+		entry = (Entry) new Entry(null,null);
+
+		// Create two entries for the -OO and +OO special keys
+		emi = (Entry) new Entry((K)MINUS_INF,null);
+		epi = (Entry) new Entry((K)PLUS_INF,null);
+
+		height = 0;					// Initialize the skip list height
+		count = 0;					// Initialize the skip list size
+		head = createFirstLevel();	// Create level 0 Doubly Linked list
+		tail = head.getNext();		// Init. the head and tail pointers
+		current = head;				// Init. the current pointer at head
+		start = addOneLevel();		// Create level 1 Doubly Linked list
+
+		QNode[] last = lastNodes();
+		int[] lastPos = new int[MAX_H+2];
+		int n = in.readInt();
+		if (hashed) index = new KeyIndex(n);
+		K key, prevKey = null;
+		V value;
+		int h;
+
+		for (int i=0; i<n; ++i) {
+			key = (K) readItem(in);
+			value = (V) readItem(in);
+			h = in.readByte();
+			if ((h < 0) || (h > MAX_H))
+				throw new java.io.InvalidObjectException("bad tower height " + h);
+			if ((i > 0) && (c.compare(prevKey, key) > 0))
+				throw new java.io.InvalidObjectException("keys out of order");
+			appendTower(newEntry(key, value), h, last, lastPos);
+			prevKey = key;
+		}
+		closeWidths(last, lastPos);
+	}
+
+// INNER CLASSES:
+//
+// 1. Entry Inner Class:
+//
+// PROVIDES: A generic class for a data entry, which consists of a pair
+//     of objects: a key of generic type K, and a value of generic type
+//     V. Both fields may be any of the Java reference objects
+//     overloading clone(), equals() and toString() methods; and
+//     implementing the Comparable interface.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 4.00 2020/03/27
+//
+
+	public class Entry implements Serializable {
+
+		private K key;
+		private V value;
+
+		public Entry( K initKey, V initValue ) {	// Constructor.
+			key = initKey;
+			value = initValue;
+		}
+
+		public void setKey(K newKey) {key = newKey;}
+		public void setValue(V newValue) {value = newValue;}
+
+		public K getKey() {return key;}
+		public V getValue() {return value;}
+
+		protected Entry clone() {
+			Entry newEntry = new Entry(this.key, this.value);
+			return newEntry;
+		}
+
+		public boolean equals(Entry e2) {
+			return ((key==null)?
+					(e2.getKey()==null):(c.compare(key,e2.getKey())==0))&&
+				   ((value==null)?
+		 			(e2.getValue()==null):(value.equals(e2.getValue())));
+		}
+
+		public String toString() {
+			return "["+getKey()+", "+getValue()+"]";
+		}
+	}
+
+
+// 2. Finger Inner Class:
+//
+// PROVIDES: A record of the path of a skipSearch, that is, the node
+//     after which a new entry with the searched key would be linked at
+//     each level. It is filled by skipSearch(key, finger), and may be
+//     passed to skipAdd(key, value, finger) as long as the list has not
+//     been changed in between. The same finger may be reused.
+//
+
+	public class Finger {
+		private QNode[] path;			// The predecessor at each level
+		private K key;					// The key that was searched for
+		private int modCount = -1;		// The list modCount at that time
+	}
+
+
+// 3. QNode Inner Class:
+//
+// PROVIDES: A generic class for a node in a quad linked skip list.
+//     Each node contains an entry of data and four references to the
+//     previous,  next, above and below nodes. The type of the data is
+//     the predefined Entry<K,V> type. The K and V types may be any of
+//     the Java reference objects overloading clone(), equals() and
+//     toString() methods; and implementing the Comparable interface.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 1.00 2013/10/27
+//
+
+	private class QNode implements Serializable {
+
+		private short height = 0;
+		private boolean removed;		// Marked in lazy mode, at level 0
+		private int width = 0;			// Level 0 steps to the next node
+		private Entry entry;
+		private QNode next, prev;
+		private QNode above, below;
+
+		// Postcondition: The node contains the specified entry and links.
+		//
+		public QNode (Entry initEntry, QNode initNext, QNode initPrev,
+	    	                           QNode initAbove, QNode initBelow) {
+			entry  = initEntry;
+			next   = initNext;
+			prev   = initPrev;
+			above  = initAbove;
+			below  = initBelow;
+		}
+
+		// Postcondition: Each of the following methods is used to modify
+		// the respective fields.
+		//
+		public void setHeight(int newHeight) {height = (short)newHeight;}
+		public void setRemoved(boolean newRemoved) {removed = newRemoved;}
+		public void setWidth(int newWidth) {width = newWidth;}
+		public void setEntry(Entry newEntry) {entry = newEntry;}
+		public void setNext(QNode newNext) {next = newNext;}
+ 		public void setPrev(QNode newPrev) {prev = newPrev;}
+		public void setAbove(QNode newAbove) {above = newAbove;}
+		public void setBelow(QNode newBelow) {below = newBelow;}
+
+		// Each of the following methods is used to return the
+		// respective fields.
+		//
+		public int getHeight() {return (int)height;}
+		public boolean isRemoved() {return removed;}
+		public int getWidth() {return width;}
+		public Entry getEntry() {return entry;}
+		public QNode getNext() {return next;}
+		public QNode getPrev() {return prev;}
+		public QNode getAbove() {return above;}
+		public QNode getBelow() {return below;}
+	}
+
+// 4. Skip List Iterator Classes:
+// A.	Inner class for the SkipListSKIterator:
+// PROVIDES: Iterator objects over the entries of the Same Key in a
+//     SkipQLinkList structure. This iterator goes forward starting
+//     at an entry of a given key, and continuing forward to all
+//     entries having the Same Key.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 2.00 2019/10/27
+//
+	private class SkipListSKIterator implements Iterator<Entry> {
+		private QNode cr;
+		private K key;
+
+		private SkipListSKIterator(K key) {
+			this.key = key;
+			cr = live(findNode(key, true).getNext(), true);
+		}
+
+		public boolean hasNext() {
+			return (cr != tail) && (compare(key, cr) == 0);
+		}
+
+		public Entry next() {
+			QNode temp = cr;
+			cr = live(cr.getNext(), true);
+			return temp.getEntry();
+		}
+
+		public void remove() {}
+	}
+
+// B.	Inner class for the SkipListFIterator:
+// PROVIDES: Iterator objects over the entries of a SkipQLinkList
+//     structure. This iterator goes forward starting at the head
+//     of the list by default or starting at the first entry in the
+//     list matching the given key.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 2.00 2019/10/27
+//
+	private class SkipListFIterator implements Iterator<Entry> {
+		private QNode cr;
+
+		private SkipListFIterator() {
+			cr = live(head.getNext(), true);
+		}
+
+		private SkipListFIterator(K key) {
+			cr = live(findNode(key, true).getNext(), true);
+		}
+
+		public boolean hasNext() {return (cr != tail);}
+
+		public Entry next() {
+			QNode temp = cr;
+			cr = live(cr.getNext(), true);
+			return temp.getEntry();
+		}
+
+		public void remove() {}
+	}
+
+// C.	Inner class for the SkipListBIterator:
+// PROVIDES: Iterator objects over the entries of a SkipQLinkList
+//     structure. This iterator goes backward starting at the tail
+//     of the list by default or starting at the first entry in the
+//     list matching the given key.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 2.00 2019/10/27
+//
+	private class SkipListBIterator implements Iterator<Entry> {
+		private QNode cr;
+
+		private SkipListBIterator() {
+			cr = live(tail.getPrev(), false);
+		}
+
+		private SkipListBIterator(K key) {
+			cr = live(findNode(key, false), false);
+		}
+
+		public boolean hasNext() {return (cr != head);}
+
+		public Entry next() {
+			QNode temp = cr;
+			cr = live(cr.getPrev(), false);
+			return temp.getEntry();
+		}
+
+		public void remove() {}
+	}
+
+// D.	Inner class for the SkipListKIterator:
+//
+// PROVIDES: Iterator objects over the keys of a SkipQLinkList
+//     structure. This iterator goes forward starting at first
+//     key in the list.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 1.00 2013/10/27
+//
+	private class SkipListKIterator implements Iterator<K> {
+		private QNode cr;
+
+		private SkipListKIterator() {
+			cr = live(head.getNext(), true);
+		}
+
+		public boolean hasNext() {return (cr != tail);}
+
+		public K next() {
+			QNode temp = cr;
+			cr = (hasNext()? live(cr.getNext(), true) : null);
+			return (K)temp.getEntry().getKey();
+		}
+
+		public void remove() {}
+	}
+
+// E.	Inner class for the SkipListVIterator:
+//
+// PROVIDES: Iterator objects over the values of a SkipQLinkList
+//     structure. This iterator goes forward starting at the first
+//     value in the list.
+//
+// author Dr. Abdulghani M. Al-Qasimi
+// version 1.00 2013/10/27
+//
+	private class SkipListVIterator implements Iterator<V> {
+		private QNode cr;
+
+		private SkipListVIterator() {
+			cr = live(head.getNext(), true);
+		}
+
+		public boolean hasNext() {return (cr != tail);}
+
+		public V next() {
+			QNode temp = cr;
+			cr = (hasNext()? live(cr.getNext(), true) : null);
+			return (V)temp.getEntry().getValue();
+		}
+
+		public void remove() {}
+	}
+
+// F.	Inner class for the SkipListSpliterator:
+//
+// PROVIDES: Spliterator objects over the entries, keys or values of a
+//     SkipQLinkList structure. A spliterator covers the level 0 nodes
+//     from the node below lo up to the node below hi, where lo and hi
+//     are nodes of the same level, lvl, and hi is not included. Since
+//     the widths of the links from lo to hi add up to the number of
+//     level 0 steps between them, the size of the range is known
+//     exactly. trySplit cuts the range at the node of level lvl where
+//     the widths come nearest to half of it, and goes down a level at
+//     a time while that is more than an eighth of it from the middle,
+//     so a split takes O(log n) steps and the parts are of about the
+//     same size. The list is checked
+//     for structural changes when a traversal ends.
+//
+	private class SkipListSpliterator<T> implements Spliterator<T> {
+		private static final int ENTRIES = 0;	// What the elements are
+		private static final int KEYS = 1;
+		private static final int VALUES = 2;
+
+		private final int kind;			// ENTRIES, KEYS or VALUES
+		private final int expectedModCount;	// modCount of the list
+		private QNode lo, hi;			// The range, at level lvl
+		private int lvl;
+		private int est;				// Entries left in the range
+		private QNode cr, end;			// At level 0, once traversal starts
+
+		private SkipListSpliterator(int kind) {
+			purge();
+			this.kind = kind;
+			expectedModCount = modCount;
+			lo = start;
+			lvl = height;
+			hi = start;
+			while (hi.getNext() != null) hi = hi.getNext();	// The top trailer
+			est = count;
+		}
+
+		private SkipListSpliterator(SkipListSpliterator<T> parent, QNode hi,
+									int est) {
+			kind = parent.kind;
+			expectedModCount = parent.expectedModCount;
+			lo = parent.lo;
+			lvl = parent.lvl;
+			this.hi = hi;
+			this.est = est;
+		}
+
+		public Spliterator<T> trySplit() {
+			QNode p, q;
+			int half, slack, pos, qpos;
+
+			if ((cr != null) || (est < 2)) return null;
+			half = est / 2;
+			slack = est / 8;
+			while (true) {
+				if (lo.getNext() != hi) {
+					// The header starts the range, but is not in it
+					pos = lo.getWidth() - ((lo.getEntry() == emi)? 1 : 0);
+					p = lo.getNext();
+					q = null;
+					qpos = 0;
+					while ((pos < half) && (p.getNext() != hi)) {
+						q = p;
+						qpos = pos;
+						pos += p.getWidth();
+						p = p.getNext();
+					}
+					if ((q != null) && (half - qpos < pos - half)) {
+						p = q;					// The node before is
+						pos = qpos;				// nearer to the middle
+					}
+					if ((pos > 0) &&
+						((lvl == 0) || (Math.abs(pos - half) <= slack))) break;
+				}
+				lo = lo.getBelow();			// The cut is too far from the
+				hi = hi.getBelow();			// middle: look for a better
+				lvl--;						// one a level below
+			}
+			SkipListSpliterator<T> prefix =
+				new SkipListSpliterator<T>(this, p, pos);
+			lo = p;
+			est -= pos;
+			return prefix;
+		}
+
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (cr == null) begin();
+			if (cr == end) {
+				checkForChanges();
+				return false;
+			}
+			Entry e = cr.getEntry();
+			cr = cr.getNext();
+			est--;
+			action.accept(item(e));
+			return true;
+		}
+
+		public void forEachRemaining(Consumer<? super T> action) {
+			if (cr == null) begin();
+			for (QNode p = cr; p != end; p = p.getNext())
+				action.accept(item(p.getEntry()));
+			cr = end;
+			est = 0;
+			checkForChanges();
+		}
+
+		public long estimateSize() {return est;}
+
+		public int characteristics() {
+			int ch = ORDERED | SIZED | SUBSIZED;
+			if (kind == ENTRIES) return ch | SORTED | NONNULL;
+			return (kind == KEYS)? ch | SORTED : ch;
+		}
+
+		public Comparator<? super T> getComparator() {
+			if (kind == VALUES) throw new IllegalStateException();
+			if (kind == KEYS) return (Comparator<? super T>) c;
+			return (Comparator<? super T>) new Comparator<Entry>() {
+				public int compare(Entry a, Entry b) {
+					return c.compare(a.getKey(), b.getKey());
+				}
+			};
+		}
+
+		// Goes down from lo and hi to level 0, skipping the header.
+		private void begin() {
+			cr = lo;
+			end = hi;
+			for (int i=lvl; i>0; --i) {
+				cr = cr.getBelow();
+				end = end.getBelow();
+			}
+			if (cr == head) cr = cr.getNext();
+		}
+
+		private T item(Entry e) {
+			if (kind == KEYS) return (T) e.getKey();
+			if (kind == VALUES) return (T) e.getValue();
+			return (T) e;
+		}
+
+		private void checkForChanges() {
+			if (modCount != expectedModCount)
+				throw new java.util.ConcurrentModificationException();
+		}
+	}
+
+// 5. KeyIndex Inner Class:
+//
+// PROVIDES: The hash index of a list, an open addressing table with
+//     linear probing from each key to the node at level 0 of its oldest
+//     live entry. The hash code of each slot is kept beside it, so a
+//     probe calls the comparator only when the hash codes are the same,
+//     and the table is grown without hashing the keys again. A removal
+//     moves the following slots of its run back, so there are no
+//     tombstones. The table is kept at most half full.
+//
+	private class KeyIndex {
+		private QNode[] slots;			// The nodes, or null
+		private int[] hashes;			// The hash code of each node key
+		private int mask;				// The table length less one
+		private int size;				// The number of keys
+
+		private KeyIndex(int expected) {
+			int n = 16;
+			while ((n < (1 << 30)) && (n < 2 * expected)) n <<= 1;
+			slots = (QNode[]) new SkipQLinkList.QNode[n];
+			hashes = new int[n];
+			mask = n - 1;
+		}
+
+		// Returns the node of the key, or null.
+		private QNode get(K key) {
+			int h = hashOf(key);
+
+			for (int i=h&mask; slots[i]!=null; i=(i+1)&mask)
+				if ((hashes[i] == h) && (compare(key, slots[i]) == 0))
+					return slots[i];
+			return null;
+		}
+
+		// Adds the node x of a new entry. If its key is there already, x
+		// takes its place if replace is true, as x is the oldest then.
+		private void add(QNode x, boolean replace) {
+			K key = x.getEntry().getKey();
+			int h = hashOf(key), i;
+
+			for (i=h&mask; slots[i]!=null; i=(i+1)&mask)
+				if ((hashes[i] == h) && (compare(key, slots[i]) == 0)) {
+					if (replace) slots[i] = x;
+					return;
+				}
+			slots[i] = x;
+			hashes[i] = h;
+			if (++size > (mask + 1) / 2) grow();
+		}
+
+		// Takes out the node x, before it is marked or unlinked. If x is
+		// indexed, the nearest live node before it with the same key, the
+		// next oldest, takes its place; or else the key is taken out.
+		private void remove(QNode x) {
+			K key = x.getEntry().getKey();
+			int h = hashOf(key), i, j;
+			QNode p;
+
+			for (i=h&mask; slots[i]!=x; i=(i+1)&mask)
+				if (slots[i] == null) return;		// Not the oldest
+			p = live(x.getPrev(), false);
+			if (compare(key, p) == 0) {
+				slots[i] = p;
+				return;
+			}
+			for (j=(i+1)&mask; slots[j]!=null; j=(j+1)&mask)
+				if (((j - hashes[j]) & mask) >= ((j - i) & mask)) {
+					slots[i] = slots[j];			// Its home slot is not
+					hashes[i] = hashes[j];			// between i and j
+					i = j;
+				}
+			slots[i] = null;
+			size--;
+		}
+
+		private void grow() {
+			QNode[] oldSlots = slots;
+			int[] oldHashes = hashes;
+			int i, j;
+
+			slots = (QNode[]) new SkipQLinkList.QNode[2 * oldSlots.length];
+			hashes = new int[slots.length];
+			mask = slots.length - 1;
+			for (i=0; i<oldSlots.length; ++i)
+				if (oldSlots[i] != null) {
+					for (j=oldHashes[i]&mask; slots[j]!=null; j=(j+1)&mask);
+					slots[j] = oldSlots[i];
+					hashes[j] = oldHashes[i];
+				}
+		}
+	}
+
+// 6. Cursor Inner Class:
+//
+// PROVIDES: A position at level 0 of the list, apart from current,
+//     that the caller allocates once by cursor() and then moves with
+//     seek, first, last, next and prev, reading the entry there with
+//     key and value. None of these methods allocates, so a loop of
+//     short range scans can reuse one cursor and make no garbage.
+//     After a structural change of the list, the cursor must be placed
+//     again by seek, first or last before it is moved; next and prev
+//     throw ConcurrentModificationException otherwise.
+//
+	public class Cursor {
+		private QNode p;				// The node of the cursor
+		private int expectedModCount;	// The list modCount when placed
+
+		private Cursor() {}
+
+// Postcondition: The cursor is at the oldest entry with the least key
+// greater than or equal to the given key, the entry skipSearch finds if
+// the key is in the list. Returns true if there is such an entry;
+// otherwise the cursor is not valid. It takes one descent, and if the
+// key is not in the list, a step past each newer entry of the next key.
+//
+		public boolean seek(K key) {
+			QNode q = live(findNode(key, false), false);
+			QNode n;
+
+			if (compare(key, q) == 0)		// Not the header
+				return place(q, true);
+			q = live(q.getNext(), true);	// The newest of the next key
+			while (q != tail) {
+				n = live(q.getNext(), true);
+				if ((n == tail) || (c.compare(q.getEntry().getKey(),
+											  n.getEntry().getKey()) != 0))
+					break;
+				q = n;
+			}
+			return place(q, true);
+		}
+
+// Postcondition: The cursor is at the first entry of the list. Returns
+// false if the list is empty.
+//
+		public boolean first() {
+			return place(head.getNext(), true);
+		}
+
+// Postcondition: The cursor is at the last entry of the list. Returns
+// false if the list is empty.
+//
+		public boolean last() {
+			return place(tail.getPrev(), false);
+		}
+
+// Precondition:  isValid() returns true.
+// Postcondition: The cursor is moved to the next entry. Returns false
+// if there is none, and then the cursor is not valid.
+//
+		public boolean next() {
+			if (!isValid()) return false;
+			checkForChanges();
+			p = live(p.getNext(), true);
+			return isValid();
+		}
+
+// Precondition:  isValid() returns true.
+// Postcondition: The cursor is moved to the entry before. Returns false
+// if there is none, and then the cursor is not valid.
+//
+		public boolean prev() {
+			if (!isValid()) return false;
+			checkForChanges();
+			p = live(p.getPrev(), false);
+			return isValid();
+		}
+
+// Postcondition: Returns true if the cursor is at an entry of the list.
+//
+		public boolean isValid() {
+			return (p != null) && (p != head) && (p != tail)
+				&& !p.isRemoved();
+		}
+
+// Precondition:  isValid() returns true.
+// Postcondition: Returns the key at the cursor, or null if it is not
+// valid.
+//
+		public K key() {
+			return isValid()? p.getEntry().getKey() : null;
+		}
+
+// Precondition:  isValid() returns true.
+// Postcondition: Returns the value at the cursor, or null if it is not
+// valid.
+//
+		public V value() {
+			return isValid()? p.getEntry().getValue() : null;
+		}
+
+// Precondition:  isValid() returns true.
+// Postcondition: Sets the value at the cursor, and returns the old one.
+// Returns null, and changes nothing, if the cursor is not valid.
+//
+		public V setValue(V newValue) {
+			V old;
+
+			if (!isValid()) return null;
+			old = p.getEntry().getValue();
+			p.getEntry().setValue(newValue);
+			return old;
+		}
+
+		private boolean place(QNode q, boolean forward) {
+			p = live(q, forward);
+			expectedModCount = modCount;
+			return isValid();
+		}
+
+		private void checkForChanges() {
+			if (modCount != expectedModCount)
+				throw new java.util.ConcurrentModificationException();
+		}
+	}
+
+// 7. FoldedEntry Inner Class:
+//
+// PROVIDES: An entry with a String key that keeps the case-folded form
+//     of the key, and its first four folded chars packed in a long (see
+//     KeyComparator.fold and prefix), for a list whose comparator is a
+//     KeyComparator. Both are worked out again when the key is set. The
+//     folded form is null if the key has a surrogate char, and then the
+//     entry is compared by the comparator.
+//
+	private class FoldedEntry extends Entry {
+		private String folded;			// The folded key, or null
+		private long prefix;			// Its first four chars
+
+		private FoldedEntry(K key, V value) {
+			super(key, value);
+			fold();
+		}
+
+		public void setKey(K newKey) {
+			super.setKey(newKey);
+			fold();
+		}
+
+		private void fold() {
+			folded = KeyComparator.fold((String) getKey());
+			prefix = (folded == null)? 0 : KeyComparator.prefix(folded);
+		}
+	}
+
+// 8. Probe Inner Class:
+//
+// PROVIDES: The folded form of a search key, as FoldedEntry keeps it
+//     for an entry, made once for all the comparisons of a search. The
+//     fields are final, so a Probe may be read by another thread, as
+//     readers of SynchronizedSkipQLinkList do, and be seen whole. The
+//     folded form is null if the key is not a String, or has a
+//     surrogate char.
+//
+	private static class Probe {
+		private final Object key;		// The search key itself
+		private final String folded;	// Its folded form, or null
+		private final long prefix;		// Its first four chars
+
+		private Probe(Object key) {
+			this.key = key;
+			folded = (key instanceof String)?
+					 KeyComparator.fold((String) key) : null;
+			prefix = (folded == null)? 0 : KeyComparator.prefix(folded);
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/**
+ * @(#)SkipQLinkListIndexTest.java
+ *
+ * A test program for the hash index of SkipQLinkList. It runs random
+ * adds and removes on a list with the index on, and on a model, a TreeMap
+ * from each key to its values newest first, and after each of them checks
+ * get, containsKey and skipSearch, which use the index, against the model
+ * for every key in the range. Every 200 steps it also makes one of the
+ * operations that move many entries at once: splitAt and join, removeRange,
+ * the copy constructor, serialization, subList, and turning the index off
+ * and on, and checks the index of each list they leave.
+ *
+ * The keys are Key objects, whose hash code may be made coarse, so that
+ * 8 keys share each hash code: runs of the table are then long, and the
+ * removals move many slots back. A key may have several entries.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.io.*;
+import java.util.*;
+
+public class SkipQLinkListIndexTest {
+
+  static final int RANGE = 300;			// Keys are in [0, RANGE)
+
+  public static void main(String[] args)
+		throws IOException, ClassNotFoundException {
+	for (int shift : new int[] {0, 3})
+	  for (int lazy : new int[] {0, 16})
+		for (boolean det : new boolean[] {false, true}) {
+		  run(shift, lazy, det, 20000, 31 * shift + lazy + (det? 1 : 0));
+		  System.out.println("hash >> " + shift + ", lazy batch " + lazy
+							 + (det? ", deterministic" : "") + ": ok");
+		}
+  }
+
+  // Postcondition: n random calls, and an operation on many entries every
+  // 200 of them, have been made on a hashed list of keys whose hash codes
+  // are their values shifted right, and on the model, and the index of
+  // every list made has been checked after each.
+  //
+  public static void run(int shift, int lazy, boolean deterministic, int n,
+						 long seed) throws IOException, ClassNotFoundException {
+	SkipQLinkList<Key,Integer> s =
+		new SkipQLinkList<Key,Integer>(new ByValue(), deterministic);
+	TreeMap<Integer,Deque<Integer>> model = new TreeMap<Integer,Deque<Integer>>();
+	Random r = new Random(seed);
+
+	s.setHashIndex(true);
+	s.setLazyRemoval(lazy);
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(RANGE);
+	  Key key = new Key(k, shift);
+	  Deque<Integer> d = model.get(k);
+
+	  switch (r.nextInt(6)) {
+		case 0: case 1: case 2:
+		  s.skipAdd(key, i);
+		  model.computeIfAbsent(k, x -> new ArrayDeque<Integer>()).addFirst(i);
+		  break;
+		case 3:								// The newest entry
+		  SkipQLinkList<Key,Integer>.Entry e = s.remove(key);
+		  check((d == null)? (e == null) :
+				e.getValue().equals(d.removeFirst()), "remove(" + k + ")");
+		  break;
+		case 4:								// The oldest entry
+		  s.skipSearch(key);
+		  if (d != null) {
+			s.skipRemove();
+			d.removeLast();
+		  }
+		  break;
+		default:							// The newest, by entry
+		  e = s.ceilingEntry(key);
+		  if (d != null) {
+			check(s.remove(e) && e.getValue().equals(d.removeFirst()),
+				  "remove of the entry of " + k);
+		  }
+	  }
+	  if ((d != null) && d.isEmpty()) model.remove(k);
+	  checkIndex(s, model, shift, "step " + i);
+
+	  if (i % 200 == 199)
+		s = many(s, model, shift, r, "step " + i);
+	}
+	checkEntries(s, model);
+  }
+
+  // Postcondition: One operation on many entries, chosen at random, has
+  // been made on the list and the model, and the indexes of the lists it
+  // made have been checked. Returns the list to go on with.
+  //
+  public static SkipQLinkList<Key,Integer> many(
+		SkipQLinkList<Key,Integer> s, TreeMap<Integer,Deque<Integer>> model,
+		int shift, Random r, String where)
+		throws IOException, ClassNotFoundException {
+	int a = r.nextInt(RANGE), b = a + r.nextInt(RANGE / 4);
+
+	switch (r.nextInt(6)) {
+	  case 0:
+		SkipQLinkList<Key,Integer> upper = s.splitAt(new Key(a, shift));
+		checkIndex(s, model.headMap(a, false), shift, where + ", splitAt");
+		checkIndex(upper, model.tailMap(a, true), shift, where + ", upper");
+		s.join(upper);
+		checkIndex(upper, new TreeMap<Integer,Deque<Integer>>(), shift,
+				   where + ", joined");
+		break;
+	  case 1:
+		s.removeRange(new Key(a, shift), new Key(b, shift));
+		model.subMap(a, true, b, false).clear();
+		break;
+	  case 2:
+		s = new SkipQLinkList<Key,Integer>(s);
+		check(s.isHashIndexed(), where + ": copy without an index");
+		break;
+	  case 3:
+		s = copy(s);
+		check(s.isHashIndexed(), where + ": read back without an index");
+		break;
+	  case 4:
+		SkipQLinkList<Key,Integer> sub =
+			s.subList(new Key(a, shift), new Key(b, shift));
+		checkIndex(sub, model.subMap(a, true, b, false), shift,
+				   where + ", subList");
+		break;
+	  default:
+		s.setHashIndex(false);
+		s.setHashIndex(true);
+	}
+	checkIndex(s, model, shift, where);
+	return s;
+  }
+
+  // Postcondition: get, containsKey and skipSearch of every key in the
+  // range have given the oldest entry of the key in the model, or none.
+  //
+  public static void checkIndex(SkipQLinkList<Key,Integer> s,
+								NavigableMap<Integer,Deque<Integer>> model,
+								int shift, String where) {
+	check(s.isHashIndexed(), where + ": no index");
+	for (int k=0; k<RANGE; ++k) {
+	  Key key = new Key(k, shift);
+	  Deque<Integer> d = model.get(k);
+	  SkipQLinkList<Key,Integer>.Entry e = s.get(key);
+
+	  if (d == null)
+		check((e == null) && !s.containsKey(key),
+			  where + ": get(" + k + ") of a missing key");
+	  else {
+		check((e != null) && e.getValue().equals(d.getLast())
+			  && s.containsKey(key), where + ": get(" + k + ")");
+		s.skipSearch(key);
+		check(s.get() == e, where + ": skipSearch(" + k + ")");
+	  }
+	}
+	int count = 0;
+	for (Deque<Integer> d : model.values()) count += d.size();
+	check(s.size() == count, where + ": size");
+  }
+
+  // Postcondition: The entries of the list, in order, have been checked
+  // against the model.
+  //
+  public static void checkEntries(SkipQLinkList<Key,Integer> s,
+								  TreeMap<Integer,Deque<Integer>> model) {
+	List<Integer> expected = new ArrayList<Integer>();
+	List<Integer> got = new ArrayList<Integer>();
+
+	for (Deque<Integer> d : model.values()) expected.addAll(d);
+	for (SkipQLinkList<Key,Integer>.Entry e : s) got.add(e.getValue());
+	check(got.equals(expected), "entries");
+  }
+
+  // Postcondition: Returns the list written to an object stream and read
+  // back.
+  //
+  @SuppressWarnings("unchecked")
+  public static SkipQLinkList<Key,Integer> copy(SkipQLinkList<Key,Integer> s)
+		throws IOException, ClassNotFoundException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+	  out.writeObject(s);
+	}
+	try (ObjectInputStream in = new ObjectInputStream(
+		   new ByteArrayInputStream(bytes.toByteArray()))) {
+	  return (SkipQLinkList<Key,Integer>) in.readObject();
+	}
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+
+  // A key: an int, whose hash code is the int shifted right by shift, so
+  // that 2 to the shift keys share each hash code.
+  //
+  public static class Key implements Serializable {
+	final int value, shift;
+
+	Key(int value, int shift) {
+	  this.value = value;
+	  this.shift = shift;
+	}
+
+	public int hashCode() {return value >> shift;}
+
+	public boolean equals(Object o) {
+	  return (o instanceof Key) && (((Key) o).value == value);
+	}
+
+	public String toString() {return String.valueOf(value);}
+  }
+
+  // Orders the keys by their values. It is not a KeyComparator, so the
+  // index takes the hash codes of the keys themselves.
+  //
+  public static class ByValue implements Comparator<Key>, Serializable {
+	public int compare(Key a, Key b) {
+	  return Integer.compare(a.value, b.value);
+	}
+  }
+}
@@ -0,0 +1,616 @@
+/**
+ * @(#)SkipQLinkListMap.java
+ *
+ * A java.util.NavigableMap backed by a SkipQLinkList, so that the skip list
+ * can be used where a TreeMap is. The keys are unique: put replaces the
+ * value of a key that is already there, in the same descent that looks for
+ * it. get, containsKey, remove, and the navigation methods floorEntry,
+ * ceilingEntry, higherEntry and lowerEntry each take one descent of the
+ * list. firstEntry, lastEntry and pollFirstEntry take none.
+ *
+ * subMap, headMap, tailMap and descendingMap return live views of the same
+ * list, not copies. A change made through a view is seen in the map, and
+ * the other way round. A view is a SkipQLinkListMap with bounds on its
+ * keys and a direction. It refuses to put a key outside its bounds. The
+ * size of a bounded view is found from the ranks of its bounds in the
+ * list, in O(log n) steps.
+ *
+ * The entries returned by the navigation methods are snapshots, as those
+ * of TreeMap are. The entries of entrySet() write their values through to
+ * the list. The map is not thread-safe, and its iterators do not detect
+ * changes made to the map while they are in use.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.io.Serializable;
+
+
+public class SkipQLinkListMap<K,V> extends AbstractMap<K,V>
+  implements NavigableMap<K,V>, Serializable
+{
+	private final SkipQLinkList<K,V> list;	// Holds the entries of the map
+	private final Comparator<K> c;			// The key comparator of list
+	private final K lo, hi;					// The key bounds of a view
+	private final boolean fromStart, toEnd;	// True when lo, hi are unused
+	private final boolean loInclusive, hiInclusive;
+	private final boolean descending;		// A view in reverse key order
+
+// CONSTRUCTORS:
+//
+// 1.	An empty map, ordered by the default key comparator
+//
+	public SkipQLinkListMap() {
+		this(new KeyComparator<K>());
+	}
+
+// 2.	An empty map, ordered by the given key comparator
+//
+	public SkipQLinkListMap(Comparator<K> comp) {
+		this(comp, false);
+	}
+
+// 3.	An empty map, ordered by the given key comparator, on a skip list
+// in deterministic mode if deterministic is true (see SkipQLinkList)
+//
+	public SkipQLinkListMap(Comparator<K> comp, boolean deterministic) {
+		this(new SkipQLinkList<K,V>(comp, deterministic), comp,
+			 true, null, false, true, null, false, false);
+	}
+
+// 4.	A view of the given list, with the given bounds and direction
+//
+	private SkipQLinkListMap(SkipQLinkList<K,V> list, Comparator<K> comp,
+							 boolean fromStart, K lo, boolean loInclusive,
+							 boolean toEnd, K hi, boolean hiInclusive,
+							 boolean descending) {
+		this.list = list;
+		this.c = comp;
+		this.fromStart = fromStart;
+		this.lo = lo;
+		this.loInclusive = loInclusive;
+		this.toEnd = toEnd;
+		this.hi = hi;
+		this.hiInclusive = hiInclusive;
+		this.descending = descending;
+	}
+
+//
+// Private HELPER METHODS
+//
+// 1.	Returns true if the key is below the lower bound of the view.
+//
+	private boolean tooLow(K key) {
+		if (fromStart) return false;
+		int r = c.compare(key, lo);
+		return (r < 0) || ((r == 0) && !loInclusive);
+	}
+
+// 2.	Returns true if the key is above the upper bound of the view.
+//
+	private boolean tooHigh(K key) {
+		if (toEnd) return false;
+		int r = c.compare(key, hi);
+		return (r > 0) || ((r == 0) && !hiInclusive);
+	}
+
+// 3.	Returns true if the key is within the bounds of the view. If
+// inclusive is false, the bounds themselves are also allowed, as they
+// are for the bounds of a new view.
+//
+	private boolean inRange(K key, boolean inclusive) {
+		if (inclusive) return !tooLow(key) && !tooHigh(key);
+		return (fromStart || (c.compare(key, lo) >= 0))
+			&& (toEnd || (c.compare(key, hi) <= 0));
+	}
+
+// 4.	Returns the list entry with the lowest key in the view, in key
+// order, or null if the view is empty.
+//
+	private SkipQLinkList<K,V>.Entry lowest() {
+		SkipQLinkList<K,V>.Entry e;
+
+		if (fromStart) e = list.firstEntry();
+		else if (loInclusive) e = list.ceilingEntry(lo);
+		else e = list.higherEntry(lo);
+		return ((e == null) || tooHigh(e.getKey()))? null : e;
+	}
+
+// 5.	Returns the list entry with the highest key in the view, in key
+// order, or null if the view is empty.
+//
+	private SkipQLinkList<K,V>.Entry highest() {
+		SkipQLinkList<K,V>.Entry e;
+
+		if (toEnd) e = list.lastEntry();
+		else if (hiInclusive) e = list.floorEntry(hi);
+		else e = list.lowerEntry(hi);
+		return ((e == null) || tooLow(e.getKey()))? null : e;
+	}
+
+// 6.	Returns the list entry in the view with the least key greater than
+// the given key (strict is true), or greater than or equal to it (strict
+// is false), in key order; or null if there is none.
+//
+	private SkipQLinkList<K,V>.Entry above(K key, boolean strict) {
+		SkipQLinkList<K,V>.Entry e;
+
+		if (tooLow(key)) return lowest();
+		e = strict? list.higherEntry(key) : list.ceilingEntry(key);
+		return ((e == null) || tooHigh(e.getKey()))? null : e;
+	}
+
+// 7.	Returns the list entry in the view with the greatest key less than
+// the given key (strict is true), or less than or equal to it (strict is
+// false), in key order; or null if there is none.
+//
+	private SkipQLinkList<K,V>.Entry below(K key, boolean strict) {
+		SkipQLinkList<K,V>.Entry e;
+
+		if (tooHigh(key)) return highest();
+		e = strict? list.lowerEntry(key) : list.floorEntry(key);
+		return ((e == null) || tooLow(e.getKey()))? null : e;
+	}
+
+// 8.	Returns the list entry with the given key, whether or not it is in
+// the view, or null if there is none. It takes one descent.
+//
+	private SkipQLinkList<K,V>.Entry find(K key) {
+		SkipQLinkList<K,V>.Entry e = list.ceilingEntry(key);
+		return ((e != null) && (c.compare(key, e.getKey()) == 0))? e : null;
+	}
+
+// 9.	Returns the number of entries in the list whose keys are less than
+// the given key (inclusive is false), or less than or equal to it
+// (inclusive is true).
+//
+	private int countBelow(K key, boolean inclusive) {
+		int n = list.rank(key);
+		return (inclusive && (find(key) != null))? n + 1 : n;
+	}
+
+// 10.	Removes the first entry of the view in its own order (first is
+// true), or the last one, and returns a snapshot of it. When the view
+// reaches the end of the list, the entry is taken from there without a
+// search.
+//
+	private Map.Entry<K,V> poll(boolean first) {
+		SkipQLinkList<K,V>.Entry e;
+		boolean low = (first != descending);
+
+		if (low && fromStart)
+			e = (lowest() == null)? null : list.removeFirst();
+		else if (!low && toEnd)
+			e = (highest() == null)? null : list.removeLast();
+		else {
+			e = low? lowest() : highest();
+			if (e != null) list.remove(e);
+		}
+		return snapshot(e);
+	}
+
+// 11.	Returns a new view of the same list with the given bounds, in key
+// order, and the direction of this one. A missing bound is inherited from
+// this view. Throws IllegalArgumentException if a bound is outside this
+// view, or the lower bound is above the upper one.
+//
+	private SkipQLinkListMap<K,V> view(boolean fs, K l, boolean li,
+									   boolean te, K h, boolean hinc) {
+		if (fs) {
+			fs = fromStart; l = lo; li = loInclusive;
+		}
+		else if (!inRange(Objects.requireNonNull(l), li))
+			throw new IllegalArgumentException("fromKey out of range");
+		if (te) {
+			te = toEnd; h = hi; hinc = hiInclusive;
+		}
+		else if (!inRange(Objects.requireNonNull(h), hinc))
+			throw new IllegalArgumentException("toKey out of range");
+		if (!fs && !te && (c.compare(l, h) > 0))
+			throw new IllegalArgumentException("fromKey > toKey");
+		return new SkipQLinkListMap<K,V>(list, c, fs, l, li, te, h, hinc,
+										 descending);
+	}
+
+// 12.	Returns a snapshot of the list entry, or null if it is null.
+//
+	private static <K,V> Map.Entry<K,V> snapshot(SkipQLinkList<K,V>.Entry e) {
+		if (e == null) return null;
+		return new AbstractMap.SimpleImmutableEntry<K,V>(e.getKey(), e.getValue());
+	}
+
+// 13.	Returns the key of the list entry, or null if it is null.
+//
+	private static <K,V> K keyOf(SkipQLinkList<K,V>.Entry e) {
+		return (e == null)? null : e.getKey();
+	}
+
+// 14.	Returns the key of the list entry, or throws NoSuchElementException
+// if it is null.
+//
+	private static <K,V> K keyOrThrow(SkipQLinkList<K,V>.Entry e) {
+		if (e == null) throw new NoSuchElementException();
+		return e.getKey();
+	}
+
+//
+// PUBLIC METHODS: implement the Map interface, as it specifies, on the
+// entries within the bounds of the view
+//
+// Postcondition:
+// Returns the number of entries in the map. It is the size of the list
+// for the whole map, and is found from the ranks of the bounds for a
+// view, in O(log n) steps.
+//
+	public int size() {
+		int from, to;
+
+		if (fromStart && toEnd) return list.size();
+		from = fromStart? 0 : countBelow(lo, !loInclusive);
+		to = toEnd? list.size() : countBelow(hi, hiInclusive);
+		return Math.max(to - from, 0);
+	}
+
+	public boolean isEmpty() {
+		return lowest() == null;
+	}
+
+	public boolean containsKey(Object key) {
+		K k = (K) Objects.requireNonNull(key);
+		return inRange(k, true) && (find(k) != null);
+	}
+
+	public V get(Object key) {
+		K k = (K) Objects.requireNonNull(key);
+		SkipQLinkList<K,V>.Entry e;
+
+		if (!inRange(k, true)) return null;
+		e = find(k);
+		return (e == null)? null : e.getValue();
+	}
+
+// Postcondition:
+// The key is mapped to the value, and the value it had before is
+// returned, or null if it had none. It takes one descent of the list.
+// Throws IllegalArgumentException if the key is outside the view.
+//
+	public V put(K key, V value) {
+		Objects.requireNonNull(key);
+		if (!inRange(key, true))
+			throw new IllegalArgumentException("key out of range");
+		return list.skipPut(key, value);
+	}
+
+	public V remove(Object key) {
+		K k = (K) Objects.requireNonNull(key);
+		SkipQLinkList<K,V>.Entry e;
+
+		if (!inRange(k, true)) return null;
+		e = list.remove(k);
+		return (e == null)? null : e.getValue();
+	}
+
+// Postcondition:
+// The entries of the map are removed. A view from lo, inclusive, to hi,
+// exclusive, is cut out of the list by removeRange, in O(log n) steps;
+// other views remove their entries one at a time.
+//
+	public void clear() {
+		Iterator<K> it;
+
+		if (fromStart && toEnd)
+			list.clear();
+		else if (!fromStart && loInclusive && !toEnd && !hiInclusive)
+			list.removeRange(lo, hi);
+		else
+			for (it=new KeyIterator(); it.hasNext(); ) {
+				it.next();
+				it.remove();
+			}
+	}
+
+	public Set<Map.Entry<K,V>> entrySet() {
+		return new EntrySet();
+	}
+
+	public Set<K> keySet() {
+		return navigableKeySet();
+	}
+
+//
+// PUBLIC METHODS: implement the NavigableMap interface, as it specifies;
+// each navigation method takes one descent of the list
+//
+	public Comparator<? super K> comparator() {
+		return descending? Collections.reverseOrder(c) : c;
+	}
+
+	public Map.Entry<K,V> lowerEntry(K key) {
+		return snapshot(descending? above(key, true) : below(key, true));
+	}
+
+	public K lowerKey(K key) {
+		return keyOf(descending? above(key, true) : below(key, true));
+	}
+
+	public Map.Entry<K,V> floorEntry(K key) {
+		return snapshot(descending? above(key, false) : below(key, false));
+	}
+
+	public K floorKey(K key) {
+		return keyOf(descending? above(key, false) : below(key, false));
+	}
+
+	public Map.Entry<K,V> ceilingEntry(K key) {
+		return snapshot(descending? below(key, false) : above(key, false));
+	}
+
+	public K ceilingKey(K key) {
+		return keyOf(descending? below(key, false) : above(key, false));
+	}
+
+	public Map.Entry<K,V> higherEntry(K key) {
+		return snapshot(descending? below(key, true) : above(key, true));
+	}
+
+	public K higherKey(K key) {
+		return keyOf(descending? below(key, true) : above(key, true));
+	}
+
+	public Map.Entry<K,V> firstEntry() {
+		return snapshot(descending? highest() : lowest());
+	}
+
+	public Map.Entry<K,V> lastEntry() {
+		return snapshot(descending? lowest() : highest());
+	}
+
+	public K firstKey() {
+		return keyOrThrow(descending? highest() : lowest());
+	}
+
+	public K lastKey() {
+		return keyOrThrow(descending? lowest() : highest());
+	}
+
+// Postcondition:
+// Removes the first entry of the map and returns a snapshot of it, or
+// returns null if the map is empty. For the whole map, it unlinks the
+// first tower of the list without a search.
+//
+	public Map.Entry<K,V> pollFirstEntry() {
+		return poll(true);
+	}
+
+	public Map.Entry<K,V> pollLastEntry() {
+		return poll(false);
+	}
+
+	public NavigableMap<K,V> descendingMap() {
+		return new SkipQLinkListMap<K,V>(list, c, fromStart, lo, loInclusive,
+										 toEnd, hi, hiInclusive, !descending);
+	}
+
+	public NavigableSet<K> navigableKeySet() {
+		return new KeySet();
+	}
+
+	public NavigableSet<K> descendingKeySet() {
+		return descendingMap().navigableKeySet();
+	}
+
+	public NavigableMap<K,V> subMap(K fromKey, boolean fromInclusive,
+									K toKey, boolean toInclusive) {
+		if (descending)
+			return view(false, toKey, toInclusive, false, fromKey, fromInclusive);
+		return view(false, fromKey, fromInclusive, false, toKey, toInclusive);
+	}
+
+	public NavigableMap<K,V> headMap(K toKey, boolean inclusive) {
+		if (descending)
+			return view(false, toKey, inclusive, true, null, false);
+		return view(true, null, false, false, toKey, inclusive);
+	}
+
+	public NavigableMap<K,V> tailMap(K fromKey, boolean inclusive) {
+		if (descending)
+			return view(true, null, false, false, fromKey, inclusive);
+		return view(false, fromKey, inclusive, true, null, false);
+	}
+
+	public SortedMap<K,V> subMap(K fromKey, K toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	public SortedMap<K,V> headMap(K toKey) {
+		return headMap(toKey, false);
+	}
+
+	public SortedMap<K,V> tailMap(K fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+// INNER CLASSES:
+//
+// 1. MapIterator Inner Class:
+//
+// PROVIDES: The iterators of the map and its views. It walks the list
+//     with one of its iterators, from the first entry of the view in the
+//     order of the view, and stops at the last one. One entry ahead is
+//     read, so that removing the entry last returned does not disturb
+//     the walk.
+//
+	private abstract class MapIterator<T> implements Iterator<T> {
+		private Iterator<SkipQLinkList<K,V>.Entry> it;
+		private SkipQLinkList<K,V>.Entry next, lastReturned;
+
+		MapIterator() {
+			if (!descending)
+				it = fromStart? list.entries() : list.successors(lo);
+			else
+				it = toEnd? list.backIterator() : list.predecessors(hi);
+			do {
+				next = it.hasNext()? it.next() : null;
+			} while ((next != null) &&
+					 (descending? tooHigh(next.getKey()) : tooLow(next.getKey())));
+			check();
+		}
+
+		// Drops next once it is past the end of the view.
+		private void check() {
+			if ((next != null) &&
+				(descending? tooLow(next.getKey()) : tooHigh(next.getKey())))
+				next = null;
+		}
+
+		public boolean hasNext() {return next != null;}
+
+		SkipQLinkList<K,V>.Entry nextEntry() {
+			if (next == null) throw new NoSuchElementException();
+			lastReturned = next;
+			next = it.hasNext()? it.next() : null;
+			check();
+			return lastReturned;
+		}
+
+		public void remove() {
+			if (lastReturned == null) throw new IllegalStateException();
+			list.remove(lastReturned);
+			lastReturned = null;
+		}
+	}
+
+	private class EntryIterator extends MapIterator<Map.Entry<K,V>> {
+		public Map.Entry<K,V> next() {return new MapEntry(nextEntry());}
+	}
+
+	private class KeyIterator extends MapIterator<K> {
+		public K next() {return nextEntry().getKey();}
+	}
+
+// 2. MapEntry Inner Class:
+//
+// PROVIDES: An entry of entrySet(), which sets its value in the list
+//     entry as well.
+//
+	private class MapEntry extends AbstractMap.SimpleEntry<K,V> {
+		private final SkipQLinkList<K,V>.Entry entry;
+
+		MapEntry(SkipQLinkList<K,V>.Entry e) {
+			super(e.getKey(), e.getValue());
+			entry = e;
+		}
+
+		public V setValue(V value) {
+			entry.setValue(value);
+			return super.setValue(value);
+		}
+	}
+
+// 3. EntrySet Inner Class:
+//
+// PROVIDES: The entry set view of the map.
+//
+	private class EntrySet extends AbstractSet<Map.Entry<K,V>> {
+		public Iterator<Map.Entry<K,V>> iterator() {return new EntryIterator();}
+		public int size() {return SkipQLinkListMap.this.size();}
+		public boolean isEmpty() {return SkipQLinkListMap.this.isEmpty();}
+		public void clear() {SkipQLinkListMap.this.clear();}
+
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) return false;
+			Map.Entry<?,?> e = (Map.Entry<?,?>) o;
+			K k = (K) e.getKey();
+			if ((k == null) || !inRange(k, true)) return false;
+			SkipQLinkList<K,V>.Entry x = find(k);
+			return (x != null) && Objects.equals(x.getValue(), e.getValue());
+		}
+
+		public boolean remove(Object o) {
+			if (!contains(o)) return false;
+			SkipQLinkListMap.this.remove(((Map.Entry<?,?>) o).getKey());
+			return true;
+		}
+	}
+
+// 4. KeySet Inner Class:
+//
+// PROVIDES: The navigable key set view of the map, whose methods are
+//     those of the map on the keys.
+//
+	private class KeySet extends AbstractSet<K> implements NavigableSet<K> {
+		private final SkipQLinkListMap<K,V> m = SkipQLinkListMap.this;
+
+		public Iterator<K> iterator() {return new KeyIterator();}
+		public int size() {return m.size();}
+		public boolean isEmpty() {return m.isEmpty();}
+		public void clear() {m.clear();}
+		public boolean contains(Object o) {return m.containsKey(o);}
+
+		public boolean remove(Object o) {
+			if (!m.containsKey(o)) return false;
+			m.remove(o);
+			return true;
+		}
+
+		public Comparator<? super K> comparator() {return m.comparator();}
+		public K first() {return m.firstKey();}
+		public K last() {return m.lastKey();}
+		public K lower(K e) {return m.lowerKey(e);}
+		public K floor(K e) {return m.floorKey(e);}
+		public K ceiling(K e) {return m.ceilingKey(e);}
+		public K higher(K e) {return m.higherKey(e);}
+
+		public K pollFirst() {return keyOf(m.pollFirstEntry());}
+		public K pollLast() {return keyOf(m.pollLastEntry());}
+
+		private K keyOf(Map.Entry<K,V> e) {return (e == null)? null : e.getKey();}
+
+		public NavigableSet<K> descendingSet() {
+			return m.descendingMap().navigableKeySet();
+		}
+
+		public Iterator<K> descendingIterator() {
+			return descendingSet().iterator();
+		}
+
+		public NavigableSet<K> subSet(K fromElement, boolean fromInclusive,
+									  K toElement, boolean toInclusive) {
+			return m.subMap(fromElement, fromInclusive,
+							toElement, toInclusive).navigableKeySet();
+		}
+
+		public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+			return m.headMap(toElement, inclusive).navigableKeySet();
+		}
+
+		public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+			return m.tailMap(fromElement, inclusive).navigableKeySet();
+		}
+
+		public SortedSet<K> subSet(K fromElement, K toElement) {
+			return subSet(fromElement, true, toElement, false);
+		}
+
+		public SortedSet<K> headSet(K toElement) {
+			return headSet(toElement, false);
+		}
+
+		public SortedSet<K> tailSet(K fromElement) {
+			return tailSet(fromElement, true);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/**
+ * @(#)SkipQLinkListMapTest.java
+ *
+ * A test program for the SkipQLinkListMap class. It runs random puts,
+ * removes, polls and changes through the iterators on a SkipQLinkListMap
+ * and on a TreeMap, and checks that the two agree: their entries in both
+ * directions, the navigation methods, equals and hashCode, and the same
+ * again on subMap, headMap, tailMap and descendingMap views of each, two
+ * views deep, with random changes made through the views. It is run with
+ * the default map, with a comparator, in deterministic mode, and with the
+ * keys in reverse order.
+ *
+ * It prints one line for each mode, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.util.*;
+
+public class SkipQLinkListMapTest {
+
+  static Random r = new Random(11);
+
+  public static void main(String[] args) {
+	String[] names = {"default", "comparator", "deterministic", "reverse order"};
+
+	for (int mode=0; mode<4; ++mode) {
+	  against(mode, 300);
+	  System.out.println(names[mode] + ": ok");
+	}
+  }
+
+  // Postcondition: A map made in the given mode (0 the default map, 1 with
+  // a comparator, 2 in deterministic mode, 3 in reverse order) has had
+  // the given number of rounds of random changes, compared after each
+  // round to a TreeMap with the same changes, and has then been drained.
+  //
+  public static void against(int mode, int rounds) {
+	Comparator<Integer> c = (mode == 3)? Collections.reverseOrder() :
+		new KeyComparator<Integer>();
+	SkipQLinkListMap<Integer,Integer> a = (mode == 0)?
+		new SkipQLinkListMap<Integer,Integer>() :
+		new SkipQLinkListMap<Integer,Integer>(c, mode >= 2);
+	TreeMap<Integer,Integer> b = new TreeMap<Integer,Integer>(c);
+
+	for (int round=0; round<rounds; ++round) {
+	  for (int i=0; i<10; ++i) {
+		int k = r.nextInt(500), v = r.nextInt();
+		same(a.put(k, v), b.put(k, v), "put");
+	  }
+	  change(a, b, "map");
+	  compare(a, b, "round " + round, 0);
+	  same(a, b, "equals");
+	  same(a.hashCode(), b.hashCode(), "hashCode");
+	}
+
+	int from = (mode == 3)? 300 : 100, to = (mode == 3)? 100 : 300;
+	NavigableMap<Integer,Integer> view = a.subMap(from, true, to, false);
+	view.clear();
+	b.subMap(from, true, to, false).clear();
+	compare(a, b, "clear of a view", 0);
+	try {
+	  view.put((mode == 3)? 400 : 50, 1);
+	  check(false, "a view took a key outside its bounds");
+	}
+	catch (IllegalArgumentException ex) {}
+
+	while (!b.isEmpty())
+	  same(key(a.pollFirstEntry()), key(b.pollFirstEntry()), "drain");
+	check(a.isEmpty() && (a.size() == 0), "drained map");
+  }
+
+  // Postcondition: The two maps, or views, have been compared on their
+  // entries and navigation methods at random keys; if depth is less than
+  // 2, the same is done for a random subMap (with random changes made
+  // through it), headMap and tailMap of each, and for their descending
+  // maps. A view refused by one map must be refused by the other.
+  //
+  public static void compare(NavigableMap<Integer,Integer> a,
+							 NavigableMap<Integer,Integer> b,
+							 String where, int depth) {
+	same(a.size(), b.size(), where + ": size");
+	same(a.isEmpty(), b.isEmpty(), where + ": isEmpty");
+	same(new ArrayList<Map.Entry<Integer,Integer>>(a.entrySet()),
+		 new ArrayList<Map.Entry<Integer,Integer>>(b.entrySet()),
+		 where + ": entries");
+	same(new ArrayList<Integer>(a.descendingKeySet()),
+		 new ArrayList<Integer>(b.descendingKeySet()),
+		 where + ": descending keys");
+	for (int i=0; i<30; ++i) {
+	  int k = r.nextInt(600) - 50;
+	  same(key(a.floorEntry(k)), key(b.floorEntry(k)), where + ": floor");
+	  same(key(a.ceilingEntry(k)), key(b.ceilingEntry(k)),
+		   where + ": ceiling");
+	  same(a.higherKey(k), b.higherKey(k), where + ": higher");
+	  same(a.lowerKey(k), b.lowerKey(k), where + ": lower");
+	  same(a.get(k), b.get(k), where + ": get");
+	  same(a.containsKey(k), b.containsKey(k), where + ": containsKey");
+	}
+	same(key(a.firstEntry()), key(b.firstEntry()), where + ": first");
+	same(key(a.lastEntry()), key(b.lastEntry()), where + ": last");
+	if (depth >= 2) return;
+
+	int x = r.nextInt(600) - 50, y = r.nextInt(600) - 50;
+	boolean xIn = r.nextBoolean(), yIn = r.nextBoolean();
+	if (a.comparator().compare(x, y) > 0) {
+	  int t = x; x = y; y = t;
+	}
+	String[] kinds = {"subMap", "headMap", "tailMap"};
+	for (int kind=0; kind<3; ++kind) {
+	  String name = where + ", " + kinds[kind];
+	  NavigableMap<Integer,Integer> sa = view(a, kind, x, xIn, y, yIn);
+	  NavigableMap<Integer,Integer> sb = view(b, kind, x, xIn, y, yIn);
+	  check((sa == null) == (sb == null), name + ": refused by one map");
+	  if (sa == null) continue;
+	  compare(sa, sb, name, depth + 1);
+	  if (kind == 0) {
+		change(sa, sb, name);
+		compare(a, b, name + ", after changes to it", depth + 1);
+	  }
+	}
+	compare(a.descendingMap(), b.descendingMap(), where + ", descending",
+			depth + 1);
+  }
+
+  // Postcondition: Returns the subMap (kind 0) from x to y, the headMap
+  // (kind 1) to y, or the tailMap (kind 2) from x, of the map, or null if
+  // the map refused it with IllegalArgumentException, because the bounds
+  // are outside those of a view.
+  //
+  public static NavigableMap<Integer,Integer> view(
+		NavigableMap<Integer,Integer> m, int kind,
+		int x, boolean xIn, int y, boolean yIn) {
+	try {
+	  switch (kind) {
+		case 0: return m.subMap(x, xIn, y, yIn);
+		case 1: return m.headMap(y, yIn);
+		default: return m.tailMap(x, xIn);
+	  }
+	}
+	catch (IllegalArgumentException ex) {
+	  return null;
+	}
+  }
+
+  // Postcondition: The same random puts, removes, polls, iterator removes
+  // and setValue calls have been made on the two maps, or views, and
+  // their results compared. A put outside the bounds of a view must be
+  // refused by both with IllegalArgumentException.
+  //
+  public static void change(NavigableMap<Integer,Integer> a,
+							NavigableMap<Integer,Integer> b, String where) {
+	for (int i=0; i<20; ++i) {
+	  int k = r.nextInt(600) - 50, v = r.nextInt();
+	  same(put(a, k, v), put(b, k, v), where + ": put");
+	  k = r.nextInt(600) - 50;
+	  same(a.remove(k), b.remove(k), where + ": remove");
+	}
+	same(key(a.pollFirstEntry()), key(b.pollFirstEntry()),
+		 where + ": pollFirstEntry");
+	same(key(a.pollLastEntry()), key(b.pollLastEntry()),
+		 where + ": pollLastEntry");
+
+	Iterator<Map.Entry<Integer,Integer>> ia = a.entrySet().iterator();
+	Iterator<Map.Entry<Integer,Integer>> ib = b.entrySet().iterator();
+	while (ia.hasNext()) {
+	  Map.Entry<Integer,Integer> ea = ia.next(), eb = ib.next();
+	  same(ea, eb, where + ": entry iterator");
+	  if (r.nextInt(5) == 0) {
+		ia.remove();
+		ib.remove();
+	  }
+	  else if (r.nextInt(5) == 0)
+		same(ea.setValue(7), eb.setValue(7), where + ": setValue");
+	}
+	check(!ib.hasNext(), where + ": entry iterator ends early");
+
+	Iterator<Integer> ka = a.navigableKeySet().descendingIterator();
+	Iterator<Integer> kb = b.navigableKeySet().descendingIterator();
+	while (ka.hasNext()) {
+	  same(ka.next(), kb.next(), where + ": descending key iterator");
+	  if (r.nextInt(7) == 0) {
+		ka.remove();
+		kb.remove();
+	  }
+	}
+	check(!kb.hasNext(), where + ": key iterator ends early");
+  }
+
+  // Postcondition: Returns the result of the put, or the exception it
+  // threw if that was IllegalArgumentException.
+  //
+  public static Object put(Map<Integer,Integer> m, int key, int value) {
+	try {
+	  return m.put(key, value);
+	}
+	catch (IllegalArgumentException ex) {
+	  return ex.getClass();
+	}
+  }
+
+  // Postcondition: Returns the key of the entry, or null if it is null.
+  //
+  public static Integer key(Map.Entry<Integer,Integer> e) {
+	return (e == null)? null : e.getKey();
+  }
+
+  // Postcondition: Returns if the two objects are equal (or both null),
+  // and otherwise throws IllegalStateException with the message and both.
+  //
+  public static void same(Object a, Object b, String message) {
+	if (!Objects.equals(a, b))
+	  throw new IllegalStateException(message + ": " + a + " and " + b);
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
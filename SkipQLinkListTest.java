@@ -0,0 +1,517 @@
+/**
+ * @(#)SkipQLinkListTest.java
+ *
+ * A test program for the SkipQLinkList class. It runs random operations on
+ * the list and on a model, an ArrayList of the values in the order of their
+ * entries (keys in order, and the entries of a key newest first), and
+ * checks that the two agree. The values are unique, so they tell apart the
+ * entries of a key. Each part is a method named after the operations it
+ * covers.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+public class SkipQLinkListTest {
+
+  public static void main(String[] args) {
+	fingers(50000, 1);
+	System.out.println("fingers: ok");
+	staleFinger();
+	System.out.println("stale finger: ok");
+	generators();
+	System.out.println("generators of copies, subLists and splits: ok");
+	subListModes();
+	System.out.println("subList modes: ok");
+	for (int lazy : new int[] {0, 7, 64}) {
+	  removals(false, lazy, 60000, 2);
+	  removals(true, lazy, 60000, 3);
+	  System.out.println("removals, lazy batch " + lazy + ": ok");
+	}
+	lazyRank();
+	System.out.println("rank after a lazy purge: ok");
+	cursors(20000, 4);
+	System.out.println("cursors: ok");
+	lazyCuts(2000);
+	System.out.println("splitAt and removeRange with pending removes: ok");
+	spliterators(300);
+	System.out.println("spliterator sizes through trySplit: ok");
+	streams(100000, 5);
+	System.out.println("sequential and parallel streams: ok");
+  }
+
+  // Postcondition: n random fingerAdd, skipAdd with a search hint, and
+  // plain skipAdd calls have been checked against the model, with a
+  // fingerSearch compared to skipSearch after each of them.
+  //
+  public static void fingers(int n, long seed) {
+	SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>();
+	Model m = new Model();
+	SkipQLinkList<Integer,Integer>.Finger f = null;
+	Random r = new Random(seed);
+
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(3000);
+	  switch (r.nextInt(3)) {
+		case 0: s.fingerAdd(k, i);
+		  break;
+		case 1: f = s.skipSearch(k, f);
+				s.skipAdd(k, i, f);
+		  break;
+		default: s.skipAdd(k, i);
+	  }
+	  m.add(k, i);
+	  check(s.get().getValue() == i, "add: current");
+
+	  int q = r.nextInt(3100) - 50;
+	  s.fingerSearch(q);
+	  SkipQLinkList<Integer,Integer>.Entry e = s.get();
+	  s.skipSearch(q);
+	  check(e == s.get(), "fingerSearch(" + q + ") is not skipSearch");
+	}
+	m.check(s);
+  }
+
+  // Postcondition: A finger taken while the list was tall has been used
+  // after the list lost most of its levels, and the adds made with it
+  // have been checked against the model.
+  //
+  public static void staleFinger() {
+	for (int round=0; round<100; ++round) {
+	  SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>();
+	  Model m = new Model();
+
+	  for (int i=0; i<5000; ++i) {
+		s.skipAdd(i, i);
+		m.add(i, i);
+	  }
+	  SkipQLinkList<Integer,Integer>.Finger f = s.skipSearch(3, null);
+	  for (int i=2; i<5000; ++i) {
+		s.remove(i);
+		m.remove(i);
+	  }
+	  for (int i=0; i<20; ++i) {
+		f = s.skipSearch(7, f);
+		s.skipAdd(7, 5000 + i, f);
+		m.add(7, 5000 + i);
+	  }
+	  m.check(s);
+	}
+  }
+
+  // Postcondition: n random skipAdd, remove of a key, remove of an entry,
+  // and skipRemove calls have been checked against the model, on a list
+  // in deterministic mode or not, with the given lazy batch (0 for none).
+  // Every 1,000 calls, rank, countRange and select are checked as well.
+  // The list is then drained, and must be back to its empty height.
+  //
+  public static void removals(boolean deterministic, int lazy, int n,
+							  long seed) {
+	SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>(
+		new KeyComparator<Integer>(), deterministic);
+	Model m = new Model();
+	Random r = new Random(seed);
+
+	s.setLazyRemoval(lazy);
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(2000);
+	  int op = r.nextInt(10);
+
+	  if ((op < 5) || m.keys.isEmpty()) {
+		s.skipAdd(k, i);
+		m.add(k, i);
+	  }
+	  else if (op < 8) {
+		SkipQLinkList<Integer,Integer>.Entry e = s.remove(k);
+		Integer v = m.remove(k);
+		check((e == null)? (v == null) : e.getValue().equals(v),
+			  "remove(" + k + ")");
+	  }
+	  else if (op < 9) {
+		int j = r.nextInt(m.keys.size());
+		SkipQLinkList<Integer,Integer>.Entry e = s.select(j + 1);
+		check(s.remove(e) && !s.remove(e), "remove of an entry");
+		m.keys.remove(j);
+		m.values.remove(j);
+	  }
+	  else {
+		s.skipSearch(k);
+		int j = m.lowerBound(k + 1) - 1;		// The oldest entry of k
+		if ((j >= 0) && (m.keys.get(j) == k)) {
+		  check(s.get().getValue().equals(m.values.get(j)), "skipSearch");
+		  s.skipRemove();
+		  m.keys.remove(j);
+		  m.values.remove(j);
+		}
+	  }
+	  check(s.size() == m.keys.size(), "size");
+
+	  if (i % 1000 == 0) {
+		int q = r.nextInt(2100) - 50;
+		check(s.rank(q) == m.lowerBound(q), "rank(" + q + ")");
+		check(s.countRange(q, q + 100) ==
+			  m.lowerBound(q + 100) - m.lowerBound(q), "countRange");
+		if (!m.keys.isEmpty()) {
+		  int j = r.nextInt(m.keys.size());
+		  check(s.select(j + 1).getValue().equals(m.values.get(j)),
+				"select(" + (j + 1) + ")");
+		}
+		m.check(s);
+	  }
+	}
+	m.check(s);
+
+	while (!m.keys.isEmpty())
+	  check(s.remove(m.keys.get(0)).getValue().equals(m.remove(m.keys.get(0))),
+			"drain");
+	s.purge();
+	check((s.size() == 0) && (s.height() == 1), "drained list");
+  }
+
+  // Postcondition: rank and countRange have been checked on a list that
+  // lost most of its levels when the entries marked in lazy mode were
+  // unlinked by them.
+  //
+  public static void lazyRank() {
+	for (int round=0; round<20; ++round) {
+	  SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>();
+	  for (int i=0; i<1000; ++i) s.skipAdd(i, i);
+	  s.setLazyRemoval(2000);
+	  for (int i=0; i<990; ++i) s.remove(i);
+	  check(s.rank(995) == 5, "rank(995) after lazy removes");
+
+	  for (int i=0; i<1000; ++i) s.skipAdd(i, i);
+	  for (int i=0; i<990; ++i) s.remove(i);
+	  check(s.countRange(990, 995) == 10, "countRange after lazy removes");
+	}
+  }
+
+  // Postcondition: n random adds and lazy removes have been made on a
+  // list with few keys, each followed by a Cursor seek to a random key,
+  // which must land on the oldest entry of the least key not less than
+  // it, as skipSearch does, and a few steps of next from there.
+  //
+  public static void cursors(int n, long seed) {
+	SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>();
+	SkipQLinkList<Integer,Integer>.Cursor cr = s.cursor();
+	Model m = new Model();
+	Random r = new Random(seed);
+
+	s.setLazyRemoval(16);
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(200);
+	  if (r.nextInt(3) == 0) {
+		s.remove(k);
+		m.remove(k);
+	  }
+	  else {
+		s.skipAdd(k, i);
+		m.add(k, i);
+	  }
+
+	  int q = r.nextInt(220) - 10;
+	  int j = m.lowerBound(q);
+	  if (j < m.keys.size())
+		j = m.lowerBound(m.keys.get(j) + 1) - 1;	// The oldest of its key
+	  for (int step=0; step<3; ++step, ++j) {
+		boolean valid = (step == 0)? cr.seek(q) : cr.next();
+		if (j == m.keys.size()) {
+		  check(!valid && !cr.isValid(), "cursor after the last entry");
+		  break;
+		}
+		check(valid && cr.value().equals(m.values.get(j)),
+			  "cursor at " + q + ", step " + step);
+	  }
+	}
+  }
+
+  // Postcondition: For each of the given number of seeds, a removeRange
+  // and a splitAt have been made on a list in deterministic mode with a
+  // lazy batch of 11 and fewer removes pending, so that the purge they
+  // start repairs gaps and may add a level, and checked against the model.
+  //
+  public static void lazyCuts(int seeds) {
+	for (int seed=0; seed<seeds; ++seed) {
+	  SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>(
+		  new KeyComparator<Integer>(), true);
+	  Model m = new Model();
+	  Random r = new Random(seed);
+	  int lo = r.nextInt(100), hi = lo + r.nextInt(40);
+
+	  pendingRemoves(s, m, seed);
+	  s.removeRange(lo, hi);
+	  int from = m.lowerBound(lo), to = m.lowerBound(hi);
+	  m.keys.subList(from, to).clear();
+	  m.values.subList(from, to).clear();
+	  m.check(s);
+
+	  s = new SkipQLinkList<Integer,Integer>(new KeyComparator<Integer>(), true);
+	  m = new Model();
+	  pendingRemoves(s, m, seed);
+	  SkipQLinkList<Integer,Integer> upper = s.splitAt(lo);
+	  Model u = new Model();
+	  int j = m.lowerBound(lo);
+	  u.keys.addAll(m.keys.subList(j, m.keys.size()));
+	  u.values.addAll(m.values.subList(j, m.values.size()));
+	  m.keys.subList(j, m.keys.size()).clear();
+	  m.values.subList(j, m.values.size()).clear();
+	  m.check(s);
+	  u.check(upper);
+	}
+  }
+
+  // Postcondition: The list, in lazy mode with a batch of 11, and the
+  // model have had from 20 to 59 random adds over 0..99, and then from 1
+  // to 10 removes of keys in the list, which are still pending.
+  //
+  public static void pendingRemoves(SkipQLinkList<Integer,Integer> s,
+									Model m, long seed) {
+	Random r = new Random(seed);
+	int adds = 20 + r.nextInt(40), removes = 1 + r.nextInt(10);
+
+	s.setLazyRemoval(11);
+	for (int i=0; i<adds; ++i) {
+	  int k = r.nextInt(100);
+	  s.skipAdd(k, i);
+	  m.add(k, i);
+	}
+	for (int i=0; i<removes; ++i) {
+	  int k = m.keys.get(r.nextInt(m.keys.size()));
+	  check(s.remove(k).getValue().equals(m.remove(k)), "remove(" + k + ")");
+	}
+  }
+
+  // Postcondition: A copy of a list, a subList of it and the upper part
+  // of a split of it have been checked to draw their heights from
+  // generators of their own, with the settings of the generator of the
+  // list.
+  //
+  public static void generators() {
+	FlatGenerator g = new FlatGenerator();
+	SkipQLinkList<Integer,Integer> s =
+		new SkipQLinkList<Integer,Integer>(new KeyComparator<Integer>(), g);
+
+	for (int i=0; i<100; ++i) s.skipAdd(i, i);
+	SkipQLinkList<Integer,Integer> copy = new SkipQLinkList<Integer,Integer>(s);
+	SkipQLinkList<Integer,Integer> sub = s.subList(10, 40);
+	SkipQLinkList<Integer,Integer> upper = s.splitAt(50);
+	for (int i=0; i<200; ++i) {
+	  copy.skipAdd(i, i);
+	  check(copy.getEntryHeight() == 0, "copy: another generator");
+	  sub.skipAdd(i, i);
+	  check(sub.getEntryHeight() == 0, "subList: another generator");
+	  upper.skipAdd(100 + i, i);
+	  check(upper.getEntryHeight() == 0, "split: another generator");
+	}
+	check(g.calls == 100, "the generator is shared");
+  }
+
+  // Postcondition: A subList of a list in deterministic mode with a hash
+  // index has been checked to keep both, and to take adds in order and
+  // find its keys through the index as the model does.
+  //
+  public static void subListModes() {
+	SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>(
+		new KeyComparator<Integer>(), true);
+	Model m = new Model();
+
+	s.setHashIndex(true);
+	for (int i=0; i<1000; ++i) s.skipAdd(i % 500, i);
+	SkipQLinkList<Integer,Integer> sub = s.subList(100, 200);
+	check(sub.isDeterministic() && sub.isHashIndexed(), "subList: modes");
+	for (Object o : s) {
+	  SkipQLinkList<Integer,Integer>.Entry e =
+		  (SkipQLinkList<Integer,Integer>.Entry) o;
+	  if ((e.getKey() >= 100) && (e.getKey() < 200)) {
+		m.keys.add(e.getKey());
+		m.values.add(e.getValue());
+	  }
+	}
+	for (int i=0; i<5000; ++i) {
+	  sub.skipAdd(1000 + i, i);
+	  m.add(1000 + i, i);
+	}
+	m.check(sub);
+	for (int k=100; k<6000; k+=7) {
+	  int j = m.lowerBound(k + 1) - 1;
+	  SkipQLinkList<Integer,Integer>.Entry e = sub.get(k);
+	  if ((j >= 0) && (m.keys.get(j) == k))
+		check((e != null) && e.getValue().equals(m.values.get(j)),
+			  "subList: get(" + k + ")");
+	  else
+		check(e == null, "subList: get(" + k + ") of a missing key");
+	}
+  }
+
+  // Postcondition: Lists of 0 to 2999 entries, in deterministic mode or
+  // not, and with removes pending in lazy mode or not, have been split at
+  // random by trySplit of their spliterators. At each split the sizes of
+  // the two parts must be exact, add up to the size before, and each be
+  // at least a quarter of it; the parts, traversed in order, must give
+  // the entries of the model.
+  //
+  public static void spliterators(int lists) {
+	for (int seed=0; seed<lists; ++seed) {
+	  SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>(
+		  new KeyComparator<Integer>(), seed % 2 == 1);
+	  Model m = new Model();
+	  Random r = new Random(seed);
+	  int n = (seed < 20)? seed : r.nextInt(3000);
+
+	  s.setLazyRemoval((seed % 3 == 0)? 11 : 0);
+	  for (int i=0; i<n; ++i) {
+		int k = r.nextInt(n / 2 + 1);
+		s.skipAdd(k, i);
+		m.add(k, i);
+	  }
+	  for (int i=r.nextInt(n / 4 + 1); i>0; --i) {
+		int k = m.keys.get(r.nextInt(m.keys.size()));
+		check(s.remove(k).getValue().equals(m.remove(k)), "remove(" + k + ")");
+	  }
+
+	  ArrayList<Integer> got = new ArrayList<Integer>();
+	  split(s.spliterator(), got, r);
+	  check(got.equals(m.values), "entries of the parts, " + n + " adds");
+	}
+  }
+
+  // Postcondition: The spliterator has been split at random, and its
+  // parts checked and traversed in order, partly with tryAdvance, and
+  // the values of their entries added to the list.
+  //
+  public static void split(
+		Spliterator<SkipQLinkList<Integer,Integer>.Entry> sp,
+		final List<Integer> values, Random r) {
+	long n = sp.estimateSize();
+
+	check(sp.getExactSizeIfKnown() == n, "getExactSizeIfKnown");
+	if ((n >= 2) && (r.nextInt(8) != 0)) {
+	  Spliterator<SkipQLinkList<Integer,Integer>.Entry> prefix = sp.trySplit();
+	  check(prefix != null, "no split of " + n + " entries");
+	  long a = prefix.estimateSize(), b = sp.estimateSize();
+	  check((a + b == n) && (prefix.getExactSizeIfKnown() == a),
+			"sizes " + a + " and " + b + " of a split of " + n);
+	  check((a > 0) && (b > 0) && ((n < 16) || (Math.min(a, b) >= n / 4)),
+			"uneven split of " + n + " into " + a + " and " + b);
+	  split(prefix, values, r);
+	  split(sp, values, r);
+	  return;
+	}
+
+	int before = values.size();
+	for (long left=n; r.nextBoolean(); --left) {
+	  check(sp.tryAdvance(e -> values.add(e.getValue())) == (left > 0),
+			"tryAdvance");
+	  if (left == 0) break;
+	  check(sp.estimateSize() == left - 1, "size after tryAdvance");
+	}
+	sp.forEachRemaining(e -> values.add(e.getValue()));
+	check((values.size() - before == n) && (sp.estimateSize() == 0),
+		  "traversal of " + n + " entries");
+	check(sp.trySplit() == null, "split after a traversal");
+  }
+
+  // Postcondition: The entry, key and value streams of a list of n
+  // entries with duplicate keys, and of an empty list and a list of one
+  // entry, have given the same entries sequential and parallel, and the
+  // same as the model.
+  //
+  public static void streams(int n, long seed) {
+	SkipQLinkList<Integer,Integer> s = new SkipQLinkList<Integer,Integer>();
+	Model m = new Model();
+	Random r = new Random(seed);
+
+	for (int size : new int[] {0, 1, n}) {
+	  while (m.values.size() < size) {
+		int k = r.nextInt(n / 3), v = m.values.size();
+		s.skipAdd(k, v);
+		m.add(k, v);
+	  }
+	  check(s.valueStream().collect(Collectors.toList()).equals(m.values),
+			"sequential valueStream, " + size + " entries");
+	  check(s.valueStream().parallel().collect(Collectors.toList())
+			.equals(m.values), "parallel valueStream, " + size + " entries");
+	  check(s.keyStream().parallel().collect(Collectors.toList())
+			.equals(m.keys), "parallel keyStream, " + size + " entries");
+	  check(s.stream().parallel().map(e -> e.getValue())
+			.collect(Collectors.toList()).equals(m.values),
+			"parallel stream, " + size + " entries");
+	  check((s.valueStream().parallel().count() == size) &&
+			(s.valueStream().parallel().mapToLong(v -> v).sum() ==
+			 (long) size * (size - 1) / 2), "parallel count and sum");
+	}
+  }
+
+  // A generator that keeps all the towers at level 0, and counts its calls.
+  //
+  public static class FlatGenerator implements LevelGenerator {
+	int calls;
+	public int nextHeight(int count) {
+	  calls++;
+	  return 0;
+	}
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+
+  // The model of a list: the keys and values of its entries, in order.
+  //
+  public static class Model {
+	final ArrayList<Integer> keys = new ArrayList<Integer>();
+	final ArrayList<Integer> values = new ArrayList<Integer>();
+
+	// Returns the index of the first entry with a key not less than k.
+	int lowerBound(int k) {
+	  int lo = 0, hi = keys.size();
+	  while (lo < hi) {
+		int mid = (lo + hi) >>> 1;
+		if (keys.get(mid) < k) lo = mid + 1;
+		else hi = mid;
+	  }
+	  return lo;
+	}
+
+	// Adds an entry before the other entries of its key.
+	void add(int k, int v) {
+	  int i = lowerBound(k);
+	  keys.add(i, k);
+	  values.add(i, v);
+	}
+
+	// Removes the newest entry of the key, and returns its value, or
+	// null if there is none.
+	Integer remove(int k) {
+	  int i = lowerBound(k);
+	  if ((i == keys.size()) || (keys.get(i) != k)) return null;
+	  keys.remove(i);
+	  return values.remove(i);
+	}
+
+	// Checks the entries of the list, forward and backward, and its size.
+	void check(SkipQLinkList<Integer,Integer> s) {
+	  ArrayList<Integer> got = new ArrayList<Integer>();
+	  for (Object o : s)
+		got.add(((SkipQLinkList<Integer,Integer>.Entry) o).getValue());
+	  SkipQLinkListTest.check(got.equals(values), "forward iteration");
+
+	  got.clear();
+	  Iterator it = s.backIterator();
+	  while (it.hasNext())
+		got.add(((SkipQLinkList<Integer,Integer>.Entry) it.next()).getValue());
+	  Collections.reverse(got);
+	  SkipQLinkListTest.check(got.equals(values), "backward iteration");
+	  SkipQLinkListTest.check(s.size() == values.size(), "size");
+	}
+  }
+}
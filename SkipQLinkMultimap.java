@@ -0,0 +1,259 @@
+/**
+ * @(#)SkipQLinkMultimap.java
+ *
+ * A sorted multimap backed by a SkipQLinkList that has one tower for each
+ * distinct key. The values of a key are kept in a bucket, an array in the
+ * order they were put, held as the value of the entry of that key. A key
+ * with many values is still one node at level 0, so finding all its values
+ * or their number takes one descent of the list, whatever their number.
+ *
+ * The order of iteration is that of a SkipQLinkList with duplicate keys,
+ * where a new entry goes before the entries with the same key: keys in
+ * order, and the values of each key newest first.
+ *
+ * put of a key that is already there takes one descent, and appends the
+ * value in O(1) amortized time. valuesFor, countFor and containsKey take
+ * one descent. removeOne takes one descent, and then looks for the value
+ * among the values of the key from the newest, and closes the gap in the
+ * bucket. The map is not thread-safe.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.io.Serializable;
+
+
+public class SkipQLinkMultimap<K,V>
+  implements Iterable<Map.Entry<K,V>>, Serializable
+{
+	private final SkipQLinkList<K,Bucket<V>> list;	// One entry for each key
+	private int size;						// The number of values in all
+
+// CONSTRUCTORS:
+//
+// 1.	An empty multimap, ordered by the default key comparator
+//
+	public SkipQLinkMultimap() {
+		this(new KeyComparator<K>());
+	}
+
+// 2.	An empty multimap, ordered by the given key comparator
+//
+	public SkipQLinkMultimap(Comparator<K> comp) {
+		this(comp, false);
+	}
+
+// 3.	An empty multimap, ordered by the given key comparator, on a skip
+// list in deterministic mode if deterministic is true (see SkipQLinkList)
+//
+	public SkipQLinkMultimap(Comparator<K> comp, boolean deterministic) {
+		list = new SkipQLinkList<K,Bucket<V>>(comp, deterministic);
+	}
+
+//
+// Private HELPER METHODS
+//
+// 1.	Returns the bucket of the key, or null if the key is not there.
+//
+	private Bucket<V> bucket(K key) {
+		SkipQLinkList<K,Bucket<V>>.Entry e = list.ceilingEntry(key);
+		if ((e == null) || (list.c.compare(key, e.getKey()) != 0)) return null;
+		return e.getValue();
+	}
+
+//
+// PUBLIC METHODS
+//
+// Postcondition:
+// The value is added to the values of the key, as the newest of them.
+//
+	public void put(K key, V value) {
+		Bucket<V> b = bucket(key);
+
+		if (b == null) {
+			b = new Bucket<V>();
+			list.skipAdd(key, b);
+		}
+		b.append(value);
+		size++;
+	}
+
+// Postcondition:
+// Returns the values of the key, newest first, or an empty list if the
+// key is not there. The list is a read-only view, which follows the
+// changes made to the values of the key until the key is removed.
+//
+	public List<V> valuesFor(K key) {
+		Bucket<V> b = bucket(key);
+		return (b == null)? Collections.<V>emptyList() : b;
+	}
+
+// Postcondition:
+// Returns the number of values of the key, 0 if it is not there.
+//
+	public int countFor(K key) {
+		Bucket<V> b = bucket(key);
+		return (b == null)? 0 : b.size();
+	}
+
+// Postcondition:
+// Returns true if the key has at least one value.
+//
+	public boolean containsKey(K key) {
+		return bucket(key) != null;
+	}
+
+// Postcondition:
+// Removes the newest of the values of the key equal to the given value,
+// and returns true; or returns false if the key has no such value. The
+// key is removed with its last value.
+//
+	public boolean removeOne(K key, V value) {
+		SkipQLinkList<K,Bucket<V>>.Entry e = list.ceilingEntry(key);
+
+		if ((e == null) || (list.c.compare(key, e.getKey()) != 0)) return false;
+		if (!e.getValue().removeNewest(value)) return false;
+		if (e.getValue().size() == 0) list.remove(e);
+		size--;
+		return true;
+	}
+
+// Postcondition:
+// Removes the key with all its values, and returns them, newest first;
+// or returns an empty list if the key is not there.
+//
+	public List<V> removeAll(K key) {
+		SkipQLinkList<K,Bucket<V>>.Entry e = list.remove(key);
+
+		if (e == null) return Collections.<V>emptyList();
+		size -= e.getValue().size();
+		return e.getValue();
+	}
+
+// Postcondition:
+// Removes all the keys and values.
+//
+	public void clear() {
+		list.clear();
+		size = 0;
+	}
+
+// Postcondition:
+// Returns the number of values of all the keys.
+//
+	public int size() {return size;}
+
+// Postcondition:
+// Returns the number of distinct keys.
+//
+	public int keyCount() {return list.size();}
+
+// Postcondition:
+// Returns true if there are no values.
+//
+	public boolean isEmpty() {return (size == 0);}
+
+// Postcondition:
+// Returns the key and value pairs as a string, in the order of iteration.
+//
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (Map.Entry<K,V> e : this) {
+			if (sb.length() > 1) sb.append(", ");
+			sb.append(e.getKey()).append('=').append(e.getValue());
+		}
+		return sb.append('}').toString();
+	}
+
+// ITERATORS:
+//
+// 1. Default Iterator:
+// Returns an iterator over all the key and value pairs, keys in order,
+// and the values of each key newest first. The pairs are snapshots.
+//
+	public Iterator<Map.Entry<K,V>> iterator() {
+		return new PairIterator();
+	}
+
+// 2. Key Iterator:
+// Returns an iterator over the distinct keys, in order.
+//
+	public Iterator<K> keys() {
+		return list.keys();
+	}
+
+// INNER CLASSES:
+//
+// 1. Bucket Inner Class:
+//
+// PROVIDES: The values of one key, in an array in the order they were
+//     put, so the newest is last. As a List it is read-only, and lists
+//     them newest first.
+//
+	private static class Bucket<V> extends AbstractList<V>
+	  implements RandomAccess, Serializable
+	{
+		private Object[] values = new Object[2];
+		private int count;
+
+		public V get(int i) {
+			if ((i < 0) || (i >= count)) throw new IndexOutOfBoundsException(i);
+			return (V) values[count - 1 - i];
+		}
+
+		public int size() {return count;}
+
+		private void append(V value) {
+			if (count == values.length)
+				values = java.util.Arrays.copyOf(values, 2 * count);
+			values[count++] = value;
+		}
+
+		private boolean removeNewest(V value) {
+			for (int i=count-1; i>=0; --i)
+				if (Objects.equals(values[i], value)) {
+					System.arraycopy(values, i+1, values, i, count-1-i);
+					values[--count] = null;
+					return true;
+				}
+			return false;
+		}
+	}
+
+// 2. PairIterator Inner Class:
+//
+// PROVIDES: Iterator objects over the key and value pairs, which go
+//     through the keys of the list in order, and through the bucket of
+//     each key from the newest value.
+//
+	private class PairIterator implements Iterator<Map.Entry<K,V>> {
+		private final Iterator<SkipQLinkList<K,Bucket<V>>.Entry> keys =
+			list.iterator();
+		private SkipQLinkList<K,Bucket<V>>.Entry e;	// The key being listed
+		private int i;								// Next index in its bucket
+
+		public boolean hasNext() {
+			return ((e != null) && (i < e.getValue().size())) || keys.hasNext();
+		}
+
+		public Map.Entry<K,V> next() {
+			if ((e == null) || (i >= e.getValue().size())) {
+				if (!keys.hasNext()) throw new NoSuchElementException();
+				e = keys.next();
+				i = 0;
+			}
+			return new AbstractMap.SimpleImmutableEntry<K,V>(e.getKey(),
+												e.getValue().get(i++));
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/**
+ * @(#)SkipQLinkMultimapTest.java
+ *
+ * A test program for the SkipQLinkMultimap class. It runs random puts,
+ * removeOne and removeAll calls on a multimap and on a model, a TreeMap
+ * from each key to its values in the order they were put, and checks that
+ * the two agree: the values of each key newest first, countFor,
+ * containsKey, size and keyCount, and the pairs in the order of iteration.
+ * The values are drawn from a small range, so a key often has equal
+ * values, and removeOne must take the newest of them. It is run on the
+ * default multimap and in deterministic mode.
+ *
+ * It prints one line for each mode, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.util.*;
+
+public class SkipQLinkMultimapTest {
+
+  public static void main(String[] args) {
+	against(false, 100000, 21);
+	System.out.println("default: ok");
+	against(true, 100000, 22);
+	System.out.println("deterministic: ok");
+	liveValues();
+	System.out.println("valuesFor follows the key: ok");
+  }
+
+  // Postcondition: n random puts, removeOne calls (of a value of the key,
+  // or of one it does not have) and removeAll calls have been made on a
+  // multimap and on the model, and compared; every 1,000 calls all the
+  // keys are compared, and the multimap is drained at the end.
+  //
+  public static void against(boolean deterministic, int n, long seed) {
+	SkipQLinkMultimap<Integer,Integer> a = new SkipQLinkMultimap<Integer,Integer>(
+		new KeyComparator<Integer>(), deterministic);
+	TreeMap<Integer,List<Integer>> model = new TreeMap<Integer,List<Integer>>();
+	Random r = new Random(seed);
+	int size = 0;
+
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(500), v = r.nextInt(8), op = r.nextInt(10);
+	  List<Integer> values = model.get(k);
+
+	  if (op < 6) {
+		a.put(k, v);
+		model.computeIfAbsent(k, x -> new ArrayList<Integer>()).add(v);
+		size++;
+	  }
+	  else if (op < 9) {
+		int j = (values == null)? -1 : values.lastIndexOf(v);	// The newest
+		check(a.removeOne(k, v) == (j >= 0), "removeOne(" + k + ", " + v + ")");
+		if (j >= 0) {
+		  values.remove(j);
+		  size--;
+		}
+	  }
+	  else {
+		List<Integer> all = a.removeAll(k);
+		check(all.equals(newestFirst(values)), "removeAll(" + k + ")");
+		if (values != null) values.clear();
+		size -= all.size();
+	  }
+	  if ((values != null) && values.isEmpty()) model.remove(k);
+
+	  same(a.valuesFor(k), newestFirst(model.get(k)), "valuesFor(" + k + ")");
+	  check(a.countFor(k) == a.valuesFor(k).size(), "countFor(" + k + ")");
+	  check(a.containsKey(k) == model.containsKey(k), "containsKey(" + k + ")");
+	  check((a.size() == size) && (a.keyCount() == model.size()) &&
+			(a.isEmpty() == (size == 0)), "size after a change of " + k);
+	  if (i % 1000 == 0) compare(a, model);
+	}
+	compare(a, model);
+
+	while (!model.isEmpty()) {
+	  Map.Entry<Integer,List<Integer>> e = model.pollFirstEntry();
+	  for (int j=e.getValue().size()-1; j>=0; --j)
+		check(a.removeOne(e.getKey(), e.getValue().get(j)), "drain");
+	  check(!a.containsKey(e.getKey()), "drained key " + e.getKey());
+	}
+	check(a.isEmpty() && (a.size() == 0) && (a.keyCount() == 0) &&
+		  !a.iterator().hasNext(), "drained multimap");
+  }
+
+  // Postcondition: A list of the values of a key has been checked to
+  // follow puts and removes of that key, and to stay as it was once the
+  // key is removed.
+  //
+  public static void liveValues() {
+	SkipQLinkMultimap<String,Integer> a = new SkipQLinkMultimap<String,Integer>();
+	a.put("k", 1);
+	List<Integer> values = a.valuesFor("k");
+	a.put("k", 2);
+	a.put("k", 1);
+	same(values, Arrays.asList(1, 2, 1), "after puts");
+	check(a.removeOne("k", 1), "removeOne");
+	same(values, Arrays.asList(2, 1), "after removeOne");
+	same(a.removeAll("k"), Arrays.asList(2, 1), "removeAll");
+	a.put("k", 3);
+	same(values, Arrays.asList(2, 1), "after the key is put again");
+	try {
+	  values.set(0, 5);
+	  check(false, "valuesFor is not read-only");
+	}
+	catch (UnsupportedOperationException ex) {}
+  }
+
+  // Postcondition: The keys, the values of each key and the pairs of the
+  // multimap, in the order of iteration, have been compared to the model.
+  //
+  public static void compare(SkipQLinkMultimap<Integer,Integer> a,
+							 TreeMap<Integer,List<Integer>> model) {
+	List<Map.Entry<Integer,Integer>> pairs =
+		new ArrayList<Map.Entry<Integer,Integer>>();
+	for (Map.Entry<Integer,List<Integer>> e : model.entrySet())
+	  for (Integer v : newestFirst(e.getValue()))
+		pairs.add(new AbstractMap.SimpleImmutableEntry<Integer,Integer>(
+			e.getKey(), v));
+
+	List<Map.Entry<Integer,Integer>> got =
+		new ArrayList<Map.Entry<Integer,Integer>>();
+	for (Map.Entry<Integer,Integer> e : a) got.add(e);
+	same(got, pairs, "pairs");
+
+	List<Integer> keys = new ArrayList<Integer>();
+	for (Iterator<Integer> it = a.keys(); it.hasNext(); ) keys.add(it.next());
+	same(keys, new ArrayList<Integer>(model.keySet()), "keys");
+  }
+
+  // Postcondition: Returns the values, newest first, or an empty list if
+  // they are null.
+  //
+  public static List<Integer> newestFirst(List<Integer> values) {
+	List<Integer> l = (values == null)? new ArrayList<Integer>() :
+		new ArrayList<Integer>(values);
+	Collections.reverse(l);
+	return l;
+  }
+
+  // Postcondition: Returns if the two objects are equal, and otherwise
+  // throws IllegalStateException with the message and both.
+  //
+  public static void same(Object a, Object b, String message) {
+	if (!Objects.equals(a, b))
+	  throw new IllegalStateException(message + ": " + a + " and " + b);
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}
@@ -0,0 +1,227 @@
+/**
+ * @(#)SynchronizedSkipQLinkList.java
+ *
+ * A thread-safe wrapper around a SkipQLinkList, for read-mostly workloads.
+ * Lookups and bounded range scans first run as optimistic reads of a
+ * java.util.concurrent.locks.StampedLock: they take no lock at all, and
+ * their result is kept only if no writer held the lock in the meantime.
+ * On a conflict the read is done again under the read lock. Writers take
+ * the write lock.
+ *
+ * The wrapper does not offer the current-based methods of SkipQLinkList
+ * (first, next, get, skipSearch and so on), since a shared current pointer
+ * cannot be used by many threads. Each of them has a counterpart here that
+ * returns its result instead: floorEntry for skipSearch, firstEntry and
+ * lastEntry for first and last, and toArray(fromKey, toKey) for a scan
+ * with an iterator. The entries returned are those of the list itself, and
+ * they should only be read by the caller.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.concurrent.locks.StampedLock;
+
+
+public class SynchronizedSkipQLinkList<K,V> {
+
+	private final SkipQLinkList<K,V> list;	// The wrapped skip list
+	private final StampedLock lock;			// Guards all access to list
+
+// CONSTRUCTORS:
+//
+// 1.	Wraps a new empty SkipQLinkList with the default key comparator
+//
+	public SynchronizedSkipQLinkList() {
+		this(new SkipQLinkList<K,V>());
+	}
+
+// 2.	Wraps the given skip list. The caller must not use the list
+// directly once it is wrapped.
+//
+	public SynchronizedSkipQLinkList(SkipQLinkList<K,V> list) {
+		this.list = list;
+		this.lock = new StampedLock();
+	}
+
+//
+// READERS: each one tries an optimistic read first.
+//
+// Postcondition:
+// Returns the entry that skipSearch(key) would make current in the
+// wrapped list, or null if there is no such entry.
+//
+	public SkipQLinkList<K,V>.Entry floorEntry(K key) {
+		SkipQLinkList<K,V>.Entry e = null;
+		long stamp = lock.tryOptimisticRead();
+
+		if (stamp != 0) {
+			try {
+				e = list.floorEntry(key);
+			}
+			catch (RuntimeException ex) {
+				stamp = 0;			// Saw the list in the middle of a change
+			}
+			if (stamp != 0 && lock.validate(stamp))
+				return e;
+		}
+		stamp = lock.readLock();
+		try {
+			return list.floorEntry(key);
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+// Postcondition:
+// Returns an array containing the entries of the list between the
+// specified fromKey, inclusive, and toKey, exclusive, in proper sequence.
+//
+	public SkipQLinkList<K,V>.Entry[] toArray(K fromKey, K toKey) {
+		SkipQLinkList<K,V>.Entry[] a = null;
+		long stamp = lock.tryOptimisticRead();
+
+		if (stamp != 0) {
+			try {
+				a = list.toArray(fromKey, toKey);
+			}
+			catch (RuntimeException ex) {
+				stamp = 0;
+			}
+			if (stamp != 0 && lock.validate(stamp))
+				return a;
+		}
+		stamp = lock.readLock();
+		try {
+			return list.toArray(fromKey, toKey);
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+// Postcondition:
+// Returns the first entry of the list, or null if it is empty.
+//
+	public SkipQLinkList<K,V>.Entry firstEntry() {
+		SkipQLinkList<K,V>.Entry e = null;
+		long stamp = lock.tryOptimisticRead();
+
+		if (stamp != 0) {
+			try {
+				e = list.firstEntry();
+			}
+			catch (RuntimeException ex) {
+				stamp = 0;
+			}
+			if (stamp != 0 && lock.validate(stamp))
+				return e;
+		}
+		stamp = lock.readLock();
+		try {
+			return list.firstEntry();
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+// Postcondition:
+// Returns the last entry of the list, or null if it is empty.
+//
+	public SkipQLinkList<K,V>.Entry lastEntry() {
+		SkipQLinkList<K,V>.Entry e = null;
+		long stamp = lock.tryOptimisticRead();
+
+		if (stamp != 0) {
+			try {
+				e = list.lastEntry();
+			}
+			catch (RuntimeException ex) {
+				stamp = 0;
+			}
+			if (stamp != 0 && lock.validate(stamp))
+				return e;
+		}
+		stamp = lock.readLock();
+		try {
+			return list.lastEntry();
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+// Postcondition:
+// Returns the number of entries in the list.
+//
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int n = list.size();
+
+		if (stamp != 0 && lock.validate(stamp))
+			return n;
+		stamp = lock.readLock();
+		try {
+			return list.size();
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+// Postcondition:
+// Returns true if the list is empty, otherwise it returns false.
+//
+	public boolean isEmpty() {return (size() == 0);}
+
+//
+// WRITERS: each one holds the write lock.
+//
+// Postcondition:
+// A new entry is added to the list, as by SkipQLinkList.skipAdd.
+// Returns the new entry.
+//
+	public SkipQLinkList<K,V>.Entry skipAdd(K key, V value) {
+		long stamp = lock.writeLock();
+		try {
+			return list.skipAdd(key, value);
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+// Postcondition:
+// If the list has an entry with the given key, the value of the oldest
+// such entry is set to newValue, and its old value is returned.
+// Otherwise the list is not changed, and null is returned.
+//
+	public V setValue(K key, V newValue) {
+		long stamp = lock.writeLock();
+		try {
+			SkipQLinkList<K,V>.Entry e = list.floorEntry(key);
+			if (e == null || list.c.compare(key, e.getKey()) != 0)
+				return null;
+			V old = e.getValue();
+			e.setValue(newValue);
+			return old;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+// Postcondition:
+// The list is cleared, as by SkipQLinkList.clear.
+//
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			list.clear();
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+}
@@ -0,0 +1,538 @@
+/**
+ * @(#)UnrolledSkipList.java
+ *
+ * A sorted map on an unrolled skip list: level 0 is a chain of blocks,
+ * each holding a sorted run of up to 64 keys and their values in two
+ * contiguous arrays, and the towers index the blocks by their first keys.
+ * A search descends the towers to the one block that may hold the key,
+ * and then searches the keys of that block by binary search. A scan goes
+ * through the arrays of a block before it follows one link to the next.
+ *
+ * A SkipQLinkList has a node at each level of every tower, and a scan or
+ * the last steps of a search follow a link, usually to another cache line,
+ * for every entry. Here a tower stands for a whole block, so there are
+ * about 1/48 as many nodes and links, and the last steps of a search, and
+ * all the steps of a scan, are in the arrays of a block.
+ *
+ * Inserting into a full block splits it in two halves, the upper one a new
+ * block with a tower of its own. When removing leaves a block less than a
+ * quarter full, it is merged with its neighbour, or the entries of the two
+ * are shared evenly if they would fill more than three quarters of one
+ * block. So all the blocks but one are at least a quarter full, and a
+ * block is emptied only when it is the only one.
+ *
+ * Keys are distinct: put of a key already there replaces its value. The
+ * tower heights come from a LevelGenerator, GeometricLevelGenerator by
+ * default, given the number of blocks. The list is not thread-safe.
+ *
+ * @version 1.00 2026/10/18
+ *
+ */
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+
+public class UnrolledSkipList<K,V>
+  implements Iterable<Map.Entry<K,V>>, Serializable
+{
+	public static final int DEFAULT_BLOCK = 64;		// Keys in a full block
+	public static final int MIN_BLOCK = 16;			// Least allowed capacity
+	private static final int MAX_H = 32;			// Maximum allowable height
+
+	final Comparator<K> c;			// Orders the keys
+	private final int cap;			// The capacity of a block
+	private final LevelGenerator levels;	// Heights of new towers
+	private transient Block head;	// The header tower, of all levels
+	private transient Block[] preds;	// Search path kept by put
+	private transient int height;	// Levels in use, 1 at least
+	private transient int count;	// The number of entries
+	private transient int blocks;	// The number of blocks
+	private transient int modCount;	// Changes made, for the iterators
+
+// CONSTRUCTORS:
+//
+// 1.	An empty list, ordered by the default key comparator, with blocks
+// of DEFAULT_BLOCK keys
+//
+	public UnrolledSkipList() {
+		this(new KeyComparator<K>());
+	}
+
+// 2.	An empty list, ordered by the given key comparator, with blocks of
+// DEFAULT_BLOCK keys
+//
+	public UnrolledSkipList(Comparator<K> comp) {
+		this(comp, DEFAULT_BLOCK, new GeometricLevelGenerator());
+	}
+
+// 3.	An empty list, ordered by the given key comparator, with blocks of
+// the given capacity, at least MIN_BLOCK, and towers from the generator
+//
+	public UnrolledSkipList(Comparator<K> comp, int blockSize,
+							LevelGenerator gen) {
+		if (blockSize < MIN_BLOCK)
+			throw new IllegalArgumentException(
+				"UnrolledSkipList: block size " + blockSize + " < " + MIN_BLOCK);
+		c = comp;
+		cap = blockSize;
+		levels = gen;
+		init();
+	}
+
+//
+// Private HELPER METHODS
+//
+// 1.	Makes the list empty.
+//
+	private void init() {
+		head = new Block(0, MAX_H+1);
+		preds = new Block[MAX_H+1];
+		height = 1;
+		count = 0;
+		blocks = 0;
+		modCount++;
+	}
+
+// 2.	Returns the last block whose first key is at most the key, or less
+// than the key if strict, or head if there is none. When path is not
+// null, path[i] is set to the last such block at level i, for each level
+// in use.
+//
+	private Block findBlock(K key, boolean strict, Block[] path) {
+		int bound = strict? 0 : -1;	// Step while compare(key, first) > bound
+		Block p = head, q;
+
+		for (int i=height-1; i>=0; --i) {
+			while (((q = p.next[i]) != null) &&
+				   (c.compare(key, (K) q.keys[0]) > bound))
+				p = q;
+			if (path != null) path[i] = p;
+		}
+		return p;
+	}
+
+// 3.	Returns the index of the key in the block, or -(i+1) where i is
+// the index the key would be inserted at.
+//
+	private int indexOf(Block b, K key) {
+		int lo = 0, hi = b.n - 1, mid, cmp;
+
+		while (lo <= hi) {
+			mid = (lo + hi) >>> 1;
+			cmp = c.compare((K) b.keys[mid], key);
+			if (cmp < 0) lo = mid + 1;
+			else if (cmp > 0) hi = mid - 1;
+			else return mid;
+		}
+		return -(lo + 1);
+	}
+
+// 4.	Links the new block x of the given height into the list, right
+// after path[i] at each level i of its tower. Levels above the height in
+// use are added, with head as the block before x.
+//
+	private void link(Block x, Block[] path) {
+		int h = x.next.length;
+
+		for (; height<h; ++height) path[height] = head;
+		for (int i=0; i<h; ++i) {
+			x.next[i] = path[i].next[i];
+			path[i].next[i] = x;
+		}
+		x.prev = path[0];
+		if (x.next[0] != null) x.next[0].prev = x;
+		blocks++;
+	}
+
+// 5.	Unlinks the block x, which still holds its first key, from all the
+// levels of its tower, and drops the top levels that are left empty.
+//
+	private void unlink(Block x) {
+		Block[] path = new Block[height];
+
+		findBlock((K) x.keys[0], true, path);
+		for (int i=0; i<x.next.length; ++i)
+			path[i].next[i] = x.next[i];
+		if (x.next[0] != null) x.next[0].prev = x.prev;
+		while ((height > 1) && (head.next[height-1] == null)) height--;
+		blocks--;
+	}
+
+// 6.	Returns a new empty block with a tower from the level generator.
+//
+	private Block newBlock() {
+		int h = Math.min(levels.nextHeight(blocks), MAX_H);
+		return new Block(cap, h+1);
+	}
+
+// 7.	Moves the upper half of the full block b to a new block, linked
+// right after b, and returns the new block. path is the search path to b
+// at each level in use.
+//
+	private Block split(Block b, Block[] path) {
+		Block x = newBlock();
+		int half = b.n / 2, moved = b.n - half;
+
+		System.arraycopy(b.keys, half, x.keys, 0, moved);
+		System.arraycopy(b.values, half, x.values, 0, moved);
+		clear(b, half, b.n);
+		x.n = moved;
+		b.n = half;
+		for (int i=0; i<b.next.length; ++i) path[i] = b;
+		link(x, path);
+		return x;
+	}
+
+// 8.	Joins a block left less than a quarter full with its neighbour: the
+// block after it, or the block before it if it is the last one. The two
+// are merged into the first when that fills at most three quarters of a
+// block; otherwise their entries are shared evenly.
+//
+	private void rebalance(Block b) {
+		Block a, x;
+
+		if (b.next[0] != null) {a = b; x = b.next[0];}
+		else if (b.prev != head) {a = b.prev; x = b;}
+		else return;
+
+		if (a.n + x.n <= 3 * cap / 4) {
+			System.arraycopy(x.keys, 0, a.keys, a.n, x.n);
+			System.arraycopy(x.values, 0, a.values, a.n, x.n);
+			a.n += x.n;
+			unlink(x);
+			return;
+		}
+		int want = (a.n + x.n) / 2, k;
+		if (a.n < want) {						// From the front of x
+			k = want - a.n;
+			System.arraycopy(x.keys, 0, a.keys, a.n, k);
+			System.arraycopy(x.values, 0, a.values, a.n, k);
+			System.arraycopy(x.keys, k, x.keys, 0, x.n - k);
+			System.arraycopy(x.values, k, x.values, 0, x.n - k);
+			clear(x, x.n - k, x.n);
+		}
+		else {									// From the end of a
+			k = a.n - want;
+			System.arraycopy(x.keys, 0, x.keys, k, x.n);
+			System.arraycopy(x.values, 0, x.values, k, x.n);
+			System.arraycopy(a.keys, want, x.keys, 0, k);
+			System.arraycopy(a.values, want, x.values, 0, k);
+			clear(a, want, a.n);
+			k = -k;
+		}
+		a.n += k;
+		x.n -= k;
+	}
+
+// 9.	Drops the references held at the indices from to to-1 of the block.
+//
+	private static void clear(Block b, int from, int to) {
+		for (int i=from; i<to; ++i) {
+			b.keys[i] = null;
+			b.values[i] = null;
+		}
+	}
+
+//
+// PUBLIC METHODS
+//
+// Postcondition:
+// Returns the value of the key, or null if the key is not there.
+//
+	public V get(K key) {
+		Block b = findBlock(key, false, null);
+		if (b == head) return null;
+		int i = indexOf(b, key);
+		return (i < 0)? null : (V) b.values[i];
+	}
+
+// Postcondition:
+// Returns true if the key is there.
+//
+	public boolean containsKey(K key) {
+		Block b = findBlock(key, false, null);
+		return (b != head) && (indexOf(b, key) >= 0);
+	}
+
+// Postcondition:
+// The key is mapped to the value. Returns the value the key had, or null
+// if it was not there.
+//
+	public V put(K key, V value) {
+		Block b = findBlock(key, false, preds);
+		int i;
+
+		if (b == head) {					// Before all the first keys
+			b = head.next[0];
+			if (b == null) {				// The list is empty
+				b = newBlock();
+				link(b, preds);
+			}
+			i = 0;
+		}
+		else {
+			i = indexOf(b, key);
+			if (i >= 0) {
+				V old = (V) b.values[i];
+				b.values[i] = value;
+				return old;
+			}
+			i = -(i + 1);
+		}
+
+		if (b.n == cap) {
+			Block x = split(b, preds);
+			if (i > b.n) {
+				i -= b.n;
+				b = x;
+			}
+		}
+		System.arraycopy(b.keys, i, b.keys, i+1, b.n - i);
+		System.arraycopy(b.values, i, b.values, i+1, b.n - i);
+		b.keys[i] = key;
+		b.values[i] = value;
+		b.n++;
+		count++;
+		modCount++;
+		return null;
+	}
+
+// Postcondition:
+// Removes the key, and returns its value; or returns null if the key is
+// not there.
+//
+	public V remove(K key) {
+		Block b = findBlock(key, false, null);
+		if (b == head) return null;
+		int i = indexOf(b, key);
+		if (i < 0) return null;
+
+		V old = (V) b.values[i];
+		if (b.n == 1) unlink(b);			// The last key of the only block
+		else {
+			System.arraycopy(b.keys, i+1, b.keys, i, b.n - 1 - i);
+			System.arraycopy(b.values, i+1, b.values, i, b.n - 1 - i);
+			clear(b, b.n - 1, b.n);
+			b.n--;
+			if (b.n < cap / 4) rebalance(b);
+		}
+		count--;
+		modCount++;
+		return old;
+	}
+
+// Postcondition:
+// Returns the least key at least the given key, or null if there is none.
+//
+	public K ceilingKey(K key) {
+		Block b = findBlock(key, false, null);
+		int i = 0;
+
+		if (b == head) b = head.next[0];
+		else {
+			i = indexOf(b, key);
+			if (i < 0) i = -(i + 1);
+			if (i == b.n) {b = b.next[0]; i = 0;}
+		}
+		return (b == null)? null : (K) b.keys[i];
+	}
+
+// Postcondition:
+// Returns the greatest key at most the given key, or null if there is none.
+//
+	public K floorKey(K key) {
+		Block b = findBlock(key, false, null);
+		if (b == head) return null;
+		int i = indexOf(b, key);
+		return (K) b.keys[(i < 0)? -(i + 1) - 1 : i];
+	}
+
+// Postcondition:
+// Returns the least key, or null if the list is empty.
+//
+	public K firstKey() {
+		Block b = head.next[0];
+		return (b == null)? null : (K) b.keys[0];
+	}
+
+// Postcondition:
+// Returns the greatest key, or null if the list is empty.
+//
+	public K lastKey() {
+		Block b = head;
+		for (int i=height-1; i>=0; --i)
+			while (b.next[i] != null) b = b.next[i];
+		return (b == head)? null : (K) b.keys[b.n - 1];
+	}
+
+// Postcondition:
+// Removes all the entries.
+//
+	public void clear() {init();}
+
+// Postcondition:
+// Returns the number of entries.
+//
+	public int size() {return count;}
+
+// Postcondition:
+// Returns true if there are no entries.
+//
+	public boolean isEmpty() {return (count == 0);}
+
+// Postcondition:
+// Returns the number of blocks at level 0.
+//
+	public int blockCount() {return blocks;}
+
+// Postcondition:
+// Returns the number of levels in use.
+//
+	public int height() {return height;}
+
+// Postcondition:
+// Returns the entries as a string, in order.
+//
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (Map.Entry<K,V> e : this) {
+			if (sb.length() > 1) sb.append(", ");
+			sb.append(e.getKey()).append('=').append(e.getValue());
+		}
+		return sb.append('}').toString();
+	}
+
+// ITERATORS:
+//
+// 1. Default Iterator:
+// Returns an iterator over the entries, in order. The entries are
+// snapshots.
+//
+	public Iterator<Map.Entry<K,V>> iterator() {
+		return new BlockIterator<Map.Entry<K,V>>(head.next[0], 0, 0);
+	}
+
+// 2. Key Iterator:
+// Returns an iterator over the keys, in order.
+//
+	public Iterator<K> keys() {
+		return new BlockIterator<K>(head.next[0], 0, 1);
+	}
+
+// 3. Value Iterator:
+// Returns an iterator over the values, in the order of their keys.
+//
+	public Iterator<V> values() {
+		return new BlockIterator<V>(head.next[0], 0, 2);
+	}
+
+// 4. Successors Iterator:
+// Returns an iterator over the entries from the least key at least the
+// given key, in order. The entries are snapshots.
+//
+	public Iterator<Map.Entry<K,V>> successors(K key) {
+		Block b = findBlock(key, false, null);
+		int i = 0;
+
+		if (b == head) b = head.next[0];
+		else {
+			i = indexOf(b, key);
+			if (i < 0) i = -(i + 1);
+		}
+		return new BlockIterator<Map.Entry<K,V>>(b, i, 0);
+	}
+
+//
+// SERIALIZATION:
+// The comparator, block size and level generator are written by default,
+// then the number of entries and the keys and values in order. Reading
+// puts them back, which only ever appends to the last block.
+//
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(count);
+		for (Block b=head.next[0]; b!=null; b=b.next[0])
+			for (int i=0; i<b.n; ++i) {
+				out.writeObject(b.keys[i]);
+				out.writeObject(b.values[i]);
+			}
+	}
+
+	private void readObject(ObjectInputStream in)
+			throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		init();
+		for (int k=in.readInt(); k>0; --k)
+			put((K) in.readObject(), (V) in.readObject());
+	}
+
+// INNER CLASSES:
+//
+// 1. Block Inner Class:
+//
+// PROVIDES: A node of the list: a sorted run of keys with their values in
+//     two arrays, the first n slots in use, one forward link per level of
+//     its tower, and a backward link at level 0. The header is a block of
+//     no keys.
+//
+	private static class Block {
+		private final Object[] keys;
+		private final Object[] values;
+		private int n;					// Keys in use
+		private final Block[] next;		// Forward links, next[0] at level 0
+		private Block prev;				// Backward link at level 0
+
+		private Block(int capacity, int levels) {
+			keys = new Object[capacity];
+			values = new Object[capacity];
+			next = new Block[levels];
+		}
+	}
+
+// 2. BlockIterator Inner Class:
+//
+// PROVIDES: Iterator objects that go through the blocks from a given
+//     index of a given block, and return the entries (kind 0), keys (1)
+//     or values (2). A change made to the list other than through the
+//     iterator makes it throw ConcurrentModificationException.
+//
+	private class BlockIterator<T> implements Iterator<T> {
+		private final int kind;
+		private final int expectedModCount = modCount;
+		private Block b;				// The block of the next item
+		private int i;					// Its index in the block
+
+		private BlockIterator(Block b, int i, int kind) {
+			this.kind = kind;
+			this.b = b;
+			this.i = i;
+			if ((b != null) && (i == b.n)) {this.b = b.next[0]; this.i = 0;}
+		}
+
+		public boolean hasNext() {return (b != null);}
+
+		public T next() {
+			if (b == null) throw new NoSuchElementException();
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			Object item;
+			if (kind == 1) item = b.keys[i];
+			else if (kind == 2) item = b.values[i];
+			else item = new AbstractMap.SimpleImmutableEntry<K,V>(
+								(K) b.keys[i], (V) b.values[i]);
+			if (++i == b.n) {
+				b = b.next[0];
+				i = 0;
+			}
+			return (T) item;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * @(#)UnrolledSkipListTest.java
+ *
+ * A test program for the UnrolledSkipList class. It runs random puts,
+ * removes, gets, floorKey, ceilingKey and successors scans on lists with
+ * the least block size, so that blocks are split, merged and shared
+ * often, and on a TreeMap, and checks that the two agree. At the end of
+ * each trial, it checks the keys in order, that the blocks are not
+ * sparse, that a serialized copy reads back the same, and that a list
+ * drained of its keys is back to its empty shape and can be used again.
+ * It then checks that an iterator detects a change of the list.
+ *
+ * It prints one line for each part, and throws an exception at the first
+ * difference found.
+ *
+ * @version 1.00 2026/10/18
+ *
+ **/
+
+import java.io.*;
+import java.util.*;
+
+public class UnrolledSkipListTest {
+
+  public static void main(String[] args)
+		throws IOException, ClassNotFoundException {
+	Random r = new Random(1);
+
+	for (int trial=0; trial<30; ++trial)
+	  trial(50 + r.nextInt(5000), 40000, r);
+	System.out.println("against TreeMap: ok");
+	changedWhileIterating();
+	System.out.println("iterator after a change: ok");
+  }
+
+  // Postcondition: n random calls with keys in [0, range) have been made
+  // on a list of blocks of 16 keys and on a TreeMap, and compared, and the
+  // list has been checked, serialized, read back and drained.
+  //
+  public static void trial(int range, int n, Random r)
+		throws IOException, ClassNotFoundException {
+	UnrolledSkipList<Integer,Integer> u = new UnrolledSkipList<Integer,Integer>(
+		new KeyComparator<Integer>(), UnrolledSkipList.MIN_BLOCK,
+		new GeometricLevelGenerator());
+	TreeMap<Integer,Integer> t = new TreeMap<Integer,Integer>();
+
+	for (int i=0; i<n; ++i) {
+	  int k = r.nextInt(range), op = r.nextInt(10);
+
+	  if (op < 5)
+		same(u.put(k, i), t.put(k, i), "put");
+	  else if (op < 8)
+		same(u.remove(k), t.remove(k), "remove");
+	  else if (op == 8) {
+		same(u.get(k), t.get(k), "get");
+		same(u.floorKey(k), t.floorKey(k), "floorKey");
+		same(u.ceilingKey(k), t.ceilingKey(k), "ceilingKey");
+	  }
+	  else {
+		Iterator<Map.Entry<Integer,Integer>> it = u.successors(k);
+		for (Map.Entry<Integer,Integer> e : t.tailMap(k, true).entrySet()) {
+		  same(it.next(), e, "successors(" + k + ")");
+		  if (r.nextInt(5) == 0) break;
+		}
+	  }
+	  check(u.size() == t.size(), "size");
+	}
+
+	Iterator<Integer> keys = u.keys();
+	for (Integer k : t.keySet()) same(keys.next(), k, "keys");
+	check(!keys.hasNext(), "keys: extra keys");
+	same(u.firstKey(), t.isEmpty()? null : t.firstKey(), "firstKey");
+	same(u.lastKey(), t.isEmpty()? null : t.lastKey(), "lastKey");
+	check((u.size() <= 40) || (u.blockCount() <= u.size() / 4 + 1),
+		  "sparse blocks: " + u.blockCount() + " for " + u.size() + " keys");
+	same(copy(u).toString(), t.toString(), "serialized copy");
+
+	for (Integer k : t.keySet()) u.remove(k);
+	check((u.size() == 0) && (u.blockCount() == 0) && (u.height() == 1) &&
+		  (u.firstKey() == null) && !u.keys().hasNext(), "drained list");
+	u.put(3, 3);
+	same(u.get(3), 3, "put after draining");
+  }
+
+  // Postcondition: An iterator used after a put into its list has thrown
+  // ConcurrentModificationException.
+  //
+  public static void changedWhileIterating() {
+	UnrolledSkipList<Integer,Integer> u = new UnrolledSkipList<Integer,Integer>();
+	u.put(1, 1);
+	u.put(2, 2);
+	Iterator<Integer> it = u.keys();
+	it.next();
+	u.put(0, 0);
+	try {
+	  it.next();
+	  check(false, "the change was not detected");
+	}
+	catch (ConcurrentModificationException ex) {}
+  }
+
+  // Postcondition: Returns the list written to an object stream and read
+  // back.
+  //
+  @SuppressWarnings("unchecked")
+  public static UnrolledSkipList<Integer,Integer> copy(
+		UnrolledSkipList<Integer,Integer> u)
+		throws IOException, ClassNotFoundException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+	  out.writeObject(u);
+	}
+	try (ObjectInputStream in = new ObjectInputStream(
+		   new ByteArrayInputStream(bytes.toByteArray()))) {
+	  return (UnrolledSkipList<Integer,Integer>) in.readObject();
+	}
+  }
+
+  // Postcondition: Returns if the two objects are equal (or both null),
+  // and otherwise throws IllegalStateException with the message and both.
+  //
+  public static void same(Object a, Object b, String message) {
+	if (!Objects.equals(a, b))
+	  throw new IllegalStateException(message + ": " + a + " and " + b);
+  }
+
+  // Postcondition: Returns if the condition holds, and otherwise throws
+  // IllegalStateException with the message.
+  //
+  public static void check(boolean condition, String message) {
+	if (!condition) throw new IllegalStateException(message);
+  }
+}